@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.pivotal.reactor.scheduler.v1.LazyPaginatedResponse;
+import io.pivotal.scheduler.v1.calls.ListCallHistoriesResponse;
+import io.pivotal.scheduler.v1.jobs.JobHistory;
+import io.pivotal.scheduler.v1.jobs.ListJobHistoriesResponse;
+import io.pivotal.scheduler.v1.jobs.ListJobsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding the paginated responses of the list operations at several page sizes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class DeserializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int pageSize;
+
+    private byte[] listCallHistoriesPayload;
+
+    private ObjectReader listCallHistoriesReader;
+
+    private byte[] listJobHistoriesPayload;
+
+    private ObjectReader listJobHistoriesReader;
+
+    private byte[] listJobsPayload;
+
+    private ObjectReader listJobsReader;
+
+    private ObjectMapper objectMapper;
+
+    @Benchmark
+    public ListCallHistoriesResponse listCallHistoriesResponse() throws IOException {
+        return this.listCallHistoriesReader.readValue(this.listCallHistoriesPayload);
+    }
+
+    @Benchmark
+    public ListJobHistoriesResponse listJobHistoriesResponse() throws IOException {
+        return this.listJobHistoriesReader.readValue(this.listJobHistoriesPayload);
+    }
+
+    /**
+     * Indexes a page without decoding its resources, as {@code listHistoriesLazily} does, and then reads the first resource
+     */
+    @Benchmark
+    public JobHistory listJobHistoriesResponseLazily() {
+        return LazyPaginatedResponse.of(this.objectMapper, this.listJobHistoriesPayload, JobHistory.class).getResources().get(0);
+    }
+
+    @Benchmark
+    public ListJobsResponse listJobsResponse() throws IOException {
+        return this.listJobsReader.readValue(this.listJobsPayload);
+    }
+
+    @Setup
+    public void setUp() {
+        this.objectMapper = Fixtures.objectMapper();
+
+        this.listCallHistoriesPayload = Fixtures.listCallHistoriesResponse(this.pageSize);
+        this.listCallHistoriesReader = this.objectMapper.readerFor(ListCallHistoriesResponse.class);
+        this.listJobHistoriesPayload = Fixtures.listJobHistoriesResponse(this.pageSize);
+        this.listJobHistoriesReader = this.objectMapper.readerFor(ListJobHistoriesResponse.class);
+        this.listJobsPayload = Fixtures.listJobsResponse(this.pageSize);
+        this.listJobsReader = this.objectMapper.readerFor(ListJobsResponse.class);
+    }
+
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.pivotal.reactor.scheduler.ReactorSchedulerClient;
+import io.pivotal.reactor.scheduler.TransportConfiguration;
+import io.pivotal.reactor.util.PaginationUtils;
+import io.pivotal.scheduler.v1.jobs.CreateJobRequest;
+import io.pivotal.scheduler.v1.jobs.ExecuteJobRequest;
+import io.pivotal.scheduler.v1.jobs.GetJobRequest;
+import io.pivotal.scheduler.v1.jobs.Jobs;
+import io.pivotal.scheduler.v1.jobs.ListJobHistoriesRequest;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link ReactorSchedulerClient} end to end against a {@link StubServer}.  Each scenario is driven by a closed loop of workers for a fixed duration at each concurrency, and its throughput,
+ * latency percentiles, heap usage and the number of connections the server accepted are written as JSON.  Every combination of {@code --protocols}, {@code --secure}, {@code --close-on-error}
+ * and {@code --checkpoints} is run, so that transports and decorations can be compared in a single report.  For example:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar io.pivotal.benchmarks.EndToEndBenchmark --concurrency=1,16,256 --latency-ms=5 --output=end-to-end.json
+ * </pre>
+ * The {@code existsNotFound} scenario checks for a job that does not exist, so every request is answered with a {@code 404 Not Found}.  Running it with {@code --close-on-error=false,true}
+ * compares the connection churn, and with {@code --secure=true} the TLS handshakes, of a client that keeps connections alive after reading an error payload with one whose connection is closed
+ * after every error.  For example:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar io.pivotal.benchmarks.EndToEndBenchmark --scenarios=existsNotFound --secure=true --close-on-error=false,true --output=not-found.json
+ * </pre>
+ * Options, with their defaults, are:
+ * <ul>
+ * <li>{@code --checkpoints=true}, whether operations are decorated with {@code checkpoint()}</li>
+ * <li>{@code --close-on-error=false}, whether the server closes the connection after each error response.  Only HTTP/1.1 connections are closed.</li>
+ * <li>{@code --concurrency=1,8,64,256}, the number of concurrent workers</li>
+ * <li>{@code --create-batch-size=10}, the number of jobs created concurrently by each {@code create} operation</li>
+ * <li>{@code --duration-s=10}, how long each scenario is measured for</li>
+ * <li>{@code --history-pages=10}, the number of pages of job histories</li>
+ * <li>{@code --latency-ms=0}, the latency of each stub response</li>
+ * <li>{@code --output}, the file to write to.  If not set, the results are written to standard out.</li>
+ * <li>{@code --page-size=50}, the number of job histories in each page</li>
+ * <li>{@code --protocols=HTTP11}, the protocols to run with, {@code HTTP11} or {@code H2C} without TLS, and {@code HTTP11} or {@code H2} with TLS</li>
+ * <li>{@code --scenarios=get,existsNotFound,execute,listHistories,create}, the scenarios to run</li>
+ * <li>{@code --secure=false}, whether requests are made over TLS, to a server with a self-signed certificate</li>
+ * <li>{@code --warmup-s=5}, how long each scenario is run for before it is measured</li>
+ * </ul>
+ */
+public final class EndToEndBenchmark {
+
+    private static final String JOB_ID = "test-job-id";
+
+    private static final String MISSING_JOB_ID = "missing-test-job-id";
+
+    private EndToEndBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+
+        List<Boolean> checkpoints = list(options.getOrDefault("checkpoints", "true"), Boolean::parseBoolean);
+        List<Boolean> closeOnErrors = list(options.getOrDefault("close-on-error", "false"), Boolean::parseBoolean);
+        List<Integer> concurrencies = list(options.getOrDefault("concurrency", "1,8,64,256"), Integer::parseInt);
+        int createBatchSize = Integer.parseInt(options.getOrDefault("create-batch-size", "10"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-s", "10")));
+        int historyPages = Integer.parseInt(options.getOrDefault("history-pages", "10"));
+        Duration latency = Duration.ofMillis(Long.parseLong(options.getOrDefault("latency-ms", "0")));
+        int pageSize = Integer.parseInt(options.getOrDefault("page-size", "50"));
+        List<HttpProtocol> protocols = list(options.getOrDefault("protocols", "HTTP11"), HttpProtocol::valueOf);
+        List<Scenario> scenarios = list(options.getOrDefault("scenarios", "get,existsNotFound,execute,listHistories,create"), Scenario::forName);
+        List<Boolean> secures = list(options.getOrDefault("secure", "false"), Boolean::parseBoolean);
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-s", "5")));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("clientVersion", ReactorSchedulerClient.class.getPackage().getImplementationVersion());
+
+        ObjectNode settings = report.putObject("settings");
+        settings.put("createBatchSize", createBatchSize);
+        settings.put("durationSeconds", duration.getSeconds());
+        settings.put("historyPages", historyPages);
+        settings.put("latencyMillis", latency.toMillis());
+        settings.put("pageSize", pageSize);
+        settings.put("warmupSeconds", warmup.getSeconds());
+
+        ArrayNode results = report.putArray("results");
+        int maximumConcurrency = concurrencies.stream().mapToInt(Integer::intValue).max().orElse(1);
+
+        for (HttpProtocol protocol : protocols) {
+            // Reactor Netty's client only reaches H2C by upgrading an HTTP/1.1 connection
+            List<HttpProtocol> negotiated = protocol == HttpProtocol.H2C ? Arrays.asList(HttpProtocol.HTTP11, HttpProtocol.H2C) : Arrays.asList(protocol);
+
+            for (boolean secure : secures) {
+                for (boolean closeOnError : closeOnErrors) {
+                    try (StubServer server = new StubServer(latency, historyPages, pageSize, negotiated, secure, closeOnError)) {
+                        for (boolean checkpoint : checkpoints) {
+                            DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+                                .apiHost("127.0.0.1")
+                                .secure(secure)
+                                .skipSslValidation(secure)
+                                .build();
+
+                            ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+                                .checkpoints(checkpoint)
+                                .connectionContext(connectionContext)
+                                .root(Mono.just(server.getRoot()))
+                                .tokenProvider(c -> Mono.just("bearer test-token"))
+                                .transportConfiguration(TransportConfiguration.builder()
+                                    .maximumConnections(maximumConcurrency)
+                                    .maximumPendingAcquires(maximumConcurrency * Math.max(createBatchSize, 1))
+                                    .protocols(negotiated)
+                                    .build())
+                                .build();
+
+                            try {
+                                client.warmup().block();
+
+                                for (Scenario scenario : scenarios) {
+                                    Function<Jobs, Mono<Void>> operation = scenario.operation(createBatchSize);
+
+                                    for (int concurrency : concurrencies) {
+                                        System.err.printf("%s secure=%s closeOnError=%s checkpoints=%s %s concurrency=%d%n", protocol, secure, closeOnError, checkpoint, scenario.name, concurrency);
+
+                                        run(client.jobs(), operation, concurrency, warmup);
+                                        long connections = server.getConnections();
+                                        Measurement measurement = run(client.jobs(), operation, concurrency, duration);
+
+                                        ObjectNode result = results.addObject();
+                                        result.put("protocol", protocol.name());
+                                        result.put("secure", secure);
+                                        result.put("closeOnError", closeOnError);
+                                        result.put("checkpoints", checkpoint);
+                                        result.put("scenario", scenario.name);
+                                        result.put("concurrency", concurrency);
+                                        result.put("connectionsOpened", server.getConnections() - connections);
+                                        measurement.write(result, scenario.requestsPerOperation(createBatchSize, historyPages));
+                                    }
+                                }
+                            } finally {
+                                client.dispose();
+                                connectionContext.dispose();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        if (options.containsKey("output")) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(options.get("output")), report);
+        } else {
+            System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        }
+    }
+
+    private static <T> List<T> list(String value, Function<String, T> parser) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .map(parser)
+            .collect(Collectors.toList());
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException(String.format("Option %s is not of the form --name=value", arg));
+            }
+
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+
+    private static Measurement run(Jobs jobs, Function<Jobs, Mono<Void>> operation, int concurrency, Duration duration) {
+        Measurement measurement = new Measurement();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        measurement.start();
+
+        Flux.range(0, concurrency)
+            .flatMap(worker -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+
+                    return operation.apply(jobs)
+                        .doOnSuccess(ignored -> measurement.recordLatency(System.nanoTime() - start))
+                        .onErrorResume(t -> {
+                            measurement.recordError();
+                            return Mono.empty();
+                        });
+                })
+                .repeat(() -> System.nanoTime() < deadline), concurrency)
+            .blockLast();
+
+        measurement.stop();
+        return measurement;
+    }
+
+    private enum Scenario {
+
+        CREATE("create"),
+
+        EXECUTE("execute"),
+
+        EXISTS_NOT_FOUND("existsNotFound"),
+
+        GET("get"),
+
+        LIST_HISTORIES("listHistories");
+
+        private final String name;
+
+        Scenario(String name) {
+            this.name = name;
+        }
+
+        private static Scenario forName(String name) {
+            return Arrays.stream(values())
+                .filter(scenario -> scenario.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("Unknown scenario %s", name)));
+        }
+
+        private Function<Jobs, Mono<Void>> operation(int createBatchSize) {
+            switch (this) {
+                case CREATE:
+                    return jobs -> Flux.range(0, createBatchSize)
+                        .flatMap(i -> jobs
+                            .create(CreateJobRequest.builder()
+                                .applicationId("test-application-id")
+                                .command("test-command")
+                                .name("test-name-" + i)
+                                .build()))
+                        .then();
+                case EXECUTE:
+                    return jobs -> jobs
+                        .execute(ExecuteJobRequest.builder()
+                            .jobId(JOB_ID)
+                            .build())
+                        .then();
+                case EXISTS_NOT_FOUND:
+                    return jobs -> jobs
+                        .exists(GetJobRequest.builder()
+                            .jobId(MISSING_JOB_ID)
+                            .build())
+                        .then();
+                case GET:
+                    return jobs -> jobs
+                        .get(GetJobRequest.builder()
+                            .jobId(JOB_ID)
+                            .build())
+                        .then();
+                case LIST_HISTORIES:
+                    return jobs -> PaginationUtils
+                        .requestResources(page -> jobs
+                            .listHistories(ListJobHistoriesRequest.builder()
+                                .jobId(JOB_ID)
+                                .page(page)
+                                .build()))
+                        .then();
+                default:
+                    throw new IllegalStateException(String.format("Unknown scenario %s", this));
+            }
+        }
+
+        private int requestsPerOperation(int createBatchSize, int historyPages) {
+            switch (this) {
+                case CREATE:
+                    return createBatchSize;
+                case LIST_HISTORIES:
+                    return historyPages;
+                default:
+                    return 1;
+            }
+        }
+
+    }
+
+    /**
+     * The latencies, errors and heap usage of a run.  Peak heap usage is the sum of the peak usage of each heap memory pool, which may not have been reached at the same time.
+     */
+    private static final class Measurement {
+
+        private final LongAdder errors = new LongAdder();
+
+        private final Recorder latencies = new Recorder(3);
+
+        private long elapsed;
+
+        private long gcCount;
+
+        private long gcTime;
+
+        private long start;
+
+        private static List<MemoryPoolMXBean> heapPools() {
+            return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .collect(Collectors.toList());
+        }
+
+        private void recordError() {
+            this.errors.increment();
+        }
+
+        private void recordLatency(long nanos) {
+            this.latencies.recordValue(nanos);
+        }
+
+        private void start() {
+            System.gc();
+            heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                this.gcCount -= Math.max(collector.getCollectionCount(), 0);
+                this.gcTime -= Math.max(collector.getCollectionTime(), 0);
+            }
+
+            this.start = System.nanoTime();
+        }
+
+        private void stop() {
+            this.elapsed = System.nanoTime() - this.start;
+
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                this.gcCount += Math.max(collector.getCollectionCount(), 0);
+                this.gcTime += Math.max(collector.getCollectionTime(), 0);
+            }
+        }
+
+        private void write(ObjectNode result, int requestsPerOperation) {
+            Histogram histogram = this.latencies.getIntervalHistogram();
+            double seconds = this.elapsed / 1e9;
+            long operations = histogram.getTotalCount();
+
+            result.put("operations", operations);
+            result.put("errors", this.errors.sum());
+            result.put("operationsPerSecond", operations / seconds);
+            result.put("requestsPerSecond", operations * requestsPerOperation / seconds);
+
+            ObjectNode latency = result.putObject("latencyMicros");
+            latency.put("mean", histogram.getMean() / 1e3);
+            latency.put("p50", histogram.getValueAtPercentile(50) / 1e3);
+            latency.put("p99", histogram.getValueAtPercentile(99) / 1e3);
+            latency.put("p999", histogram.getValueAtPercentile(99.9) / 1e3);
+            latency.put("max", histogram.getMaxValue() / 1e3);
+
+            ObjectNode heap = result.putObject("heap");
+            heap.put("peakUsedBytes", heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum());
+            heap.put("gcCount", this.gcCount);
+            heap.put("gcTimeMillis", this.gcTime);
+        }
+
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.pivotal.reactor.util.ErrorPayloadMappers;
+import org.cloudfoundry.reactor.HttpClientResponseWithConnection;
+import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Signal;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.Connection;
+import reactor.netty.NettyInbound;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures mapping responses to Scheduler exceptions.  The connection and response are minimal stubs that serve a fixed payload, so the measurement covers reading and parsing the payload and
+ * creating the exception.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class ErrorPayloadMappersBenchmark {
+
+    private HttpClientResponseWithConnection badRequest;
+
+    private HttpClientResponseWithConnection invalidPayload;
+
+    private HttpClientResponseWithConnection notFound;
+
+    private HttpClientResponseWithConnection ok;
+
+    private ErrorPayloadMapper scheduler;
+
+    private ErrorPayloadMapper schedulerIgnoringNotFound;
+
+    private ErrorPayloadMapper schedulerStackless;
+
+    @Benchmark
+    public Signal<HttpClientResponseWithConnection> noError() {
+        return map(this.scheduler, this.ok);
+    }
+
+    @Benchmark
+    public Signal<HttpClientResponseWithConnection> notFoundIgnored() {
+        return map(this.schedulerIgnoringNotFound, this.notFound);
+    }
+
+    @Benchmark
+    public Signal<HttpClientResponseWithConnection> schedulerError() {
+        return map(this.scheduler, this.badRequest);
+    }
+
+    @Benchmark
+    public Signal<HttpClientResponseWithConnection> schedulerErrorStackless() {
+        return map(this.schedulerStackless, this.badRequest);
+    }
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        this.scheduler = ErrorPayloadMappers.scheduler(objectMapper);
+        this.schedulerIgnoringNotFound = ErrorPayloadMappers.schedulerIgnoringNotFound(objectMapper, ErrorPayloadMappers.DEFAULT_MAXIMUM_PAYLOAD_SIZE);
+        this.schedulerStackless = ErrorPayloadMappers.scheduler(objectMapper, ErrorPayloadMappers.DEFAULT_MAXIMUM_PAYLOAD_SIZE, false);
+
+        byte[] errorPayload = Fixtures.errorResponse();
+        this.badRequest = response(HttpResponseStatus.BAD_REQUEST, errorPayload);
+        this.invalidPayload = response(HttpResponseStatus.INTERNAL_SERVER_ERROR, "<html>Internal Server Error</html>".getBytes(StandardCharsets.UTF_8));
+        this.notFound = response(HttpResponseStatus.NOT_FOUND, errorPayload);
+        this.ok = response(HttpResponseStatus.OK, new byte[0]);
+    }
+
+    @Benchmark
+    public Signal<HttpClientResponseWithConnection> unknownError() {
+        return map(this.scheduler, this.invalidPayload);
+    }
+
+    private static Signal<HttpClientResponseWithConnection> map(ErrorPayloadMapper errorPayloadMapper, HttpClientResponseWithConnection response) {
+        return Flux.just(response)
+            .transform(errorPayloadMapper)
+            .materialize()
+            .blockLast();
+    }
+
+    private static HttpClientResponseWithConnection response(HttpResponseStatus status, byte[] payload) {
+        NettyInbound inbound = stub(NettyInbound.class, "receive", () -> ByteBufFlux.fromInbound(Flux.just(Unpooled.wrappedBuffer(payload))));
+        Connection connection = stub(Connection.class, "inbound", () -> inbound);
+        HttpClientResponse response = stub(HttpClientResponse.class, "status", () -> status);
+
+        return HttpClientResponseWithConnection.of(connection, response);
+    }
+
+    private static <T> T stub(Class<T> type, String methodName, Supplier<?> value) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (methodName.equals(method.getName())) {
+                return value.get();
+            }
+
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return type.getSimpleName();
+                }
+            }
+
+            if (method.getReturnType() == boolean.class) {
+                return false;
+            }
+
+            return null;
+        }));
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.Exceptions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Payloads and configuration shared by the benchmarks.  Page payloads are generated rather than read from fixtures so that their size can be varied.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static byte[] errorResponse() {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("description", "Validation of resource failed.");
+            generator.writeArrayFieldStart("errors");
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("messages");
+            generator.writeString("The cron expression 'a b c d e f' is invalid.");
+            generator.writeEndArray();
+            generator.writeStringField("resource", "scheduleRequest");
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    static byte[] job() {
+        return write(generator -> {
+            generator.writeStartObject();
+            writeJob(generator, 0);
+            generator.writeEndObject();
+        });
+    }
+
+    static byte[] jobHistory() {
+        return write(generator -> {
+            generator.writeStartObject();
+            writeJobHistory(generator, 0);
+            generator.writeEndObject();
+        });
+    }
+
+    static byte[] listCallHistoriesResponse(int size) {
+        return page(size, 1, (generator, i) -> {
+            generator.writeStringField("call_guid", "test-call-id");
+            generator.writeStringField("execution_end_time", "2019-01-01T00:00:01.000Z");
+            generator.writeStringField("execution_start_time", "2019-01-01T00:00:00.000Z");
+            generator.writeStringField("guid", "test-history-id-" + i);
+            generator.writeStringField("message", "test-message");
+            generator.writeStringField("schedule_guid", "test-schedule-id");
+            generator.writeStringField("scheduled_time", "2019-01-01T00:00:00.000Z");
+            generator.writeStringField("state", "SUCCEEDED");
+        });
+    }
+
+    static byte[] listJobHistoriesResponse(int size) {
+        return listJobHistoriesResponse(size, 1);
+    }
+
+    static byte[] listJobHistoriesResponse(int size, int totalPages) {
+        return page(size, totalPages, Fixtures::writeJobHistory);
+    }
+
+    static byte[] listJobsResponse(int size) {
+        return page(size, 1, Fixtures::writeJob);
+    }
+
+    static byte[] notFoundResponse() {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("description", "Resource not found.");
+            generator.writeArrayFieldStart("errors");
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("messages");
+            generator.writeString("Job not found.");
+            generator.writeEndArray();
+            generator.writeStringField("resource", "job");
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * An {@link ObjectMapper} configured as the Cloud Foundry connection context configures it
+     */
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    private static byte[] page(int size, int totalPages, ResourceWriter resourceWriter) {
+        return write(generator -> {
+            generator.writeStartObject();
+
+            generator.writeObjectFieldStart("pagination");
+            generator.writeObjectFieldStart("first");
+            generator.writeStringField("href", "https://scheduler.example/resources?page=1");
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("last");
+            generator.writeStringField("href", "https://scheduler.example/resources?page=1");
+            generator.writeEndObject();
+            generator.writeNumberField("total_pages", totalPages);
+            generator.writeNumberField("total_results", size * totalPages);
+            generator.writeEndObject();
+
+            generator.writeArrayFieldStart("resources");
+            for (int i = 0; i < size; i++) {
+                generator.writeStartObject();
+                resourceWriter.write(generator, i);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        });
+    }
+
+    private static byte[] write(PayloadWriter payloadWriter) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = objectMapper().getFactory().createGenerator(out)) {
+            payloadWriter.write(generator);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static void writeJob(JsonGenerator generator, int index) throws IOException {
+        generator.writeStringField("app_guid", "test-application-id");
+        generator.writeStringField("command", "test-command");
+        generator.writeStringField("created_at", "2019-01-01T00:00:00.000Z");
+        generator.writeStringField("guid", "test-job-id-" + index);
+        generator.writeStringField("name", "test-name-" + index);
+        generator.writeStringField("space_guid", "test-space-id");
+        generator.writeStringField("state", "AVAILABLE");
+        generator.writeStringField("updated_at", "2019-01-01T00:00:00.000Z");
+    }
+
+    private static void writeJobHistory(JsonGenerator generator, int index) throws IOException {
+        generator.writeStringField("execution_end_time", "2019-01-01T00:00:01.000Z");
+        generator.writeStringField("execution_start_time", "2019-01-01T00:00:00.000Z");
+        generator.writeStringField("guid", "test-history-id-" + index);
+        generator.writeStringField("job_guid", "test-job-id");
+        generator.writeStringField("message", "test-message");
+        generator.writeStringField("schedule_guid", "test-schedule-id");
+        generator.writeStringField("scheduled_time", "2019-01-01T00:00:00.000Z");
+        generator.writeStringField("state", "SUCCEEDED");
+        generator.writeStringField("task_guid", "test-task-id");
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+
+        void write(JsonGenerator generator) throws IOException;
+
+    }
+
+    @FunctionalInterface
+    private interface ResourceWriter {
+
+        void write(JsonGenerator generator, int index) throws IOException;
+
+    }
+
+}
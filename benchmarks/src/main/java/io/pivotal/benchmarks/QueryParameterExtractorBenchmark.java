@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.benchmarks;
+
+import io.pivotal.reactor.util.QueryParameterExtractor;
+import io.pivotal.scheduler.v1.jobs.ListJobHistoriesRequest;
+import io.pivotal.scheduler.v1.jobs.ListJobsRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding the query parameters of a request to its URI, from looking up the extractor of the request type to building the URI
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class QueryParameterExtractorBenchmark {
+
+    private ListJobHistoriesRequest listJobHistoriesRequest;
+
+    private ListJobsRequest listJobsRequest;
+
+    @Benchmark
+    public String listJobHistoriesRequest() {
+        return extract(this.listJobHistoriesRequest, "https://scheduler.example/jobs/test-job-id/history");
+    }
+
+    @Benchmark
+    public String listJobsRequest() {
+        return extract(this.listJobsRequest, "https://scheduler.example/jobs");
+    }
+
+    @Setup
+    public void setUp() {
+        this.listJobHistoriesRequest = ListJobHistoriesRequest.builder()
+            .jobId("test-job-id")
+            .page(2)
+            .build();
+
+        this.listJobsRequest = ListJobsRequest.builder()
+            .detailed(true)
+            .page(2)
+            .spaceId("test-space-id")
+            .build();
+    }
+
+    private static String extract(Object request, String uri) {
+        return QueryParameterExtractor.forType(request.getClass())
+            .apply(UriComponentsBuilder.fromUriString(uri), request)
+            .build()
+            .toUriString();
+    }
+
+}
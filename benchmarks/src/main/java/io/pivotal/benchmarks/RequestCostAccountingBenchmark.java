@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.benchmarks;
+
+import io.pivotal.reactor.util.RequestBudget;
+import io.pivotal.reactor.util.RequestCostAccounting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of charging an operation to request budgets and accounting.  {@link #unconfigured()} is the budget check that every operation pays, even when neither a budget nor accounting is
+ * configured, and {@link #undecorated()} is the baseline it adds to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class RequestCostAccountingBenchmark {
+
+    private RequestCostAccounting accounting;
+
+    private Mono<String> operation;
+
+    @Benchmark
+    public String accounted() {
+        return RequestCostAccounting.instrument(this.operation, "jobs.get", this.accounting)
+            .block();
+    }
+
+    @Benchmark
+    public String budgeted() {
+        return RequestCostAccounting.instrument(this.operation, "jobs.get", null)
+            .subscriberContext(context -> context.put(RequestBudget.class, RequestBudget.of("test-key")))
+            .block();
+    }
+
+    @Setup
+    public void setUp() {
+        this.accounting = new RequestCostAccounting();
+        this.operation = Mono.just("test-value");
+    }
+
+    @Benchmark
+    public String unconfigured() {
+        return RequestCostAccounting.instrument(this.operation, "jobs.get", null)
+            .block();
+    }
+
+    @Benchmark
+    public String undecorated() {
+        return this.operation
+            .block();
+    }
+
+}
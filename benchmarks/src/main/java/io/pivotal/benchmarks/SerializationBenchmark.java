@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.pivotal.scheduler.v1.calls.CreateCallRequest;
+import io.pivotal.scheduler.v1.jobs.CreateJobRequest;
+import io.pivotal.scheduler.v1.jobs.ScheduleJobRequest;
+import io.pivotal.scheduler.v1.schedules.ExpressionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding the request payloads of the create and schedule operations
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    private CreateCallRequest createCallRequest;
+
+    private ObjectWriter createCallWriter;
+
+    private CreateJobRequest createJobRequest;
+
+    private ObjectWriter createJobWriter;
+
+    private ScheduleJobRequest scheduleJobRequest;
+
+    private ObjectWriter scheduleJobWriter;
+
+    @Benchmark
+    public byte[] createCallRequest() throws JsonProcessingException {
+        return this.createCallWriter.writeValueAsBytes(this.createCallRequest);
+    }
+
+    @Benchmark
+    public byte[] createJobRequest() throws JsonProcessingException {
+        return this.createJobWriter.writeValueAsBytes(this.createJobRequest);
+    }
+
+    @Benchmark
+    public byte[] scheduleJobRequest() throws JsonProcessingException {
+        return this.scheduleJobWriter.writeValueAsBytes(this.scheduleJobRequest);
+    }
+
+    @Setup
+    public void setUp() {
+        this.createCallRequest = CreateCallRequest.builder()
+            .applicationId("test-application-id")
+            .authorizationHeader("test-authorization-header")
+            .name("test-name")
+            .url("https://test.example/callback")
+            .build();
+        this.createCallWriter = Fixtures.objectMapper().writerFor(CreateCallRequest.class);
+
+        this.createJobRequest = CreateJobRequest.builder()
+            .applicationId("test-application-id")
+            .command("test-command")
+            .name("test-name")
+            .build();
+        this.createJobWriter = Fixtures.objectMapper().writerFor(CreateJobRequest.class);
+
+        this.scheduleJobRequest = ScheduleJobRequest.builder()
+            .enabled(true)
+            .expression("0 0 * * *")
+            .expressionType(ExpressionType.CRON)
+            .jobId("test-job-id")
+            .build();
+        this.scheduleJobWriter = Fixtures.objectMapper().writerFor(ScheduleJobRequest.class);
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.benchmarks;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import org.reactivestreams.Publisher;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.security.cert.CertificateException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-process Reactor Netty stub of the Scheduler v1 API serving fixed payloads after a configurable latency, over plain text or over TLS with a self-signed certificate.  It serves:
+ * <ul>
+ * <li>{@code GET /jobs/missing-{id}}, a {@code 404 Not Found} with a Scheduler error payload</li>
+ * <li>{@code GET /jobs/{id}}, a job</li>
+ * <li>{@code GET /jobs/{id}/history?page={page}}, a page of job histories, one of a configurable number of pages</li>
+ * <li>{@code POST /jobs}, a created job</li>
+ * <li>{@code POST /jobs/{id}/execute}, a job history</li>
+ * </ul>
+ * Any other request receives a {@code 404 Not Found}.  The server counts the connections it accepts, so that connection churn, and with TLS the number of handshakes, can be compared between
+ * runs.  It can also close the connection after each error response, emulating a client that disposes of its connection after reading an error payload.
+ */
+final class StubServer implements AutoCloseable {
+
+    private final boolean closeOnError;
+
+    private final LongAdder connections = new LongAdder();
+
+    private final byte[] history;
+
+    private final byte[] historyPage;
+
+    private final byte[] job;
+
+    private final Duration latency;
+
+    private final byte[] notFound;
+
+    private final boolean secure;
+
+    private final DisposableServer server;
+
+    StubServer(Duration latency, int historyPages, int historyPageSize, List<HttpProtocol> protocols, boolean secure, boolean closeOnError) {
+        this.closeOnError = closeOnError;
+        this.history = Fixtures.jobHistory();
+        this.historyPage = Fixtures.listJobHistoriesResponse(historyPageSize, historyPages);
+        this.job = Fixtures.job();
+        this.latency = latency;
+        this.notFound = Fixtures.notFoundResponse();
+        this.secure = secure;
+
+        HttpServer server = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .protocol(protocols.toArray(new HttpProtocol[0]))
+            .doOnConnection(connection -> this.connections.increment())
+            .handle(this::handle);
+
+        if (secure) {
+            SslContextBuilder sslContextBuilder = selfSigned();
+            server = server.secure(spec -> spec.sslContext(sslContextBuilder));
+        }
+
+        this.server = server.bindNow();
+    }
+
+    @Override
+    public void close() {
+        this.server.disposeNow();
+    }
+
+    /**
+     * Returns the number of connections accepted so far
+     *
+     * @return the number of connections accepted so far
+     */
+    long getConnections() {
+        return this.connections.sum();
+    }
+
+    String getRoot() {
+        return String.format("%s://127.0.0.1:%d", this.secure ? "https" : "http", this.server.port());
+    }
+
+    private static SslContextBuilder selfSigned() {
+        try {
+            SelfSignedCertificate certificate = new SelfSignedCertificate("127.0.0.1");
+            return SslContextBuilder.forServer(certificate.certificate(), certificate.privateKey());
+        } catch (CertificateException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        String[] segments = new QueryStringDecoder(request.uri()).path().split("/");
+        HttpMethod method = request.method();
+
+        byte[] payload;
+        HttpResponseStatus status;
+
+        if (HttpMethod.GET.equals(method) && segments.length == 3 && "jobs".equals(segments[1]) && segments[2].startsWith("missing-")) {
+            payload = this.notFound;
+            status = HttpResponseStatus.NOT_FOUND;
+        } else if (HttpMethod.GET.equals(method) && segments.length == 3 && "jobs".equals(segments[1])) {
+            payload = this.job;
+            status = HttpResponseStatus.OK;
+        } else if (HttpMethod.GET.equals(method) && segments.length == 4 && "jobs".equals(segments[1]) && "history".equals(segments[3])) {
+            payload = this.historyPage;
+            status = HttpResponseStatus.OK;
+        } else if (HttpMethod.POST.equals(method) && segments.length == 2 && "jobs".equals(segments[1])) {
+            payload = this.job;
+            status = HttpResponseStatus.CREATED;
+        } else if (HttpMethod.POST.equals(method) && segments.length == 4 && "jobs".equals(segments[1]) && "execute".equals(segments[3])) {
+            payload = this.history;
+            status = HttpResponseStatus.CREATED;
+        } else {
+            return request.receive().then(response.status(HttpResponseStatus.NOT_FOUND).send());
+        }
+
+        Mono<Void> delay = this.latency.isZero() ? Mono.empty() : Mono.delay(this.latency).then();
+
+        if (this.closeOnError && status.code() >= 400) {
+            response.keepAlive(false);
+        }
+
+        return request.receive().then()
+            .then(delay)
+            .then(response
+                .status(status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendByteArray(Mono.just(payload))
+                .then());
+    }
+
+}
@@ -174,7 +174,7 @@ public final class CallsTest extends AbstractIntegrationTest {
                     .build()))
             .map(ExecuteCallResponse::getState)
             .as(StepVerifier::create)
-            .expectNext("PENDING")
+            .expectNext(ExecutionState.PENDING)
             .verifyComplete();
     }
 
@@ -253,7 +253,7 @@ public final class CallsTest extends AbstractIntegrationTest {
                         .build())))
             .map(CallHistory::getState)
             .as(StepVerifier::create)
-            .expectNext("PENDING")
+            .expectNext(ExecutionState.PENDING)
             .verifyComplete();
     }
 
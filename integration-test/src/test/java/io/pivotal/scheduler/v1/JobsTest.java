@@ -170,7 +170,7 @@ public final class JobsTest extends AbstractIntegrationTest {
                     .build()))
             .map(ExecuteJobResponse::getState)
             .as(StepVerifier::create)
-            .expectNext("PENDING")
+            .expectNext(ExecutionState.PENDING)
             .verifyComplete();
     }
 
@@ -312,7 +312,7 @@ public final class JobsTest extends AbstractIntegrationTest {
                         .build())))
             .map(JobHistory::getState)
             .as(StepVerifier::create)
-            .expectNext("FAILED")
+            .expectNext(ExecutionState.FAILED)
             .verifyComplete();
     }
 
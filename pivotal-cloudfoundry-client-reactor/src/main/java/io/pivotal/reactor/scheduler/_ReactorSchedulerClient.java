@@ -16,18 +16,31 @@
 
 package io.pivotal.reactor.scheduler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.pivotal.reactor.scheduler.v1.OperationsConfiguration;
 import io.pivotal.reactor.scheduler.v1.calls.ReactorCalls;
 import io.pivotal.reactor.scheduler.v1.jobs.ReactorJobs;
+import io.pivotal.reactor.util.CachedRoot;
+import io.pivotal.reactor.util.ErrorPayloadMappers;
+import io.pivotal.reactor.util.RequestCostAccounting;
+import io.pivotal.reactor.util.RequestPayloadCache;
+import io.pivotal.reactor.util.RequestTimingListener;
+import io.pivotal.reactor.util.SerializationWarmup;
 import io.pivotal.scheduler.SchedulerClient;
 import io.pivotal.scheduler.v1.calls.Calls;
 import io.pivotal.scheduler.v1.jobs.Jobs;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.immutables.value.Value;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * The Reactor-based implementation of {@link SchedulerClient}
@@ -38,13 +51,55 @@ abstract class _ReactorSchedulerClient implements SchedulerClient {
     @Override
     @Value.Derived
     public Calls calls() {
-        return new ReactorCalls(getConnectionContext(), getRoot(), getTokenProvider(), getRequestTags());
+        return new ReactorCalls(getOperationsConnectionContext(), getCachedRoot().get(), getTokenProvider(), getRequestTags(), getOperationsConfiguration());
     }
 
     @Override
     @Value.Derived
     public Jobs jobs() {
-        return new ReactorJobs(getConnectionContext(), getRoot(), getTokenProvider(), getRequestTags());
+        return new ReactorJobs(getOperationsConnectionContext(), getCachedRoot().get(), getTokenProvider(), getRequestTags(), getOperationsConfiguration());
+    }
+
+    /**
+     * Disposes of the dedicated connection pool, if one was configured, and releases the cached request payloads
+     */
+    public void dispose() {
+        getDedicatedConnectionProvider().ifPresent(ConnectionProvider::dispose);
+        getRequestPayloadCache().ifPresent(RequestPayloadCache::dispose);
+    }
+
+    /**
+     * Resolves the root, fetches a token, opens {@link #getWarmupConnections()} pooled connections to the root, and primes the Jackson serializers and deserializers of every request and response
+     * type.  The token and serializers are those of the connection context that operations use, since token providers cache tokens per connection context.
+     */
+    @Override
+    public Mono<Void> warmup() {
+        return Mono.when(
+            getCachedRoot().get()
+                .flatMap(root -> Flux.range(0, getWarmupConnections())
+                    .flatMap(i -> getOperationsConnectionContext().getHttpClient()
+                        .get()
+                        .uri(root)
+                        .responseSingle((response, body) -> body.then()))
+                    .then()),
+            getTokenProvider().getToken(getOperationsConnectionContext()),
+            Mono.fromRunnable(() -> SerializationWarmup.prime(getOperationsConnectionContext().getObjectMapper(), Calls.class, Jobs.class)));
+    }
+
+    /**
+     * The resolved root, cached for {@link #getRootCacheTtl()}
+     */
+    @Value.Derived
+    CachedRoot getCachedRoot() {
+        return new CachedRoot(getRoot(), getRootCacheTtl());
+    }
+
+    /**
+     * Whether operations are decorated with {@code checkpoint()}
+     */
+    @Value.Default
+    boolean getCheckpoints() {
+        return true;
     }
 
     /**
@@ -52,19 +107,125 @@ abstract class _ReactorSchedulerClient implements SchedulerClient {
      */
     abstract ConnectionContext getConnectionContext();
 
+    /**
+     * The connection pool dedicated to this client, if a {@link #getTransportConfiguration()} is configured
+     */
+    @Value.Derived
+    Optional<ConnectionProvider> getDedicatedConnectionProvider() {
+        return getTransportConfiguration().map(_TransportConfiguration::createConnectionProvider);
+    }
+
+    /**
+     * The maximum number of bytes of an error payload to read
+     */
+    @Value.Default
+    int getMaximumErrorPayloadSize() {
+        return ErrorPayloadMappers.DEFAULT_MAXIMUM_PAYLOAD_SIZE;
+    }
+
+    /**
+     * The {@link MeterRegistry} to record operation metrics to.  If not set, no metrics are recorded.  Micrometer is an optional dependency that is only needed when a registry is set.
+     */
+    abstract Optional<MeterRegistry> getMeterRegistry();
+
+    /**
+     * The {@link OpenTelemetry} to trace operations with.  If not set, operations are not traced.  The OpenTelemetry API is an optional dependency that is only needed when this is set.
+     */
+    abstract Optional<OpenTelemetry> getOpenTelemetry();
+
+    /**
+     * The connection context used by operations, which uses the dedicated connection pool if one is configured
+     */
+    @Value.Derived
+    ConnectionContext getOperationsConnectionContext() {
+        return getTransportConfiguration()
+            .map(transportConfiguration -> transportConfiguration.createConnectionContext(getConnectionContext(), getDedicatedConnectionProvider().get(), getRequestTimingListener().isPresent()))
+            .orElse(getConnectionContext());
+    }
+
+    /**
+     * The {@link RequestCostAccounting} to attribute the cost of requests to.  If not set, costs are only charged to a {@link io.pivotal.reactor.util.RequestBudget} in the subscriber context.
+     */
+    abstract Optional<RequestCostAccounting> getRequestCostAccounting();
+
+    /**
+     * The cache of serialized request payloads shared by all operations, if {@link #getRequestPayloadCacheSize()} is positive.  The cache is released by {@link #dispose()}.
+     */
+    @Value.Derived
+    Optional<RequestPayloadCache> getRequestPayloadCache() {
+        return getRequestPayloadCacheSize() > 0 ? Optional.of(new RequestPayloadCache(getOperationsConnectionContext().getObjectMapper(), getRequestPayloadCacheSize())) : Optional.empty();
+    }
+
+    /**
+     * The maximum number of serialized request payloads to cache.  Caching is disabled when {@code 0}.
+     */
+    @Value.Default
+    int getRequestPayloadCacheSize() {
+        return 0;
+    }
+
     @Value.Default
     Map<String, String> getRequestTags() {
         return Collections.emptyMap();
     }
 
+    /**
+     * The {@link RequestTimingListener} to report the phases of each request to.  If not set, request phases are not timed.  The phases of opening a new connection are only reported with a
+     * {@link #getTransportConfiguration()}, whose connection pool is owned by this client.
+     */
+    abstract Optional<RequestTimingListener> getRequestTimingListener();
+
     @Value.Default
     Mono<String> getRoot() {
         return getConnectionContext().getRootProvider().getRoot("scheduler", getConnectionContext());
     }
 
+    /**
+     * How long a resolved root is cached for.  The root is also resolved again after a connection failure.
+     */
+    @Value.Default
+    Duration getRootCacheTtl() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * Whether Scheduler exceptions are created without a stack trace and operations skip {@code checkpoint()} decoration
+     */
+    @Value.Default
+    boolean getStacklessExceptions() {
+        return false;
+    }
+
     /**
      * The token provider
      */
     abstract TokenProvider getTokenProvider();
 
+    /**
+     * The transport settings of a connection pool dedicated to this client.  If not set, the connection pool of the {@link #getConnectionContext()} is shared.
+     */
+    abstract Optional<_TransportConfiguration> getTransportConfiguration();
+
+    /**
+     * The number of pooled connections opened by {@link #warmup()}
+     */
+    @Value.Default
+    int getWarmupConnections() {
+        return 1;
+    }
+
+    private OperationsConfiguration getOperationsConfiguration() {
+        return OperationsConfiguration.builder()
+            .cachedRoot(getCachedRoot())
+            .checkpoints(getCheckpoints())
+            .maximumErrorPayloadSize(getMaximumErrorPayloadSize())
+            .meterRegistry(getMeterRegistry())
+            .openTelemetry(getOpenTelemetry())
+            .requestCostAccounting(getRequestCostAccounting())
+            .requestPayloadCache(getRequestPayloadCache())
+            .requestTimingListener(getRequestTimingListener())
+            .stacklessExceptions(getStacklessExceptions())
+            .build();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.scheduler;
+
+import io.netty.handler.codec.http.HttpMethod;
+import io.pivotal.reactor.util.RequestTimings;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.immutables.value.Value;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Settings for a connection pool, and optionally event loops, dedicated to a Scheduler client so that its traffic does not compete with other users of the same {@link ConnectionContext}
+ */
+@Value.Immutable
+abstract class _TransportConfiguration {
+
+    /**
+     * Whether responses are requested with {@code Accept-Encoding: gzip}.  Compressed responses are inflated in the Netty pipeline as they are received, but a response is only decoded once its
+     * whole inflated body has arrived and is held in memory, so compression reduces the bytes transferred rather than the memory a response needs.
+     */
+    @Value.Default
+    public boolean getCompression() {
+        return false;
+    }
+
+    /**
+     * The event loops to run on.  If not set, the event loops of the {@link ConnectionContext} are used.
+     */
+    public abstract Optional<LoopResources> getLoopResources();
+
+    /**
+     * The maximum number of pooled connections
+     */
+    @Value.Default
+    public int getMaximumConnections() {
+        return ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
+    }
+
+    /**
+     * How long a pooled connection may be idle before it is evicted.  If not set, idle connections are not evicted.
+     */
+    public abstract Optional<Duration> getMaximumIdleTime();
+
+    /**
+     * The maximum number of requests that may wait for a pooled connection
+     */
+    @Value.Default
+    public int getMaximumPendingAcquires() {
+        return 2 * getMaximumConnections();
+    }
+
+    /**
+     * Whether the pool publishes metrics.  Metrics are tagged with {@link #getName()}.
+     */
+    @Value.Default
+    public boolean getMetrics() {
+        return false;
+    }
+
+    /**
+     * The name of the pool
+     */
+    @Value.Default
+    public String getName() {
+        return "scheduler-client";
+    }
+
+    /**
+     * How long a request may wait for a pooled connection
+     */
+    @Value.Default
+    public Duration getPendingAcquireTimeout() {
+        return Duration.ofMillis(ConnectionProvider.DEFAULT_POOL_ACQUIRE_TIMEOUT);
+    }
+
+    /**
+     * The HTTP protocols to negotiate.  {@link HttpProtocol#H2} is negotiated with ALPN over TLS and {@link HttpProtocol#H2C} is used without TLS, for example against local stand-ins.  HTTP/2
+     * multiplexes concurrent requests over a few connections rather than opening a connection per request.  If not set, HTTP/1.1 is used.
+     * <p>
+     * ALPN uses the TLS settings of the {@link DefaultConnectionContext}, such as its trusted certificates, with Reactor Netty's HTTP/2 defaults applied on top.  Include
+     * {@link HttpProtocol#HTTP11} alongside {@link HttpProtocol#H2} to fall back to HTTP/1.1 against servers that do not select {@code h2}.  Reactor Netty 0.9's client cannot use
+     * {@link HttpProtocol#H2C} with prior knowledge, so include {@link HttpProtocol#HTTP11} alongside it to upgrade HTTP/1.1 connections.
+     */
+    public abstract List<HttpProtocol> getProtocols();
+
+    /**
+     * Creates a copy of a {@link ConnectionContext} that uses a connection pool.  The copy's {@link HttpClient} is that of the original, with all of its settings, but acquires its connections from
+     * the pool, runs on {@link #getLoopResources()} if set, and is configured with any compression, protocols and connection timing.
+     *
+     * @param connectionContext  the {@link ConnectionContext} to copy
+     * @param connectionProvider the connection pool to use
+     * @param timeConnections    whether new connections report the {@link io.pivotal.reactor.util.RequestPhase#CONNECT} and {@link io.pivotal.reactor.util.RequestPhase#TLS} phases of the request that opened them
+     * @return the copy
+     */
+    ConnectionContext createConnectionContext(ConnectionContext connectionContext, ConnectionProvider connectionProvider, boolean timeConnections) {
+        if (!(connectionContext instanceof DefaultConnectionContext)) {
+            throw new IllegalArgumentException(String.format("A dedicated transport requires a %s", DefaultConnectionContext.class.getSimpleName()));
+        }
+
+        TcpClient configured = getTcpClient(connectionContext.getHttpClient());
+        HttpClient httpClient = HttpClient.from(TcpClient.create(connectionProvider)
+            .bootstrap(bootstrap -> configured.configure()));
+
+        if (getLoopResources().isPresent()) {
+            httpClient = httpClient.tcpConfiguration(tcpClient -> tcpClient.runOn(getLoopResources().get()));
+        }
+
+        return DefaultConnectionContext.builder()
+            .from((DefaultConnectionContext) connectionContext)
+            .httpClient(configureHttpClient(httpClient, timeConnections))
+            .build();
+    }
+
+    /**
+     * Creates the connection pool described by this configuration
+     *
+     * @return the connection pool
+     */
+    ConnectionProvider createConnectionProvider() {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(getName())
+            .maxConnections(getMaximumConnections())
+            .metrics(getMetrics())
+            .pendingAcquireMaxCount(getMaximumPendingAcquires())
+            .pendingAcquireTimeout(getPendingAcquireTimeout());
+
+        getMaximumIdleTime().ifPresent(builder::maxIdleTime);
+
+        return builder.build();
+    }
+
+    private static TcpClient getTcpClient(HttpClient httpClient) {
+        AtomicReference<TcpClient> tcpClient = new AtomicReference<>();
+
+        // request() resolves the TCP configuration, with every setting of the client, when it is called.  No request is made.
+        httpClient
+            .tcpConfiguration(configured -> {
+                tcpClient.set(configured);
+                return configured;
+            })
+            .request(HttpMethod.GET);
+
+        return tcpClient.get();
+    }
+
+    private HttpClient configureHttpClient(HttpClient httpClient, boolean timeConnections) {
+        HttpClient configured = getCompression() ? httpClient.compress(true) : httpClient;
+
+        if (!getProtocols().isEmpty()) {
+            configured = configured.protocol(getProtocols().toArray(new HttpProtocol[0]));
+        }
+
+        // The ConnectionContext always secures its client, which Reactor Netty rejects alongside clear-text HTTP/2
+        if (getProtocols().contains(HttpProtocol.H2C) && !getProtocols().contains(HttpProtocol.H2)) {
+            configured = configured.tcpConfiguration(TcpClient::noSSL);
+        }
+
+        return timeConnections ? RequestTimings.connections(configured) : configured;
+    }
+
+}
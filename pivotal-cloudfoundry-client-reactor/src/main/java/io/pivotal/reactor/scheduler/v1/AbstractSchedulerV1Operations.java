@@ -16,57 +16,293 @@
 
 package io.pivotal.reactor.scheduler.v1;
 
+import io.pivotal.reactor.util.CachedRoot;
+import io.pivotal.reactor.util.ErrorPayloadMappers;
+import io.pivotal.reactor.util.FlightRecorderEvents;
+import io.pivotal.reactor.util.OperationContext;
+import io.pivotal.reactor.util.OperationMetrics;
+import io.pivotal.reactor.util.OperationTracing;
+import io.pivotal.reactor.util.ProjectionUtils;
+import io.pivotal.reactor.util.QueryParameterExtractor;
+import io.pivotal.reactor.util.RequestCostAccounting;
+import io.pivotal.reactor.util.RequestPayloadCache;
+import io.pivotal.reactor.util.RequestTimingListener;
+import io.pivotal.reactor.util.RequestTimings;
+import io.pivotal.scheduler.v1.PaginatedRequest;
+import org.cloudfoundry.AbstractCloudFoundryException;
 import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.HttpClientResponseWithBody;
 import org.cloudfoundry.reactor.TokenProvider;
-import org.cloudfoundry.reactor.client.QueryBuilder;
 import org.cloudfoundry.reactor.util.AbstractReactorOperations;
-import org.cloudfoundry.reactor.util.UriQueryParameter;
-import org.cloudfoundry.reactor.util.UriQueryParameters;
+import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
+import org.cloudfoundry.reactor.util.Operator;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 public class AbstractSchedulerV1Operations extends AbstractReactorOperations {
 
+    private final CachedRoot cachedRoot;
+
+    private final boolean checkpoints;
+
+    private final ConnectionContext connectionContext;
+
+    private final ErrorPayloadMapper errorPayloadMapper;
+
+    private final OperationMetrics metrics;
+
+    private final ErrorPayloadMapper notFoundErrorPayloadMapper;
+
+    private final RequestCostAccounting requestCostAccounting;
+
+    private final RequestPayloadCache requestPayloadCache;
+
+    private final Map<String, String> requestTags;
+
+    private final RequestTimingListener requestTimingListener;
+
+    private final boolean stacklessExceptions;
+
+    private final OperationTracing tracing;
+
     protected AbstractSchedulerV1Operations(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider, Map<String, String> requestTags) {
-        super(connectionContext, root, tokenProvider, requestTags);
+        this(connectionContext, root, tokenProvider, requestTags, OperationsConfiguration.builder().build());
+    }
+
+    protected AbstractSchedulerV1Operations(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider, Map<String, String> requestTags,
+                                            OperationsConfiguration configuration) {
+        super(connectionContext, timeRoot(root, configuration), timeTokenProvider(tokenProvider, configuration), requestTags);
+        this.cachedRoot = configuration.getCachedRoot().orElse(null);
+        this.checkpoints = configuration.getCheckpoints();
+        this.connectionContext = connectionContext;
+        // Not Optional.map(), whose lambdas would load Micrometer and OpenTelemetry even when they are not configured
+        this.metrics = configuration.getMeterRegistry().isPresent() ? new OperationMetrics(configuration.getMeterRegistry().get(), requestTags) : null;
+        this.requestTimingListener = configuration.getRequestTimingListener().orElse(null);
+        this.tracing = configuration.getOpenTelemetry().isPresent() ? new OperationTracing(configuration.getOpenTelemetry().get(), requestTags) : null;
+        this.errorPayloadMapper = instrument(ErrorPayloadMappers.scheduler(connectionContext.getObjectMapper(), configuration.getMaximumErrorPayloadSize(), !configuration.getStacklessExceptions()));
+        this.notFoundErrorPayloadMapper =
+            instrument(ErrorPayloadMappers.schedulerIgnoringNotFound(connectionContext.getObjectMapper(), configuration.getMaximumErrorPayloadSize(), !configuration.getStacklessExceptions()));
+        this.requestCostAccounting = configuration.getRequestCostAccounting().orElse(null);
+        this.requestPayloadCache = configuration.getRequestPayloadCache().orElse(null);
+        this.requestTags = requestTags;
+        this.stacklessExceptions = configuration.getStacklessExceptions();
+    }
+
+    @Override
+    protected Mono<Operator> createOperator() {
+        return createOperator(this.errorPayloadMapper);
+    }
+
+    /**
+     * Adds diagnostic context to an operation.  By default this is a {@code checkpoint()}; when stackless exceptions are configured, an {@link OperationContext} is attached to Cloud Foundry
+     * exceptions instead, so that no assembly information is captured.  When checkpoints are disabled and exceptions are not stackless, the publisher is returned undecorated.  If the root is
+     * cached, a connection failure also refreshes it.  If a meter registry, a request timing listener, or OpenTelemetry is configured, the operation is instrumented for it, and the operation is
+     * recorded as a Java Flight Recorder event when that event is enabled.  The operation is charged to the {@link io.pivotal.reactor.util.RequestBudget} in its subscriber context, if any, and
+     * fails fast when that budget is exhausted.
+     *
+     * @param publisher   the publisher of the operation
+     * @param operation   the name of the operation
+     * @param uriTemplate the template of the operation's URI, for example {@code /jobs/{id}/history}, recorded instead of the URI itself so that events do not identify individual resources
+     * @param <T>         the type of the operation's result
+     * @return the decorated publisher
+     */
+    protected final <T> Mono<T> decorate(Mono<T> publisher, String operation, String uriTemplate) {
+        publisher = RequestCostAccounting.instrument(publisher, operation, this.requestCostAccounting);
+        publisher = FlightRecorderEvents.instrument(publisher, operation, uriTemplate);
+
+        if (this.requestTimingListener != null) {
+            publisher = RequestTimings.instrument(publisher, operation, this.requestTimingListener);
+        }
+
+        if (this.metrics != null) {
+            publisher = this.metrics.instrument(publisher, operation);
+        }
+
+        if (this.tracing != null) {
+            publisher = this.tracing.instrument(publisher, operation);
+        }
+
+        if (this.cachedRoot != null) {
+            publisher = this.cachedRoot.refreshOnConnectionFailure(publisher);
+        }
+
+        if (this.stacklessExceptions) {
+            return publisher
+                .doOnError(AbstractCloudFoundryException.class, e -> e.addSuppressed(new OperationContext(operation, this.requestTags)));
+        }
+
+        if (this.checkpoints) {
+            return publisher
+                .checkpoint();
+        }
+
+        return publisher;
     }
 
     protected final <T> Mono<T> delete(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+        if (this.requestPayloadCache != null && RequestPayloadCache.isSerializable(requestPayload)) {
+            return createOperator()
+                .flatMap(operator -> operator.delete()
+                    .uri(queryTransformer(requestPayload, uriTransformer))
+                    .send(this.requestPayloadCache.send(requestPayload))
+                    .response()
+                    .parseBodyToMono(responseWithBody -> decode(responseWithBody, responseType, Collections.emptyList())));
+        }
+
         return createOperator()
             .flatMap(operator -> operator.delete()
-                .uri(queryTransformer(requestPayload).andThen(uriTransformer))
+                .uri(queryTransformer(requestPayload, uriTransformer))
                 .send(requestPayload)
                 .response()
-                .parseBody(responseType));
+                .parseBodyToMono(responseWithBody -> decode(responseWithBody, responseType, Collections.emptyList())));
+    }
+
+    protected final Mono<Boolean> exists(Object requestPayload, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+        return createOperator(this.notFoundErrorPayloadMapper)
+            .flatMap(operator -> operator.get()
+                .uri(queryTransformer(requestPayload, uriTransformer))
+                .response()
+                .parseBodyToMono(responseWithBody -> getBody(responseWithBody).then(Mono.just(true))))
+            .defaultIfEmpty(false);
     }
 
     protected final <T> Mono<T> get(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
-        return createOperator()
+        List<String> fields = getFields(requestPayload);
+
+        return recordPage(createOperator()
             .flatMap(operator -> operator.get()
-                .uri(queryTransformer(requestPayload).andThen(uriTransformer))
+                .uri(queryTransformer(requestPayload, uriTransformer))
                 .response()
-                .parseBody(responseType));
+                .parseBodyToMono(responseWithBody -> decode(responseWithBody, responseType, fields))), requestPayload);
+    }
+
+    protected final <T> Mono<T> getIfExists(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+        return createOperator(this.notFoundErrorPayloadMapper)
+            .flatMap(operator -> operator.get()
+                .uri(queryTransformer(requestPayload, uriTransformer))
+                .response()
+                .parseBodyToMono(responseWithBody -> decode(responseWithBody, responseType, Collections.emptyList())));
+    }
+
+    protected final <T> Mono<LazyPaginatedResponse<T>> getLazily(Object requestPayload, Class<T> resourceType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+        // The whole inflated payload is copied into an array, which the page holds for as long as it is referenced
+        return recordPage(createOperator()
+            .flatMap(operator -> operator.get()
+                .uri(queryTransformer(requestPayload, uriTransformer))
+                .response()
+                .parseBodyToMono(responseWithBody -> getBody(responseWithBody).aggregate().asByteArray()
+                    .map(payload -> LazyPaginatedResponse.of(this.connectionContext.getObjectMapper(), payload, resourceType)))), requestPayload);
     }
 
     protected final <T> Mono<T> post(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+        if (this.requestPayloadCache != null && RequestPayloadCache.isSerializable(requestPayload)) {
+            return createOperator()
+                .flatMap(operator -> operator.post()
+                    .uri(queryTransformer(requestPayload, uriTransformer))
+                    .send(this.requestPayloadCache.send(requestPayload))
+                    .response()
+                    .parseBodyToMono(responseWithBody -> decode(responseWithBody, responseType, Collections.emptyList())));
+        }
+
         return createOperator()
             .flatMap(operator -> operator.post()
-                .uri(queryTransformer(requestPayload).andThen(uriTransformer))
+                .uri(queryTransformer(requestPayload, uriTransformer))
                 .send(requestPayload)
                 .response()
-                .parseBody(responseType));
+                .parseBodyToMono(responseWithBody -> decode(responseWithBody, responseType, Collections.emptyList())));
+    }
+
+    private Mono<Operator> createOperator(ErrorPayloadMapper errorPayloadMapper) {
+        Mono<Operator> operator = super.createOperator()
+            .map(o -> o.withErrorPayloadMapper(errorPayloadMapper));
+
+        return this.tracing == null ? operator : this.tracing.propagate(operator);
+    }
+
+    private <T> Mono<T> decode(HttpClientResponseWithBody responseWithBody, Class<T> responseType, List<String> fields) {
+        ByteBufFlux body = getBody(responseWithBody);
+
+        if (Void.class == responseType) {
+            return body.then(Mono.empty());
+        }
+
+        Mono<T> decoded = FlightRecorderEvents.decode(ProjectionUtils.decode(this.connectionContext.getObjectMapper(), body, responseType, fields));
+        return this.requestTimingListener == null ? decoded : RequestTimings.decode(decoded);
+    }
+
+    private ByteBufFlux getBody(HttpClientResponseWithBody responseWithBody) {
+        ByteBufFlux body = RequestCostAccounting.body(FlightRecorderEvents.body(responseWithBody.getBody()));
+
+        if (this.metrics != null) {
+            body = this.metrics.countBytes(body);
+        }
+
+        if (this.requestTimingListener != null) {
+            body = RequestTimings.body(body);
+        }
+
+        return body;
+    }
+
+    private static List<String> getFields(Object requestPayload) {
+        return requestPayload instanceof PaginatedRequest ? ((PaginatedRequest) requestPayload).getFields() : Collections.emptyList();
+    }
+
+    private static Integer getPage(Object requestPayload) {
+        return requestPayload instanceof PaginatedRequest ? ((PaginatedRequest) requestPayload).getPage() : null;
+    }
+
+    private ErrorPayloadMapper instrument(ErrorPayloadMapper errorPayloadMapper) {
+        ErrorPayloadMapper instrumented = FlightRecorderEvents.status(errorPayloadMapper);
+
+        if (this.metrics != null) {
+            instrumented = this.metrics.recordStatus(instrumented);
+        }
+
+        if (this.requestTimingListener != null) {
+            instrumented = RequestTimings.firstByte(instrumented);
+        }
+
+        if (this.tracing != null) {
+            instrumented = this.tracing.recordStatus(instrumented);
+        }
+
+        return instrumented;
+    }
+
+    private static Function<UriComponentsBuilder, UriComponentsBuilder> queryTransformer(Object requestPayload, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+        QueryParameterExtractor extractor = QueryParameterExtractor.forType(requestPayload.getClass());
+
+        if (extractor.isEmpty()) {
+            return uriTransformer;
+        }
+
+        return builder -> uriTransformer.apply(extractor.apply(builder, requestPayload));
+    }
+
+    private <T> Mono<T> recordPage(Mono<T> publisher, Object requestPayload) {
+        Integer page = getPage(requestPayload);
+
+        if (page == null) {
+            return publisher;
+        }
+
+        publisher = FlightRecorderEvents.requestPage(publisher, page);
+        return this.tracing == null ? publisher : this.tracing.requestPage(publisher, page);
+    }
+
+    private static Mono<String> timeRoot(Mono<String> root, OperationsConfiguration configuration) {
+        return configuration.getRequestTimingListener().isPresent() ? RequestTimings.root(root) : root;
     }
 
-    private Function<UriComponentsBuilder, UriComponentsBuilder> queryTransformer(Object requestPayload) {
-        return builder -> {
-            Stream<UriQueryParameter> parameters = new QueryBuilder().build(requestPayload);
-            UriQueryParameters.set(builder, parameters);
-            return builder;
-        };
+    private static TokenProvider timeTokenProvider(TokenProvider tokenProvider, OperationsConfiguration configuration) {
+        return configuration.getRequestTimingListener().isPresent() ? RequestTimings.tokenProvider(tokenProvider) : tokenProvider;
     }
 
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.scheduler.v1;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.pivotal.scheduler.v1.PaginatedResponse;
+import io.pivotal.scheduler.v1.Pagination;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link PaginatedResponse} that keeps the raw page payload and decodes each resource only when it is accessed.  The pagination is decoded eagerly, and the offsets of the resources are indexed
+ * in a single pass over the payload, so reading the pagination, the number of resources, or a single resource does not pay for decoding the whole page.  As with eagerly decoded responses, a
+ * page without resources has an empty list of resources.
+ *
+ * @param <T> the resource type
+ */
+public final class LazyPaginatedResponse<T> extends PaginatedResponse<T> {
+
+    private final Pagination pagination;
+
+    private final List<T> resources;
+
+    private LazyPaginatedResponse(Pagination pagination, List<T> resources) {
+        this.pagination = pagination;
+        this.resources = resources;
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param objectMapper the {@link ObjectMapper} to decode with
+     * @param payload      the raw page payload
+     * @param resourceType the resource type
+     * @param <T>          the resource type
+     * @return the lazily decoded response
+     */
+    public static <T> LazyPaginatedResponse<T> of(ObjectMapper objectMapper, byte[] payload, Class<T> resourceType) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw JsonMappingException.from(parser, "Expected a paginated response object");
+            }
+
+            Pagination pagination = null;
+            List<T> resources = Collections.emptyList();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+
+                if ("pagination".equals(name)) {
+                    pagination = objectMapper.readValue(parser, Pagination.class);
+                } else if ("resources".equals(name) && parser.hasToken(JsonToken.START_ARRAY)) {
+                    resources = index(parser, payload, objectMapper.readerFor(resourceType));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return new LazyPaginatedResponse<>(pagination, resources);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    @Override
+    public Pagination getPagination() {
+        return this.pagination;
+    }
+
+    @Override
+    public List<T> getResources() {
+        return this.resources;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LazyPaginatedResponse{pagination=%s, resources=%d}", this.pagination, this.resources.size());
+    }
+
+    private static <T> LazyResourceList<T> index(JsonParser parser, byte[] payload, ObjectReader reader) throws IOException {
+        int[] offsets = new int[32];
+        int size = 0;
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size * 2 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+
+            offsets[size * 2] = (int) parser.getTokenLocation().getByteOffset();
+            parser.skipChildren();
+            offsets[size * 2 + 1] = (int) parser.getCurrentLocation().getByteOffset();
+            size++;
+        }
+
+        return new LazyResourceList<>(payload, offsets, reader, size);
+    }
+
+    private static final class LazyResourceList<T> extends AbstractList<T> implements RandomAccess {
+
+        private final AtomicReferenceArray<T> decoded;
+
+        private final int[] offsets;
+
+        private final byte[] payload;
+
+        private final ObjectReader reader;
+
+        private LazyResourceList(byte[] payload, int[] offsets, ObjectReader reader, int size) {
+            this.decoded = new AtomicReferenceArray<>(size);
+            this.offsets = offsets;
+            this.payload = payload;
+            this.reader = reader;
+        }
+
+        @Override
+        public T get(int index) {
+            T resource = this.decoded.get(index);
+
+            if (resource == null) {
+                resource = decode(index);
+                this.decoded.lazySet(index, resource);
+            }
+
+            return resource;
+        }
+
+        @Override
+        public int size() {
+            return this.decoded.length();
+        }
+
+        private T decode(int index) {
+            int start = this.offsets[index * 2];
+            int end = this.offsets[index * 2 + 1];
+
+            try {
+                return this.reader.readValue(this.payload, start, end - start);
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.reactor.scheduler.v1;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.pivotal.reactor.util.CachedRoot;
+import io.pivotal.reactor.util.ErrorPayloadMappers;
+import io.pivotal.reactor.util.RequestCostAccounting;
+import io.pivotal.reactor.util.RequestPayloadCache;
+import io.pivotal.reactor.util.RequestTimingListener;
+import org.immutables.value.Value;
+
+import java.util.Optional;
+
+/**
+ * Configuration shared by the Reactor-based Scheduler operations
+ */
+@Value.Immutable
+abstract class _OperationsConfiguration {
+
+    /**
+     * The cached root to refresh when a connection to the root fails
+     */
+    public abstract Optional<CachedRoot> getCachedRoot();
+
+    /**
+     * Whether operations are decorated with {@code checkpoint()}.  Disabling checkpoints removes the operator and the assembly-time stack capture from every operation.
+     */
+    @Value.Default
+    public boolean getCheckpoints() {
+        return true;
+    }
+
+    /**
+     * The maximum number of bytes of an error payload to read.  Larger payloads are reported as an {@link io.pivotal.UnknownSchedulerException} with a truncated payload.
+     */
+    @Value.Default
+    public int getMaximumErrorPayloadSize() {
+        return ErrorPayloadMappers.DEFAULT_MAXIMUM_PAYLOAD_SIZE;
+    }
+
+    /**
+     * The {@link MeterRegistry} to record operation metrics to.  If not set, no metrics are recorded and operations are not instrumented.
+     */
+    public abstract Optional<MeterRegistry> getMeterRegistry();
+
+    /**
+     * The {@link OpenTelemetry} to trace operations with.  If not set, operations are not traced and the OpenTelemetry API, an optional dependency, is not loaded.
+     */
+    public abstract Optional<OpenTelemetry> getOpenTelemetry();
+
+    /**
+     * The {@link RequestCostAccounting} to attribute the cost of requests to.  If not set, costs are only charged to a {@link io.pivotal.reactor.util.RequestBudget} in the subscriber context.
+     */
+    public abstract Optional<RequestCostAccounting> getRequestCostAccounting();
+
+    /**
+     * The cache of serialized request payloads.  The cache is owned, and disposed of, by the caller.  If not set, payloads are serialized for each request.
+     */
+    public abstract Optional<RequestPayloadCache> getRequestPayloadCache();
+
+    /**
+     * The {@link RequestTimingListener} to report the phases of each request to.  If not set, request phases are not timed.
+     */
+    public abstract Optional<RequestTimingListener> getRequestTimingListener();
+
+    /**
+     * Whether Scheduler exceptions are created without a stack trace and operations skip {@code checkpoint()} decoration.  Failed operations are instead identified by an
+     * {@link io.pivotal.reactor.util.OperationContext} attached to the exception.
+     */
+    @Value.Default
+    public boolean getStacklessExceptions() {
+        return false;
+    }
+
+}
@@ -17,6 +17,11 @@
 package io.pivotal.reactor.scheduler.v1.calls;
 
 import io.pivotal.reactor.scheduler.v1.AbstractSchedulerV1Operations;
+import io.pivotal.reactor.scheduler.v1.LazyPaginatedResponse;
+import io.pivotal.reactor.scheduler.v1.OperationsConfiguration;
+import io.pivotal.scheduler.v1.calls.Call;
+import io.pivotal.scheduler.v1.calls.CallHistory;
+import io.pivotal.scheduler.v1.calls.CallSchedule;
 import io.pivotal.scheduler.v1.calls.Calls;
 import io.pivotal.scheduler.v1.calls.CreateCallRequest;
 import io.pivotal.scheduler.v1.calls.CreateCallResponse;
@@ -58,64 +63,116 @@ public class ReactorCalls extends AbstractSchedulerV1Operations implements Calls
         super(connectionContext, root, tokenProvider, requestTags);
     }
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server. Typically something like {@code https://api.run.pivotal.io}.
+     * @param tokenProvider     the {@link TokenProvider} to use when communicating with the server
+     * @param configuration     the {@link OperationsConfiguration} to use when communicating with the server
+     */
+    public ReactorCalls(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider, Map<String, String> requestTags, OperationsConfiguration configuration) {
+        super(connectionContext, root, tokenProvider, requestTags, configuration);
+    }
+
     @Override
     public Mono<CreateCallResponse> create(CreateCallRequest request) {
-        return post(request, CreateCallResponse.class, builder -> builder.pathSegment("calls"))
-            .checkpoint();
+        return decorate(post(request, CreateCallResponse.class, builder -> builder.pathSegment("calls")), "calls.create", "/calls");
     }
 
     @Override
     public Mono<Void> delete(DeleteCallRequest request) {
-        return delete(request, Void.class, builder -> builder.pathSegment("calls", request.getCallId()))
-            .checkpoint();
+        return decorate(delete(request, Void.class, builder -> builder.pathSegment("calls", request.getCallId())), "calls.delete", "/calls/{id}");
     }
 
     @Override
     public Mono<Void> deleteSchedule(DeleteCallScheduleRequest request) {
-        return delete(request, Void.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules", request.getScheduleId()))
-            .checkpoint();
+        return decorate(delete(request, Void.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules", request.getScheduleId())), "calls.deleteSchedule", "/calls/{id}/schedules/{schedule_id}");
+    }
+
+    @Override
+    public Mono<Boolean> exists(GetCallRequest request) {
+        return decorate(exists(request, builder -> builder.pathSegment("calls", request.getCallId())), "calls.exists", "/calls/{id}");
     }
 
     @Override
     public Mono<ExecuteCallResponse> execute(ExecuteCallRequest request) {
-        return post(request, ExecuteCallResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "execute"))
-            .checkpoint();
+        return decorate(post(request, ExecuteCallResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "execute")), "calls.execute", "/calls/{id}/execute");
     }
 
     @Override
     public Mono<GetCallResponse> get(GetCallRequest request) {
-        return get(request, GetCallResponse.class, builder -> builder.pathSegment("calls", request.getCallId()))
-            .checkpoint();
+        return decorate(get(request, GetCallResponse.class, builder -> builder.pathSegment("calls", request.getCallId())), "calls.get", "/calls/{id}");
+    }
+
+    @Override
+    public Mono<GetCallResponse> getIfExists(GetCallRequest request) {
+        return decorate(getIfExists(request, GetCallResponse.class, builder -> builder.pathSegment("calls", request.getCallId())), "calls.getIfExists", "/calls/{id}");
     }
 
     @Override
     public Mono<ListCallsResponse> list(ListCallsRequest request) {
-        return get(request, ListCallsResponse.class, builder -> builder.pathSegment("calls"))
-            .checkpoint();
+        return decorate(get(request, ListCallsResponse.class, builder -> builder.pathSegment("calls")), "calls.list", "/calls");
     }
 
     @Override
     public Mono<ListCallHistoriesResponse> listHistories(ListCallHistoriesRequest request) {
-        return get(request, ListCallHistoriesResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "history"))
-            .checkpoint();
+        return decorate(get(request, ListCallHistoriesResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "history")), "calls.listHistories", "/calls/{id}/history");
+    }
+
+    /**
+     * Makes the List Call Histories request, decoding each resource only when it is accessed
+     *
+     * @param request the List Call Histories request
+     * @return the response to the List Call Histories request
+     */
+    public Mono<LazyPaginatedResponse<CallHistory>> listHistoriesLazily(ListCallHistoriesRequest request) {
+        return decorate(getLazily(request, CallHistory.class, builder -> builder.pathSegment("calls", request.getCallId(), "history")), "calls.listHistoriesLazily", "/calls/{id}/history");
+    }
+
+    /**
+     * Makes the List Calls request, decoding each resource only when it is accessed
+     *
+     * @param request the List Calls request
+     * @return the response to the List Calls request
+     */
+    public Mono<LazyPaginatedResponse<Call>> listLazily(ListCallsRequest request) {
+        return decorate(getLazily(request, Call.class, builder -> builder.pathSegment("calls")), "calls.listLazily", "/calls");
     }
 
     @Override
     public Mono<ListCallScheduleHistoriesResponse> listScheduleHistories(ListCallScheduleHistoriesRequest request) {
-        return get(request, ListCallScheduleHistoriesResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules", request.getScheduleId(), "history"))
-            .checkpoint();
+        return decorate(get(request, ListCallScheduleHistoriesResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules", request.getScheduleId(), "history")), "calls.listScheduleHistories", "/calls/{id}/schedules/{schedule_id}/history");
+    }
+
+    /**
+     * Makes the List Call Schedule Histories request, decoding each resource only when it is accessed
+     *
+     * @param request the List Call Schedule Histories request
+     * @return the response to the List Call Schedule Histories request
+     */
+    public Mono<LazyPaginatedResponse<CallHistory>> listScheduleHistoriesLazily(ListCallScheduleHistoriesRequest request) {
+        return decorate(getLazily(request, CallHistory.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules", request.getScheduleId(), "history")), "calls.listScheduleHistoriesLazily", "/calls/{id}/schedules/{schedule_id}/history");
     }
 
     @Override
     public Mono<ListCallSchedulesResponse> listSchedules(ListCallSchedulesRequest request) {
-        return get(request, ListCallSchedulesResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules"))
-            .checkpoint();
+        return decorate(get(request, ListCallSchedulesResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules")), "calls.listSchedules", "/calls/{id}/schedules");
+    }
+
+    /**
+     * Makes the List Call Schedules request, decoding each resource only when it is accessed
+     *
+     * @param request the List Call Schedules request
+     * @return the response to the List Call Schedules request
+     */
+    public Mono<LazyPaginatedResponse<CallSchedule>> listSchedulesLazily(ListCallSchedulesRequest request) {
+        return decorate(getLazily(request, CallSchedule.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules")), "calls.listSchedulesLazily", "/calls/{id}/schedules");
     }
 
     @Override
     public Mono<ScheduleCallResponse> schedule(ScheduleCallRequest request) {
-        return post(request, ScheduleCallResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules"))
-            .checkpoint();
+        return decorate(post(request, ScheduleCallResponse.class, builder -> builder.pathSegment("calls", request.getCallId(), "schedules")), "calls.schedule", "/calls/{id}/schedules");
     }
 
 }
@@ -17,6 +17,8 @@
 package io.pivotal.reactor.scheduler.v1.jobs;
 
 import io.pivotal.reactor.scheduler.v1.AbstractSchedulerV1Operations;
+import io.pivotal.reactor.scheduler.v1.LazyPaginatedResponse;
+import io.pivotal.reactor.scheduler.v1.OperationsConfiguration;
 import io.pivotal.scheduler.v1.jobs.CreateJobRequest;
 import io.pivotal.scheduler.v1.jobs.CreateJobResponse;
 import io.pivotal.scheduler.v1.jobs.DeleteJobRequest;
@@ -25,6 +27,9 @@ import io.pivotal.scheduler.v1.jobs.ExecuteJobRequest;
 import io.pivotal.scheduler.v1.jobs.ExecuteJobResponse;
 import io.pivotal.scheduler.v1.jobs.GetJobRequest;
 import io.pivotal.scheduler.v1.jobs.GetJobResponse;
+import io.pivotal.scheduler.v1.jobs.Job;
+import io.pivotal.scheduler.v1.jobs.JobHistory;
+import io.pivotal.scheduler.v1.jobs.JobSchedule;
 import io.pivotal.scheduler.v1.jobs.Jobs;
 import io.pivotal.scheduler.v1.jobs.ListJobHistoriesRequest;
 import io.pivotal.scheduler.v1.jobs.ListJobHistoriesResponse;
@@ -58,64 +63,116 @@ public class ReactorJobs extends AbstractSchedulerV1Operations implements Jobs {
         super(connectionContext, root, tokenProvider, requestTags);
     }
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server. Typically something like {@code https://api.run.pivotal.io}.
+     * @param tokenProvider     the {@link TokenProvider} to use when communicating with the server
+     * @param configuration     the {@link OperationsConfiguration} to use when communicating with the server
+     */
+    public ReactorJobs(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider, Map<String, String> requestTags, OperationsConfiguration configuration) {
+        super(connectionContext, root, tokenProvider, requestTags, configuration);
+    }
+
     @Override
     public Mono<CreateJobResponse> create(CreateJobRequest request) {
-        return post(request, CreateJobResponse.class, builder -> builder.pathSegment("jobs"))
-            .checkpoint();
+        return decorate(post(request, CreateJobResponse.class, builder -> builder.pathSegment("jobs")), "jobs.create", "/jobs");
     }
 
     @Override
     public Mono<Void> delete(DeleteJobRequest request) {
-        return delete(request, Void.class, builder -> builder.pathSegment("jobs", request.getJobId()))
-            .checkpoint();
+        return decorate(delete(request, Void.class, builder -> builder.pathSegment("jobs", request.getJobId())), "jobs.delete", "/jobs/{id}");
     }
 
     @Override
     public Mono<Void> deleteSchedule(DeleteJobScheduleRequest request) {
-        return delete(request, Void.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules", request.getScheduleId()))
-            .checkpoint();
+        return decorate(delete(request, Void.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules", request.getScheduleId())), "jobs.deleteSchedule", "/jobs/{id}/schedules/{schedule_id}");
+    }
+
+    @Override
+    public Mono<Boolean> exists(GetJobRequest request) {
+        return decorate(exists(request, builder -> builder.pathSegment("jobs", request.getJobId())), "jobs.exists", "/jobs/{id}");
     }
 
     @Override
     public Mono<ExecuteJobResponse> execute(ExecuteJobRequest request) {
-        return post(request, ExecuteJobResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "execute"))
-            .checkpoint();
+        return decorate(post(request, ExecuteJobResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "execute")), "jobs.execute", "/jobs/{id}/execute");
     }
 
     @Override
     public Mono<GetJobResponse> get(GetJobRequest request) {
-        return get(request, GetJobResponse.class, builder -> builder.pathSegment("jobs", request.getJobId()))
-            .checkpoint();
+        return decorate(get(request, GetJobResponse.class, builder -> builder.pathSegment("jobs", request.getJobId())), "jobs.get", "/jobs/{id}");
+    }
+
+    @Override
+    public Mono<GetJobResponse> getIfExists(GetJobRequest request) {
+        return decorate(getIfExists(request, GetJobResponse.class, builder -> builder.pathSegment("jobs", request.getJobId())), "jobs.getIfExists", "/jobs/{id}");
     }
 
     @Override
     public Mono<ListJobsResponse> list(ListJobsRequest request) {
-        return get(request, ListJobsResponse.class, builder -> builder.pathSegment("jobs"))
-            .checkpoint();
+        return decorate(get(request, ListJobsResponse.class, builder -> builder.pathSegment("jobs")), "jobs.list", "/jobs");
     }
 
     @Override
     public Mono<ListJobHistoriesResponse> listHistories(ListJobHistoriesRequest request) {
-        return get(request, ListJobHistoriesResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "history"))
-            .checkpoint();
+        return decorate(get(request, ListJobHistoriesResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "history")), "jobs.listHistories", "/jobs/{id}/history");
+    }
+
+    /**
+     * Makes the List Job Histories request, decoding each resource only when it is accessed
+     *
+     * @param request the List Job Histories request
+     * @return the response to the List Job Histories request
+     */
+    public Mono<LazyPaginatedResponse<JobHistory>> listHistoriesLazily(ListJobHistoriesRequest request) {
+        return decorate(getLazily(request, JobHistory.class, builder -> builder.pathSegment("jobs", request.getJobId(), "history")), "jobs.listHistoriesLazily", "/jobs/{id}/history");
+    }
+
+    /**
+     * Makes the List Jobs request, decoding each resource only when it is accessed
+     *
+     * @param request the List Jobs request
+     * @return the response to the List Jobs request
+     */
+    public Mono<LazyPaginatedResponse<Job>> listLazily(ListJobsRequest request) {
+        return decorate(getLazily(request, Job.class, builder -> builder.pathSegment("jobs")), "jobs.listLazily", "/jobs");
     }
 
     @Override
     public Mono<ListJobScheduleHistoriesResponse> listScheduleHistories(ListJobScheduleHistoriesRequest request) {
-        return get(request, ListJobScheduleHistoriesResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules", request.getScheduleId(), "history"))
-            .checkpoint();
+        return decorate(get(request, ListJobScheduleHistoriesResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules", request.getScheduleId(), "history")), "jobs.listScheduleHistories", "/jobs/{id}/schedules/{schedule_id}/history");
+    }
+
+    /**
+     * Makes the List Job Schedule Histories request, decoding each resource only when it is accessed
+     *
+     * @param request the List Job Schedule Histories request
+     * @return the response to the List Job Schedule Histories request
+     */
+    public Mono<LazyPaginatedResponse<JobHistory>> listScheduleHistoriesLazily(ListJobScheduleHistoriesRequest request) {
+        return decorate(getLazily(request, JobHistory.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules", request.getScheduleId(), "history")), "jobs.listScheduleHistoriesLazily", "/jobs/{id}/schedules/{schedule_id}/history");
     }
 
     @Override
     public Mono<ListJobSchedulesResponse> listSchedules(ListJobSchedulesRequest request) {
-        return get(request, ListJobSchedulesResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules"))
-            .checkpoint();
+        return decorate(get(request, ListJobSchedulesResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules")), "jobs.listSchedules", "/jobs/{id}/schedules");
+    }
+
+    /**
+     * Makes the List Job Schedules request, decoding each resource only when it is accessed
+     *
+     * @param request the List Job Schedules request
+     * @return the response to the List Job Schedules request
+     */
+    public Mono<LazyPaginatedResponse<JobSchedule>> listSchedulesLazily(ListJobSchedulesRequest request) {
+        return decorate(getLazily(request, JobSchedule.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules")), "jobs.listSchedulesLazily", "/jobs/{id}/schedules");
     }
 
     @Override
     public Mono<ScheduleJobResponse> schedule(ScheduleJobRequest request) {
-        return post(request, ScheduleJobResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules"))
-            .checkpoint();
+        return decorate(post(request, ScheduleJobResponse.class, builder -> builder.pathSegment("jobs", request.getJobId(), "schedules")), "jobs.schedule", "/jobs/{id}/schedules");
     }
 
 }
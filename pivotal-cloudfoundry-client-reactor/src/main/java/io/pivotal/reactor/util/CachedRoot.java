@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.PrematureCloseException;
+
+import javax.net.ssl.SSLException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A root endpoint that is resolved once and cached for a time-to-live.  Concurrent subscribers share a single in-flight resolution, failed resolutions are not cached, and the cached value is
+ * discarded when an operation that used it fails to connect.
+ */
+public final class CachedRoot {
+
+    private final AtomicReference<Mono<String>> cached = new AtomicReference<>();
+
+    private final Mono<String> source;
+
+    private final Duration ttl;
+
+    /**
+     * Creates a new instance
+     *
+     * @param source the {@link Mono} resolving the root
+     * @param ttl    how long a resolved root is cached for
+     */
+    public CachedRoot(Mono<String> source, Duration ttl) {
+        this.source = source;
+        this.ttl = ttl;
+        this.cached.set(cache());
+    }
+
+    /**
+     * Returns whether an error indicates that the root could not be connected to.  An error is a connection failure if it, or any of its causes, is a {@link ConnectException}, an
+     * {@link UnknownHostException}, a {@link PrematureCloseException} or an {@link SSLException}, after unwrapping any exception that Reactor wrapped it in.  Other {@link java.io.IOException}s,
+     * such as a response that cannot be decoded, are not.
+     *
+     * @param t the error
+     * @return {@code true} if the error is a connection failure, {@code false} otherwise
+     */
+    public static boolean isConnectionFailure(Throwable t) {
+        for (Throwable cause = Exceptions.unwrap(t); cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException || cause instanceof PrematureCloseException || cause instanceof SSLException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the root.  Each subscription reads the currently cached resolution, so a refresh is observed by subsequent subscriptions.
+     *
+     * @return the root
+     */
+    public Mono<String> get() {
+        return Mono.defer(this.cached::get);
+    }
+
+    /**
+     * Discards the cached root if an operation fails to connect, so that the next subscription resolves it again.  Only the resolution that was cached when the operation was subscribed to is
+     * discarded, so concurrent operations that fail against the same root refresh it once, and a failure does not discard a root that was resolved after the operation started.
+     *
+     * @param publisher the publisher of the operation
+     * @param <T>       the type of the operation's result
+     * @return the publisher of the operation, refreshing the root on a connection failure
+     */
+    public <T> Mono<T> refreshOnConnectionFailure(Mono<T> publisher) {
+        return Mono.defer(() -> {
+            Mono<String> used = this.cached.get();
+
+            return publisher
+                .doOnError(CachedRoot::isConnectionFailure, t -> this.cached.compareAndSet(used, cache()));
+        });
+    }
+
+    private Mono<String> cache() {
+        return this.source.cache(value -> this.ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+}
@@ -16,7 +16,14 @@
 
 package io.pivotal.reactor.util;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpStatusClass;
 import io.pivotal.UnknownSchedulerException;
 import io.pivotal.scheduler.v1.SchedulerError;
@@ -24,35 +31,93 @@ import io.pivotal.scheduler.v1.SchedulerException;
 import org.cloudfoundry.reactor.HttpClientResponseWithConnection;
 import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.netty.ByteBufFlux;
 import reactor.netty.Connection;
 import reactor.netty.http.client.HttpClientResponse;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static io.netty.handler.codec.http.HttpStatusClass.CLIENT_ERROR;
 import static io.netty.handler.codec.http.HttpStatusClass.SERVER_ERROR;
 
 public final class ErrorPayloadMappers {
 
-    @SuppressWarnings("unchecked")
+    /**
+     * The default maximum number of bytes of an error payload that are read
+     */
+    public static final int DEFAULT_MAXIMUM_PAYLOAD_SIZE = 64 * 1024;
+
+    private static final int MAXIMUM_SNIPPET_SIZE = 1024;
+
+    private static final TypeReference<List<SchedulerError>> SCHEDULER_ERRORS = new TypeReference<List<SchedulerError>>() {
+
+    };
+
     public static ErrorPayloadMapper scheduler(ObjectMapper objectMapper) {
+        return scheduler(objectMapper, DEFAULT_MAXIMUM_PAYLOAD_SIZE);
+    }
+
+    public static ErrorPayloadMapper scheduler(ObjectMapper objectMapper, int maximumPayloadSize) {
+        return scheduler(objectMapper, maximumPayloadSize, true);
+    }
+
+    /**
+     * Returns an {@link ErrorPayloadMapper} for the Scheduler API
+     *
+     * @param objectMapper       the {@link ObjectMapper} to parse error payloads with
+     * @param maximumPayloadSize the maximum number of bytes of an error payload to read
+     * @param writableStackTrace whether the exceptions that are created should capture a stack trace
+     * @return the error payload mapper
+     */
+    public static ErrorPayloadMapper scheduler(ObjectMapper objectMapper, int maximumPayloadSize, boolean writableStackTrace) {
+        return inbound -> inbound
+            .flatMap(mapToError(maximumPayloadSize, writableStackTrace, schedulerExceptionGenerator(objectMapper, writableStackTrace)));
+    }
+
+    /**
+     * Returns an {@link ErrorPayloadMapper} that treats a {@code 404 Not Found} response as an empty result.  The body of the response is drained so the connection can be reused, and no exception
+     * is created.  All other errors are mapped as by {@link #scheduler(ObjectMapper, int)}.
+     *
+     * @param objectMapper       the {@link ObjectMapper} to parse error payloads with
+     * @param maximumPayloadSize the maximum number of bytes of an error payload to read
+     * @return the error payload mapper
+     */
+    public static ErrorPayloadMapper schedulerIgnoringNotFound(ObjectMapper objectMapper, int maximumPayloadSize) {
+        return schedulerIgnoringNotFound(objectMapper, maximumPayloadSize, true);
+    }
+
+    /**
+     * Returns an {@link ErrorPayloadMapper} that treats a {@code 404 Not Found} response as an empty result.  All other errors are mapped as by
+     * {@link #scheduler(ObjectMapper, int, boolean)}.
+     *
+     * @param objectMapper       the {@link ObjectMapper} to parse error payloads with
+     * @param maximumPayloadSize the maximum number of bytes of an error payload to read
+     * @param writableStackTrace whether the exceptions that are created should capture a stack trace
+     * @return the error payload mapper
+     */
+    public static ErrorPayloadMapper schedulerIgnoringNotFound(ObjectMapper objectMapper, int maximumPayloadSize, boolean writableStackTrace) {
+        Function<HttpClientResponseWithConnection, Mono<HttpClientResponseWithConnection>> errorMapper =
+            mapToError(maximumPayloadSize, writableStackTrace, schedulerExceptionGenerator(objectMapper, writableStackTrace));
+
         return inbound -> inbound
-            .flatMap(mapToError((statusCode, payload) -> {
-                Map<String, Object> map = objectMapper.readValue(payload, Map.class);
-                String description = (String) map.get("description");
-                List<SchedulerError> errors = ((List<Map<String, Object>>) map.get("errors")).stream()
-                    .map(error -> SchedulerError.builder()
-                        .resource((String) error.get("resource"))
-                        .messages((List<String>) error.get("messages"))
-                        .build())
-                    .collect(Collectors.toList());
-
-                return new SchedulerException(statusCode, description, errors);
-            }));
+            .flatMap(response -> isNotFound(response.getResponse()) ? drain(response) : errorMapper.apply(response));
+    }
+
+    private static Mono<HttpClientResponseWithConnection> drain(HttpClientResponseWithConnection response) {
+        Connection connection = response.getConnection();
+
+        return connection.inbound().receive()
+            .doFinally(signalType -> {
+                if (signalType != SignalType.ON_COMPLETE) {
+                    connection.dispose();
+                }
+            })
+            .then(Mono.empty());
     }
 
     private static boolean isError(HttpClientResponse response) {
@@ -60,32 +125,85 @@ public final class ErrorPayloadMappers {
         return statusClass == CLIENT_ERROR || statusClass == SERVER_ERROR;
     }
 
-    private static Function<HttpClientResponseWithConnection, Mono<HttpClientResponseWithConnection>> mapToError(ExceptionGenerator exceptionGenerator) {
+    private static boolean isNotFound(HttpClientResponse response) {
+        return response.status().code() == HttpResponseStatus.NOT_FOUND.code();
+    }
+
+    private static Function<HttpClientResponseWithConnection, Mono<HttpClientResponseWithConnection>> mapToError(int maximumPayloadSize, boolean writableStackTrace, ExceptionGenerator exceptionGenerator) {
         return response -> {
             if (!isError(response.getResponse())) {
                 return Mono.just(response);
             }
 
+            int statusCode = response.getResponse().status().code();
+            AtomicLong received = new AtomicLong();
+
             Connection connection = response.getConnection();
             ByteBufFlux body = ByteBufFlux.fromInbound(connection.inbound().receive()
-                .doFinally(signalType -> connection.dispose()));
+                .doFinally(signalType -> {
+                    if (signalType != SignalType.ON_COMPLETE) {
+                        connection.dispose();
+                    }
+                })
+                .takeUntil(buffer -> received.addAndGet(buffer.readableBytes()) > maximumPayloadSize));
 
-            return body.aggregate().asString()
-                .switchIfEmpty(Mono.error(new UnknownSchedulerException(response.getResponse().status().code())))
+            return body.aggregate()
                 .flatMap(payload -> {
+                    if (payload.readableBytes() > maximumPayloadSize) {
+                        return Mono.error(new UnknownSchedulerException(statusCode, snippet(payload), writableStackTrace));
+                    }
+
                     try {
-                        return Mono.error(exceptionGenerator.apply(response.getResponse().status().code(), payload));
+                        return Mono.error(exceptionGenerator.apply(statusCode, payload));
                     } catch (Exception e) {
-                        return Mono.error(new UnknownSchedulerException(response.getResponse().status().code(), payload));
+                        return Mono.error(new UnknownSchedulerException(statusCode, snippet(payload), writableStackTrace));
                     }
-                });
+                })
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new UnknownSchedulerException(statusCode, null, writableStackTrace))))
+                .cast(HttpClientResponseWithConnection.class);
         };
     }
 
+    private static ExceptionGenerator schedulerExceptionGenerator(ObjectMapper objectMapper, boolean writableStackTrace) {
+        return (statusCode, payload) -> {
+            try (JsonParser parser = objectMapper.getFactory().createParser((InputStream) new ByteBufInputStream(payload.duplicate()))) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw JsonMappingException.from(parser, "Expected a Scheduler error object");
+                }
+
+                String description = null;
+                List<SchedulerError> errors = null;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+
+                    if ("description".equals(name)) {
+                        description = parser.getValueAsString();
+                    } else if ("errors".equals(name)) {
+                        errors = objectMapper.readValue(parser, SCHEDULER_ERRORS);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+
+                if (errors == null) {
+                    throw JsonMappingException.from(parser, "Scheduler error object has no errors");
+                }
+
+                return new SchedulerException(statusCode, description, errors, writableStackTrace);
+            }
+        };
+    }
+
+    private static String snippet(ByteBuf payload) {
+        return payload.toString(payload.readerIndex(), Math.min(payload.readableBytes(), MAXIMUM_SNIPPET_SIZE), StandardCharsets.UTF_8);
+    }
+
     @FunctionalInterface
     private interface ExceptionGenerator {
 
-        RuntimeException apply(Integer statusCode, String payload) throws Exception;
+        RuntimeException apply(int statusCode, ByteBuf payload) throws Exception;
 
     }
 
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import io.pivotal.scheduler.v1.PaginatedResponse;
+import jdk.jfr.EventType;
+import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClientResponse;
+
+/**
+ * A utility class to emit Java Flight Recorder events for Scheduler operations.  {@link #instrument(Mono, String)} places a recording of an operation in its subscriber context, and the other
+ * functions add what is observed by the transport to the recording of the operation that made the request.  Each function returns its argument unchanged when the Java Flight Recorder is not
+ * available or the event is not enabled in a running recording, so instrumentation costs a single check when recording is disabled.
+ */
+public final class FlightRecorderEvents {
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Adds the size of a response body to the recording of the operation that received it
+     *
+     * @param body the response body
+     * @return the recorded response body
+     */
+    public static ByteBufFlux body(ByteBufFlux body) {
+        if (!isRequestEnabled()) {
+            return body;
+        }
+
+        return ByteBufFlux.fromInbound(body
+            .doOnEach(signal -> {
+                RequestRecording recording = getRecording(signal);
+
+                if (recording == null) {
+                    return;
+                }
+
+                if (signal.isOnNext()) {
+                    recording.bytes += signal.get().readableBytes();
+                } else if (signal.isOnComplete()) {
+                    recording.bodyEnd = System.nanoTime();
+                }
+            }));
+    }
+
+    /**
+     * Adds the time taken to decode a response body to the recording of the operation that received it
+     *
+     * @param decoded the decoded response
+     * @param <T>     the type of the response
+     * @return the recorded decoded response
+     */
+    public static <T> Mono<T> decode(Mono<T> decoded) {
+        if (!isRequestEnabled()) {
+            return decoded;
+        }
+
+        return decoded
+            .doOnEach(signal -> {
+                RequestRecording recording = getRecording(signal);
+
+                if (recording != null && signal.isOnNext() && recording.bodyEnd != 0) {
+                    recording.decodeTime = System.nanoTime() - recording.bodyEnd;
+                }
+            });
+    }
+
+    /**
+     * Records an operation as a {@code io.pivotal.scheduler.Request} event spanning its subscription
+     *
+     * @param publisher   the publisher of the operation
+     * @param operation   the name of the operation
+     * @param uriTemplate the template of the operation's URI, for example {@code /jobs/{id}/history}
+     * @param <T>         the type of the operation's result
+     * @return the instrumented publisher
+     */
+    public static <T> Mono<T> instrument(Mono<T> publisher, String operation, String uriTemplate) {
+        if (!isRequestEnabled()) {
+            return publisher;
+        }
+
+        return Mono.defer(() -> {
+            RequestRecording recording = new RequestRecording(operation, uriTemplate);
+
+            return publisher
+                .doFinally(signalType -> recording.commit())
+                .subscriberContext(context -> context.put(RequestRecording.class, recording));
+        });
+    }
+
+    /**
+     * Records the request of a single page as a {@code io.pivotal.scheduler.Page} event
+     *
+     * @param page   the publisher of the page
+     * @param number the number of the page
+     * @param <U>    the type of the page
+     * @return the instrumented publisher
+     */
+    public static <U extends PaginatedResponse<?>> Mono<U> page(Mono<U> page, int number) {
+        if (!isPageEnabled()) {
+            return page;
+        }
+
+        return Mono.defer(() -> {
+            PageRecording recording = new PageRecording(number);
+
+            return page
+                .doOnNext(recording::record)
+                .doFinally(signalType -> recording.commit());
+        });
+    }
+
+    /**
+     * Adds the requested page to the recording of the operation that made the request
+     *
+     * @param publisher the publisher of the request
+     * @param page      the requested page, or {@code null} if the request is not paginated
+     * @param <T>       the type of the response
+     * @return the recorded publisher
+     */
+    public static <T> Mono<T> requestPage(Mono<T> publisher, Integer page) {
+        if (page == null || !isRequestEnabled()) {
+            return publisher;
+        }
+
+        return publisher
+            .doOnEach(signal -> {
+                RequestRecording recording = getRecording(signal);
+
+                if (recording != null) {
+                    recording.page = page;
+                }
+            });
+    }
+
+    /**
+     * Adds the method and status of responses to the recording of the operation that received them
+     *
+     * @param errorPayloadMapper the {@link ErrorPayloadMapper} to delegate to
+     * @return the recording error payload mapper
+     */
+    public static ErrorPayloadMapper status(ErrorPayloadMapper errorPayloadMapper) {
+        return inbound -> {
+            if (!isRequestEnabled()) {
+                return errorPayloadMapper.apply(inbound);
+            }
+
+            return errorPayloadMapper.apply(inbound
+                .doOnEach(signal -> {
+                    RequestRecording recording = getRecording(signal);
+
+                    if (recording != null && signal.isOnNext()) {
+                        HttpClientResponse response = signal.get().getResponse();
+
+                        recording.method = response.method().name();
+                        recording.status = response.status().code();
+                    }
+                }));
+        };
+    }
+
+    private static RequestRecording getRecording(Signal<?> signal) {
+        return signal.getContext().getOrDefault(RequestRecording.class, null);
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static boolean isPageEnabled() {
+        return AVAILABLE && PageRecording.isEnabled();
+    }
+
+    private static boolean isRequestEnabled() {
+        return AVAILABLE && RequestRecording.isEnabled();
+    }
+
+    private static final class PageRecording {
+
+        private static final EventType EVENT_TYPE = EventType.getEventType(SchedulerPageEvent.class);
+
+        private final SchedulerPageEvent event = new SchedulerPageEvent();
+
+        private PageRecording(int number) {
+            this.event.page = number;
+            this.event.begin();
+        }
+
+        private static boolean isEnabled() {
+            return EVENT_TYPE.isEnabled();
+        }
+
+        private void commit() {
+            this.event.end();
+
+            if (this.event.shouldCommit()) {
+                this.event.commit();
+            }
+        }
+
+        private void record(PaginatedResponse<?> response) {
+            this.event.resources = response.getResources() == null ? 0 : response.getResources().size();
+
+            if (response.getPagination() != null && response.getPagination().getTotalPages() != null) {
+                this.event.totalPages = response.getPagination().getTotalPages();
+            }
+        }
+
+    }
+
+    private static final class RequestRecording {
+
+        private static final EventType EVENT_TYPE = EventType.getEventType(SchedulerRequestEvent.class);
+
+        private final SchedulerRequestEvent event = new SchedulerRequestEvent();
+
+        private long bodyEnd;
+
+        private long bytes;
+
+        private long decodeTime;
+
+        private String method;
+
+        private int page;
+
+        private int status;
+
+        private RequestRecording(String operation, String uriTemplate) {
+            this.event.operation = operation;
+            this.event.uriTemplate = uriTemplate;
+            this.event.begin();
+        }
+
+        private static boolean isEnabled() {
+            return EVENT_TYPE.isEnabled();
+        }
+
+        private void commit() {
+            this.event.end();
+
+            if (this.event.shouldCommit()) {
+                this.event.bytes = this.bytes;
+                this.event.decodeTime = this.decodeTime;
+                this.event.method = this.method;
+                this.event.page = this.page;
+                this.event.status = this.status;
+                this.event.commit();
+            }
+        }
+
+    }
+
+}
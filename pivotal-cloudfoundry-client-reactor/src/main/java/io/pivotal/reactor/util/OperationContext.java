@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import java.util.Map;
+
+/**
+ * Diagnostic context describing the operation that failed.  It is attached to an error as a suppressed exception, in the same way Reactor attaches checkpoint descriptions, but captures no stack
+ * trace and only formats its message when it is read.
+ */
+public final class OperationContext extends RuntimeException {
+
+    private static final long serialVersionUID = -4183520316655412049L;
+
+    private final String operation;
+
+    private final Map<String, String> requestTags;
+
+    /**
+     * Creates a new instance
+     *
+     * @param operation   the name of the operation
+     * @param requestTags the request tags of the operation
+     */
+    public OperationContext(String operation, Map<String, String> requestTags) {
+        super(null, null, false, false);
+        this.operation = operation;
+        this.requestTags = requestTags;
+    }
+
+    @Override
+    public String getMessage() {
+        return this.requestTags.isEmpty() ? this.operation : String.format("%s %s", this.operation, this.requestTags);
+    }
+
+    /**
+     * Returns the name of the operation
+     */
+    public String getOperation() {
+        return this.operation;
+    }
+
+    /**
+     * Returns the request tags of the operation
+     */
+    public Map<String, String> getRequestTags() {
+        return this.requestTags;
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.pivotal.scheduler.v1.PaginatedResponse;
+import org.cloudfoundry.AbstractCloudFoundryException;
+import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.ByteBufFlux;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Records Micrometer metrics for Scheduler operations.  Each operation records:
+ * <ul>
+ * <li>{@code scheduler.client.requests}, a timer with a percentile histogram, tagged by operation, HTTP status, and exception</li>
+ * <li>{@code scheduler.client.bytes.received}, a counter of response body bytes, tagged by operation</li>
+ * <li>{@code scheduler.client.pages}, a counter of paginated responses received, tagged by operation</li>
+ * <li>{@code scheduler.client.errors}, a counter of failures, tagged by operation and exception</li>
+ * </ul>
+ * All meters are also tagged with the configured request tags.  The state of an operation is carried in the subscriber context, so that the HTTP status and body size observed by the transport are
+ * attributed to the operation that made the request.  Meters are registered the first time a combination of tags is recorded and looked up by those tags afterwards.
+ */
+public final class OperationMetrics {
+
+    private static final String NONE = "None";
+
+    private final ConcurrentMap<String, Counter> bytesReceived = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Key, Counter> errors = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Counter> pages = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Key, Timer> requests = new ConcurrentHashMap<>();
+
+    private final Tags requestTags;
+
+    /**
+     * Creates a new instance
+     *
+     * @param meterRegistry the {@link MeterRegistry} to record to
+     * @param requestTags   the request tags to add to every meter
+     */
+    public OperationMetrics(MeterRegistry meterRegistry, Map<String, String> requestTags) {
+        this.meterRegistry = meterRegistry;
+        this.requestTags = requestTags.entrySet().stream()
+            .map(entry -> Tags.of(entry.getKey(), entry.getValue()))
+            .reduce(Tags.empty(), Tags::and);
+    }
+
+    /**
+     * Counts the bytes of a response body toward the operation that received it
+     *
+     * @param body the response body
+     * @return the counted response body
+     */
+    public ByteBufFlux countBytes(ByteBufFlux body) {
+        return ByteBufFlux.fromInbound(body
+            .doOnEach(signal -> {
+                if (signal.isOnNext()) {
+                    Recording recording = signal.getContext().getOrDefault(Recording.class, null);
+
+                    if (recording != null) {
+                        recording.bytes += signal.get().readableBytes();
+                    }
+                }
+            }));
+    }
+
+    /**
+     * Records the metrics of an operation
+     *
+     * @param publisher the publisher of the operation
+     * @param operation the name of the operation
+     * @param <T>       the type of the operation's result
+     * @return the instrumented publisher
+     */
+    public <T> Mono<T> instrument(Mono<T> publisher, String operation) {
+        return Mono.defer(() -> {
+            Recording recording = new Recording(operation, this.meterRegistry.config().clock().monotonicTime());
+
+            return publisher
+                .doOnEach(signal -> {
+                    if (signal.isOnNext() && signal.get() instanceof PaginatedResponse) {
+                        recording.pages++;
+                    } else if (signal.isOnError()) {
+                        recording.error = signal.getThrowable();
+                    }
+                })
+                .doFinally(signalType -> record(recording, signalType))
+                .subscriberContext(context -> context.put(Recording.class, recording));
+        });
+    }
+
+    /**
+     * Records the HTTP status of responses toward the operation that received them
+     *
+     * @param errorPayloadMapper the {@link ErrorPayloadMapper} to delegate to
+     * @return the recording error payload mapper
+     */
+    public ErrorPayloadMapper recordStatus(ErrorPayloadMapper errorPayloadMapper) {
+        return inbound -> errorPayloadMapper.apply(inbound
+            .doOnEach(signal -> {
+                if (signal.isOnNext()) {
+                    Recording recording = signal.getContext().getOrDefault(Recording.class, null);
+
+                    if (recording != null) {
+                        recording.status = signal.get().getResponse().status().code();
+                    }
+                }
+            }));
+    }
+
+    private static <K, M> M getMeter(ConcurrentMap<K, M> meters, K key, Function<K, M> factory) {
+        M meter = meters.get(key);
+        return meter != null ? meter : meters.computeIfAbsent(key, factory);
+    }
+
+    private static String getStatus(Recording recording) {
+        if (recording.error instanceof AbstractCloudFoundryException) {
+            return String.valueOf(((AbstractCloudFoundryException) recording.error).getStatusCode());
+        }
+
+        return recording.status == 0 ? NONE : String.valueOf(recording.status);
+    }
+
+    private void record(Recording recording, SignalType signalType) {
+        long duration = this.meterRegistry.config().clock().monotonicTime() - recording.start;
+        String exception = recording.error != null ? recording.error.getClass().getSimpleName() : signalType == SignalType.CANCEL ? "Cancelled" : NONE;
+
+        getMeter(this.requests, new Key(recording.operation, getStatus(recording), exception), key -> Timer.builder("scheduler.client.requests")
+            .tags(this.requestTags.and("operation", key.operation).and("exception", key.exception).and("status", key.status))
+            .publishPercentileHistogram()
+            .register(this.meterRegistry))
+            .record(duration, TimeUnit.NANOSECONDS);
+
+        if (recording.bytes > 0) {
+            getMeter(this.bytesReceived, recording.operation, operation -> Counter.builder("scheduler.client.bytes.received")
+                .baseUnit("bytes")
+                .tags(this.requestTags.and("operation", operation))
+                .register(this.meterRegistry))
+                .increment(recording.bytes);
+        }
+
+        if (recording.pages > 0) {
+            getMeter(this.pages, recording.operation, operation -> Counter.builder("scheduler.client.pages")
+                .tags(this.requestTags.and("operation", operation))
+                .register(this.meterRegistry))
+                .increment(recording.pages);
+        }
+
+        if (recording.error != null) {
+            getMeter(this.errors, new Key(recording.operation, null, exception), key -> Counter.builder("scheduler.client.errors")
+                .tags(this.requestTags.and("operation", key.operation).and("exception", key.exception))
+                .register(this.meterRegistry))
+                .increment();
+        }
+    }
+
+    private static final class Key {
+
+        private final String exception;
+
+        private final String operation;
+
+        private final String status;
+
+        private Key(String operation, String status, String exception) {
+            this.exception = exception;
+            this.operation = operation;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.exception.equals(key.exception) && this.operation.equals(key.operation) && Objects.equals(this.status, key.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.exception, this.operation, this.status);
+        }
+
+    }
+
+    private static final class Recording {
+
+        private final String operation;
+
+        private final long start;
+
+        private long bytes;
+
+        private Throwable error;
+
+        private int pages;
+
+        private int status;
+
+        private Recording(String operation, long start) {
+            this.operation = operation;
+            this.start = start;
+        }
+
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
+import org.cloudfoundry.reactor.util.Operator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records OpenTelemetry spans for Scheduler operations.  Each operation opens a {@link SpanKind#CLIENT} span named for the operation, a child of the OpenTelemetry {@link Context} found in the
+ * subscriber context under the {@link Context} class, or else of the {@link Context#current() current context} at subscription.  The pages of a scan made with
+ * {@link PaginationUtils#requestResources(java.util.function.Function)} are separate operations, recorded as child spans, each with the requested page, of a {@link SpanKind#INTERNAL} span named
+ * for the operation with a {@code .scan} suffix that spans the whole scan and records the number of pages requested.  The context of the span is propagated into the headers of the request, and the
+ * HTTP status and any error are recorded on it.
+ * <p>
+ * When the sampler does not record a span, only its context is propagated, so that downstream services honor the sampling decision; no attributes, statuses, or errors are recorded for it.
+ */
+public final class OperationTracing {
+
+    private static final AttributeKey<Boolean> CANCELLED = AttributeKey.booleanKey("scheduler.cancelled");
+
+    private static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.method");
+
+    private static final AttributeKey<Long> HTTP_STATUS_CODE = AttributeKey.longKey("http.status_code");
+
+    private static final AttributeKey<String> HTTP_URL = AttributeKey.stringKey("http.url");
+
+    private static final String INSTRUMENTATION_NAME = "io.pivotal.scheduler";
+
+    private static final AttributeKey<String> OPERATION = AttributeKey.stringKey("scheduler.operation");
+
+    private static final AttributeKey<Long> PAGE = AttributeKey.longKey("scheduler.page");
+
+    private static final AttributeKey<Long> PAGES = AttributeKey.longKey("scheduler.pages");
+
+    private static final TextMapSetter<HttpHeaders> SETTER = (headers, key, value) -> {
+        if (headers != null) {
+            headers.set(key, value);
+        }
+    };
+
+    private final TextMapPropagator propagator;
+
+    private final Map<String, String> requestTags;
+
+    private final Tracer tracer;
+
+    /**
+     * Creates a new instance
+     *
+     * @param openTelemetry the {@link OpenTelemetry} to trace with
+     * @param requestTags   the request tags to add to every span as attributes
+     */
+    public OperationTracing(OpenTelemetry openTelemetry, Map<String, String> requestTags) {
+        this.propagator = openTelemetry.getPropagators().getTextMapPropagator();
+        this.requestTags = requestTags;
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    /**
+     * Records an operation as a span.  The span ends before the result or error of the operation is delivered, so subscribers observe the outcome after the span has been processed.
+     *
+     * @param publisher the publisher of the operation
+     * @param operation the name of the operation
+     * @param <T>       the type of the operation's result
+     * @return the traced publisher
+     */
+    public <T> Mono<T> instrument(Mono<T> publisher, String operation) {
+        return Mono.deferWithContext(subscriberContext -> {
+            Context parent = getParent(subscriberContext, operation);
+
+            SpanBuilder spanBuilder = this.tracer.spanBuilder(operation)
+                .setParent(parent)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(OPERATION, operation);
+            this.requestTags.forEach(spanBuilder::setAttribute);
+
+            Span span = spanBuilder.startSpan();
+            Traced traced = new Traced(parent.with(span), span);
+
+            if (!span.isRecording()) {
+                return publisher
+                    .subscriberContext(context -> context.put(Traced.class, traced));
+            }
+
+            return publisher
+                .doOnError(t -> span.setStatus(StatusCode.ERROR, t.getMessage()).recordException(t))
+                .doOnTerminate(span::end)
+                .doOnCancel(() -> end(span, SignalType.CANCEL))
+                .subscriberContext(context -> context.put(Traced.class, traced));
+        });
+    }
+
+    /**
+     * Propagates the context of the span of an operation into the headers of its requests
+     *
+     * @param operator the {@link Operator} making the requests
+     * @return the propagating operator
+     */
+    public Mono<Operator> propagate(Mono<Operator> operator) {
+        return Mono.subscriberContext()
+            .flatMap(context -> {
+                Traced traced = context.getOrDefault(Traced.class, null);
+
+                if (traced == null) {
+                    return operator;
+                }
+
+                return operator
+                    .map(o -> o.headers(headers -> this.propagator.inject(traced.context, headers, SETTER)));
+            });
+    }
+
+    /**
+     * Records the HTTP method, URL, and status of responses on the span of the operation that received them
+     *
+     * @param errorPayloadMapper the {@link ErrorPayloadMapper} to delegate to
+     * @return the recording error payload mapper
+     */
+    public ErrorPayloadMapper recordStatus(ErrorPayloadMapper errorPayloadMapper) {
+        return inbound -> errorPayloadMapper.apply(inbound
+            .doOnEach(signal -> {
+                Span span = getRecordingSpan(signal);
+
+                if (span != null && signal.isOnNext()) {
+                    HttpClientResponse response = signal.get().getResponse();
+                    int status = response.status().code();
+
+                    span.setAttribute(HTTP_METHOD, response.method().name());
+                    span.setAttribute(HTTP_STATUS_CODE, (long) status);
+                    span.setAttribute(HTTP_URL, response.uri());
+
+                    if (status >= 400) {
+                        span.setStatus(StatusCode.ERROR);
+                    }
+                }
+            }));
+    }
+
+    /**
+     * Records the requested page on the span of the operation that made the request
+     *
+     * @param publisher the publisher of the request
+     * @param page      the requested page
+     * @param <T>       the type of the response
+     * @return the recorded publisher
+     */
+    public <T> Mono<T> requestPage(Mono<T> publisher, int page) {
+        return publisher
+            .doOnEach(signal -> {
+                Span span = getRecordingSpan(signal);
+
+                if (span != null) {
+                    span.setAttribute(PAGE, (long) page);
+                }
+            });
+    }
+
+    private static void end(Span span, SignalType signalType) {
+        if (signalType == SignalType.CANCEL) {
+            span.setAttribute(CANCELLED, true);
+        }
+
+        span.end();
+    }
+
+    private static void endScan(ScanSpan scan, SignalType signalType) {
+        if (scan.span.isRecording()) {
+            scan.span.setAttribute(PAGES, (long) scan.pages.get());
+
+            if (signalType == SignalType.ON_ERROR) {
+                scan.span.setStatus(StatusCode.ERROR);
+            }
+        }
+
+        end(scan.span, signalType);
+    }
+
+    private static Span getRecordingSpan(Signal<?> signal) {
+        Traced traced = signal.getContext().getOrDefault(Traced.class, null);
+        return traced != null && traced.span.isRecording() ? traced.span : null;
+    }
+
+    private Context getParent(reactor.util.context.Context subscriberContext, String operation) {
+        Context parent = subscriberContext.getOrDefault(Context.class, Context.current());
+        PaginatedScan paginatedScan = subscriberContext.getOrDefault(PaginatedScan.class, null);
+
+        if (paginatedScan == null) {
+            return parent;
+        }
+
+        ScanSpan scan = paginatedScan.attach(() -> startScan(parent, operation), OperationTracing::endScan);
+        scan.pages.incrementAndGet();
+        return scan.context;
+    }
+
+    private ScanSpan startScan(Context parent, String operation) {
+        SpanBuilder spanBuilder = this.tracer.spanBuilder(operation + ".scan")
+            .setParent(parent)
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(OPERATION, operation);
+        this.requestTags.forEach(spanBuilder::setAttribute);
+
+        Span span = spanBuilder.startSpan();
+        return new ScanSpan(parent.with(span), span);
+    }
+
+    private static final class ScanSpan {
+
+        private final Context context;
+
+        private final AtomicInteger pages = new AtomicInteger();
+
+        private final Span span;
+
+        private ScanSpan(Context context, Span span) {
+            this.context = context;
+            this.span = span;
+        }
+
+    }
+
+    private static final class Traced {
+
+        private final Context context;
+
+        private final Span span;
+
+        private Traced(Context context, Span span) {
+            this.context = context;
+            this.span = span;
+        }
+
+    }
+
+}
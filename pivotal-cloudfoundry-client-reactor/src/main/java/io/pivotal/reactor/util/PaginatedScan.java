@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import reactor.core.publisher.SignalType;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The state of a scan through the pages of a paginated resource, placed in the subscriber context of each page request by {@link PaginationUtils}.  Instrumentation can attach state that spans
+ * the whole scan, for example a parent span, which is created by the first page to request it and notified when the scan terminates.  The scan does not depend on any instrumentation library.
+ */
+final class PaginatedScan {
+
+    private Object attachment;
+
+    private BiConsumer<Object, SignalType> onEnd;
+
+    /**
+     * Returns the state attached to this scan, attaching it first if needed
+     *
+     * @param factory the factory of the state
+     * @param onEnd   the function called with the state and the terminating signal when the scan terminates
+     * @param <T>     the type of the state
+     * @return the attached state
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> T attach(Supplier<T> factory, BiConsumer<T, SignalType> onEnd) {
+        if (this.attachment == null) {
+            this.attachment = factory.get();
+            this.onEnd = (BiConsumer<Object, SignalType>) onEnd;
+        }
+
+        return (T) this.attachment;
+    }
+
+    /**
+     * Terminates the scan, notifying any attached state
+     *
+     * @param signalType the terminating signal
+     */
+    void end(SignalType signalType) {
+        Object attachment;
+        BiConsumer<Object, SignalType> onEnd;
+
+        synchronized (this) {
+            attachment = this.attachment;
+            onEnd = this.onEnd;
+            this.attachment = null;
+            this.onEnd = null;
+        }
+
+        if (attachment != null) {
+            onEnd.accept(attachment, signalType);
+        }
+    }
+
+}
@@ -32,7 +32,8 @@ public final class PaginationUtils {
     }
 
     /**
-     * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.
+     * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.  Each page is recorded as a Java Flight Recorder event when that event is enabled.
+     * When operations are traced, the spans of the pages are children of a span covering the whole scan.
      *
      * @param pageSupplier a function from integers to {@link Mono}s of {@link PaginatedResponse}s.
      * @param <T>          the type of resource in the list on each {@link PaginatedResponse}.
@@ -41,10 +42,18 @@ public final class PaginationUtils {
      */
     @SuppressWarnings("rawtypes")
     public static <T, U extends PaginatedResponse<T>> Flux<T> requestResources(Function<Integer, Mono<U>> pageSupplier) {
-        return pageSupplier
-            .apply(1)
-            .flatMapMany(requestAdditionalPages(pageSupplier))
-            .flatMapIterable(PaginatedResponse::getResources);
+        Function<Integer, Mono<U>> recordedPageSupplier = page -> FlightRecorderEvents.page(pageSupplier.apply(page), page);
+
+        return Flux.defer(() -> {
+            PaginatedScan scan = new PaginatedScan();
+
+            return recordedPageSupplier
+                .apply(1)
+                .flatMapMany(requestAdditionalPages(recordedPageSupplier))
+                .flatMapIterable(PaginatedResponse::getResources)
+                .doFinally(scan::end)
+                .subscriberContext(context -> context.put(PaginatedScan.class, scan));
+        });
     }
 
     private static <T> Function<T, Flux<T>> requestAdditionalPages(Function<Integer, Mono<T>> pageSupplier, Function<T, Integer> totalPagesSupplier) {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.pivotal.scheduler.v1.PaginatedResponse;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A utility class to provide functions for decoding {@link PaginatedResponse}s with only a subset of the fields of each resource.
+ */
+public final class ProjectionUtils {
+
+    private ProjectionUtils() {
+    }
+
+    /**
+     * Decode a paginated response body, keeping only the named fields of each resource.  All other resource fields are skipped by the parser without being materialized.  A resource that has none
+     * of the named fields is still decoded, with none of its fields set.  If no fields are named, the whole body is decoded.  The body is not parsed incrementally: its buffers are aggregated, without
+     * being copied, and the whole body is held in memory until it has been decoded.
+     *
+     * @param objectMapper the {@link ObjectMapper} to decode with
+     * @param body         the response body
+     * @param responseType the type of the response
+     * @param fields       the names of the resource fields to keep
+     * @param <T>          the type of the response
+     * @return the decoded response
+     */
+    public static <T> Mono<T> decode(ObjectMapper objectMapper, ByteBufFlux body, Class<T> responseType, Collection<String> fields) {
+        Set<String> projection = fields.isEmpty() ? null : new HashSet<>(fields);
+
+        return body.aggregate().asInputStream()
+            .map(inputStream -> read(objectMapper, inputStream, responseType, projection));
+    }
+
+    private static JsonParser createParser(ObjectMapper objectMapper, InputStream inputStream, Set<String> fields) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(inputStream);
+        return fields == null ? parser : new ProjectingParser(parser, fields);
+    }
+
+    private static <T> T read(ObjectMapper objectMapper, InputStream inputStream, Class<T> responseType, Set<String> fields) {
+        try (JsonParser parser = createParser(objectMapper, inputStream, fields)) {
+            return objectMapper.readValue(parser, responseType);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    /**
+     * Skips the fields of each element of the top-level {@code resources} array that are not projected.  Unlike a {@code FilteringParserDelegate}, the start and end of every resource are passed
+     * through, so that a resource with none of the projected fields is not dropped.
+     */
+    private static final class ProjectingParser extends JsonParserDelegate {
+
+        private final Set<String> fields;
+
+        private ProjectingParser(JsonParser parser, Set<String> fields) {
+            super(parser);
+            this.fields = fields;
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            JsonToken token = this.delegate.nextToken();
+
+            while (token == JsonToken.FIELD_NAME && isResource(this.delegate.getParsingContext()) && !this.fields.contains(this.delegate.getCurrentName())) {
+                this.delegate.nextToken();
+                this.delegate.skipChildren();
+                token = this.delegate.nextToken();
+            }
+
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            JsonToken token = nextToken();
+            return token == JsonToken.FIELD_NAME ? nextToken() : token;
+        }
+
+        private static boolean isResource(JsonStreamContext context) {
+            JsonStreamContext resources = context.getParent();
+
+            if (resources == null || !resources.inArray()) {
+                return false;
+            }
+
+            JsonStreamContext page = resources.getParent();
+            return page != null && page.inObject() && page.getParent() != null && page.getParent().inRoot() && "resources".equals(page.getCurrentName());
+        }
+
+    }
+
+}
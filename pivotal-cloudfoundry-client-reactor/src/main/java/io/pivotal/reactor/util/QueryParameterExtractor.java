@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import org.cloudfoundry.QueryParameter;
+import org.cloudfoundry.reactor.util.UriQueryParameter;
+import org.cloudfoundry.reactor.util.UriQueryParameters;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Extracts the {@link QueryParameter}-annotated values of a request.  The annotated accessors of each request type are discovered once and cached as {@link MethodHandle}s, so extraction does no
+ * reflection per request.
+ */
+public final class QueryParameterExtractor {
+
+    private static final ClassValue<QueryParameterExtractor> EXTRACTORS = new ClassValue<QueryParameterExtractor>() {
+
+        @Override
+        protected QueryParameterExtractor computeValue(Class<?> type) {
+            return new QueryParameterExtractor(type);
+        }
+
+    };
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final Accessor[] accessors;
+
+    private QueryParameterExtractor(Class<?> type) {
+        List<Accessor> accessors = new ArrayList<>();
+
+        Arrays.stream(type.getMethods())
+            .sorted(Comparator.comparing(Method::getName))
+            .forEach(method -> {
+                QueryParameter queryParameter = AnnotationUtils.findAnnotation(method, QueryParameter.class);
+
+                if (queryParameter != null && method.getParameterCount() == 0) {
+                    accessors.add(new Accessor(queryParameter, unreflect(method)));
+                }
+            });
+
+        this.accessors = accessors.toArray(new Accessor[0]);
+    }
+
+    /**
+     * Returns the extractor for a request type
+     *
+     * @param type the request type
+     * @return the extractor for the request type
+     */
+    public static QueryParameterExtractor forType(Class<?> type) {
+        return EXTRACTORS.get(type);
+    }
+
+    /**
+     * Adds the query parameters of a request to a {@link UriComponentsBuilder}
+     *
+     * @param builder the builder to add the query parameters to
+     * @param request the request to extract the query parameters from
+     * @return the builder
+     */
+    public UriComponentsBuilder apply(UriComponentsBuilder builder, Object request) {
+        List<UriQueryParameter> parameters = new ArrayList<>(this.accessors.length);
+
+        for (Accessor accessor : this.accessors) {
+            String value = accessor.getValue(request);
+
+            if (value != null) {
+                parameters.add(UriQueryParameter.of(accessor.name, value));
+            }
+        }
+
+        UriQueryParameters.set(builder, parameters.stream());
+        return builder;
+    }
+
+    /**
+     * Returns whether the request type has no query parameters
+     *
+     * @return {@code true} if the request type has no query parameters, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return this.accessors.length == 0;
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(GETTER);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Unable to access query parameter %s", method), e);
+        }
+    }
+
+    private static final class Accessor {
+
+        private final String delimiter;
+
+        private final MethodHandle getter;
+
+        private final String name;
+
+        private Accessor(QueryParameter queryParameter, MethodHandle getter) {
+            this.delimiter = queryParameter.delimiter();
+            this.getter = getter;
+            this.name = queryParameter.value();
+        }
+
+        private String getValue(Object request) {
+            Object value;
+
+            try {
+                value = this.getter.invokeExact(request);
+            } catch (Throwable t) {
+                throw Exceptions.propagate(t);
+            }
+
+            if (value == null) {
+                return null;
+            } else if (value instanceof Collection) {
+                return ((Collection<?>) value).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(this.delimiter));
+            } else {
+                return value.toString();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import java.util.OptionalLong;
+
+/**
+ * A caller-supplied budget that the requests of Scheduler operations are attributed to.  A budget is placed in the subscriber context under the {@link RequestBudget} class, and every request made
+ * by an operation subscribed within that context is charged to it:
+ * <pre>
+ * RequestBudget budget = RequestBudget.of("list-jobs-and-schedules", 100);
+ *
+ * listJobsAndSchedules()
+ *     .subscriberContext(Context.of(RequestBudget.class, budget))
+ * </pre>
+ * A budget with a maximum number of requests fails each request beyond that maximum with a {@link RequestBudgetExceededException} before it is sent.
+ */
+public final class RequestBudget {
+
+    private final RequestCost cost = new RequestCost();
+
+    private final String key;
+
+    private final long maximumRequests;
+
+    private RequestBudget(String key, long maximumRequests) {
+        this.key = key;
+        this.maximumRequests = maximumRequests;
+    }
+
+    /**
+     * Creates a budget without a maximum number of requests
+     *
+     * @param key the key that requests are attributed to
+     * @return the budget
+     */
+    public static RequestBudget of(String key) {
+        return new RequestBudget(key, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a budget with a maximum number of requests
+     *
+     * @param key             the key that requests are attributed to
+     * @param maximumRequests the maximum number of requests
+     * @return the budget
+     */
+    public static RequestBudget of(String key, long maximumRequests) {
+        if (maximumRequests < 0) {
+            throw new IllegalArgumentException(String.format("Maximum requests %d must not be negative", maximumRequests));
+        }
+
+        return new RequestBudget(key, maximumRequests);
+    }
+
+    /**
+     * Returns the cost of the requests charged to this budget
+     *
+     * @return the cost of the requests charged to this budget
+     */
+    public RequestCost getCost() {
+        return this.cost;
+    }
+
+    /**
+     * Returns the key that requests are attributed to
+     *
+     * @return the key that requests are attributed to
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Returns the maximum number of requests, if the budget has one
+     *
+     * @return the maximum number of requests
+     */
+    public OptionalLong getMaximumRequests() {
+        return this.maximumRequests == Long.MAX_VALUE ? OptionalLong.empty() : OptionalLong.of(this.maximumRequests);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RequestBudget{key=%s, %s}", this.key, this.cost);
+    }
+
+    boolean tryAcquire() {
+        return this.cost.tryAddRequest(this.maximumRequests);
+    }
+
+}
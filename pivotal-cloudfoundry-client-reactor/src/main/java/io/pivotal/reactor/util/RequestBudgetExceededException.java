@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+/**
+ * An exception indicating that a request was not sent because its {@link RequestBudget} has no requests remaining
+ */
+public final class RequestBudgetExceededException extends IllegalStateException {
+
+    private static final long serialVersionUID = -4713326451093617258L;
+
+    private final String key;
+
+    private final long maximumRequests;
+
+    /**
+     * Creates a new instance
+     *
+     * @param key             the key of the exceeded budget
+     * @param maximumRequests the maximum number of requests of the exceeded budget
+     */
+    public RequestBudgetExceededException(String key, long maximumRequests) {
+        super(String.format("Request budget %s of %d requests exceeded", key, maximumRequests));
+        this.key = key;
+        this.maximumRequests = maximumRequests;
+    }
+
+    /**
+     * Returns the key of the exceeded budget
+     *
+     * @return the key of the exceeded budget
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Returns the maximum number of requests of the exceeded budget
+     *
+     * @return the maximum number of requests of the exceeded budget
+     */
+    public long getMaximumRequests() {
+        return this.maximumRequests;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The accumulated cost of the requests attributed to a budget key or operation: the number of requests, the bytes of their response bodies, and their cumulative latency.  Costs are updated
+ * concurrently by the requests they are attributed to, so each value is a point-in-time reading.
+ */
+public final class RequestCost {
+
+    private final LongAdder bytes = new LongAdder();
+
+    private final LongAdder latency = new LongAdder();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Returns the bytes of the response bodies received
+     *
+     * @return the bytes of the response bodies received
+     */
+    public long getBytes() {
+        return this.bytes.sum();
+    }
+
+    /**
+     * Returns the cumulative latency of the requests, each measured from subscription to termination
+     *
+     * @return the cumulative latency of the requests
+     */
+    public Duration getLatency() {
+        return Duration.ofNanos(this.latency.sum());
+    }
+
+    /**
+     * Returns the number of requests made
+     *
+     * @return the number of requests made
+     */
+    public long getRequests() {
+        return this.requests.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RequestCost{requests=%d, bytes=%d, latency=%s}", getRequests(), getBytes(), getLatency());
+    }
+
+    void addBytes(long bytes) {
+        this.bytes.add(bytes);
+    }
+
+    void addLatency(long nanos) {
+        this.latency.add(nanos);
+    }
+
+    void addRequest() {
+        this.requests.incrementAndGet();
+    }
+
+    boolean tryAddRequest(long maximumRequests) {
+        long current;
+
+        do {
+            current = this.requests.get();
+
+            if (current >= maximumRequests) {
+                return false;
+            }
+        } while (!this.requests.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Accounts the cost of the requests made by Scheduler operations.  Each request is attributed to the key of the {@link RequestBudget} in its subscriber context or, if there is none, to the
+ * operation that made it.  {@link #instrument(Mono, String, RequestCostAccounting)} charges the budget in the subscriber context even when no accounting is configured, so that a hard budget is
+ * always enforced.  That check costs one {@code Mono.deferWithContext()} and a context lookup per operation; the decoration that counts latency and bytes is only added to charged operations.  The
+ * {@code RequestCostAccountingBenchmark} measures both against an undecorated operation.
+ */
+public final class RequestCostAccounting {
+
+    private final ConcurrentMap<String, RequestCost> costs = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the bytes of a response body toward the budget and accounting key of the operation that received it.  The subscriber context is looked up once per body, and no counting operator is added
+     * to the body when the operation is not charged.
+     *
+     * @param body the response body
+     * @return the counted response body
+     */
+    public static ByteBufFlux body(ByteBufFlux body) {
+        return ByteBufFlux.fromInbound(Flux.deferWithContext(context -> {
+            Charge charge = context.getOrDefault(Charge.class, null);
+
+            if (charge == null) {
+                return body;
+            }
+
+            return body
+                .doOnNext(byteBuf -> charge.addBytes(byteBuf.readableBytes()));
+        }));
+    }
+
+    /**
+     * Returns the cost attributed to a key
+     *
+     * @param key the budget key or operation name
+     * @return the cost attributed to the key, if any requests have been attributed to it
+     */
+    public Optional<RequestCost> getCost(String key) {
+        return Optional.ofNullable(this.costs.get(key));
+    }
+
+    /**
+     * Returns the costs attributed to each key
+     *
+     * @return a live, unmodifiable view of the costs attributed to each key
+     */
+    public Map<String, RequestCost> getCosts() {
+        return Collections.unmodifiableMap(this.costs);
+    }
+
+    /**
+     * Charges an operation to the budget in its subscriber context and to the accounting key it is attributed to.  If the budget has no requests remaining, the operation fails with a
+     * {@link RequestBudgetExceededException} without making a request.
+     *
+     * @param publisher  the publisher of the operation
+     * @param operation  the name of the operation
+     * @param accounting the accounting to attribute the operation to, or {@code null} to only charge a budget
+     * @param <T>        the type of the operation's result
+     * @return the charged publisher
+     */
+    public static <T> Mono<T> instrument(Mono<T> publisher, String operation, RequestCostAccounting accounting) {
+        return Mono.deferWithContext(context -> {
+            RequestBudget budget = context.getOrDefault(RequestBudget.class, null);
+
+            if (budget == null && accounting == null) {
+                return publisher;
+            }
+
+            if (budget != null && !budget.tryAcquire()) {
+                return Mono.<T>error(new RequestBudgetExceededException(budget.getKey(), budget.getMaximumRequests().orElse(Long.MAX_VALUE)));
+            }
+
+            RequestCost accounted = null;
+
+            if (accounting != null) {
+                accounted = accounting.costs.computeIfAbsent(budget != null ? budget.getKey() : operation, key -> new RequestCost());
+                accounted.addRequest();
+            }
+
+            Charge charge = new Charge(accounted, budget != null ? budget.getCost() : null);
+
+            return publisher
+                .doFinally(signalType -> charge.addLatency())
+                .subscriberContext(c -> c.put(Charge.class, charge));
+        });
+    }
+
+    private static final class Charge {
+
+        private final RequestCost accounted;
+
+        private final RequestCost budgeted;
+
+        private final long start = System.nanoTime();
+
+        private Charge(RequestCost accounted, RequestCost budgeted) {
+            this.accounted = accounted;
+            this.budgeted = budgeted;
+        }
+
+        private void addBytes(long bytes) {
+            if (this.accounted != null) {
+                this.accounted.addBytes(bytes);
+            }
+
+            if (this.budgeted != null) {
+                this.budgeted.addBytes(bytes);
+            }
+        }
+
+        private void addLatency() {
+            long latency = System.nanoTime() - this.start;
+
+            if (this.accounted != null) {
+                this.accounted.addLatency(latency);
+            }
+
+            if (this.budgeted != null) {
+                this.budgeted.addLatency(latency);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.reactivestreams.Publisher;
+import org.springframework.core.annotation.AnnotationUtils;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.NettyOutbound;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * A bounded, least-recently-used cache of serialized request payloads.  Request types are immutable, so a request that is equal to one that has already been sent is written from a shared,
+ * read-only {@link ByteBuf} instead of being serialized again.  Payloads are serialized outside of the cache's lock, so concurrent misses do not block each other or hits.  Evicted payloads are
+ * released back to the pool once any in-flight writes of them complete.  The owner of a cache must call {@link #dispose()} to release the cached payloads once it is no longer used.
+ */
+public final class RequestPayloadCache {
+
+    private static final ClassValue<Boolean> SERIALIZABLE = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return AnnotationUtils.findAnnotation(type, JsonSerialize.class) != null;
+        }
+
+    };
+
+    private final Map<Object, ByteBuf> entries;
+
+    private final ObjectMapper objectMapper;
+
+    private boolean disposed;
+
+    /**
+     * Creates a new instance
+     *
+     * @param objectMapper the {@link ObjectMapper} to serialize payloads with
+     * @param maximumSize  the maximum number of payloads to cache
+     */
+    public RequestPayloadCache(ObjectMapper objectMapper, int maximumSize) {
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<Object, ByteBuf>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 4006390758069618717L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, ByteBuf> eldest) {
+                if (size() > maximumSize) {
+                    eldest.getValue().release();
+                    return true;
+                }
+
+                return false;
+            }
+
+        };
+    }
+
+    /**
+     * Returns whether a payload has a serialized form.  Only types annotated with {@link JsonSerialize} are sent with a body.
+     *
+     * @param payload the payload
+     * @return {@code true} if the payload has a serialized form, {@code false} otherwise
+     */
+    public static boolean isSerializable(Object payload) {
+        return SERIALIZABLE.get(payload.getClass());
+    }
+
+    /**
+     * Releases all cached payloads
+     */
+    public synchronized void clear() {
+        this.entries.values().forEach(ByteBuf::release);
+        this.entries.clear();
+    }
+
+    /**
+     * Releases all cached payloads and stops caching.  Payloads sent after disposal are serialized for each request.
+     */
+    public synchronized void dispose() {
+        this.disposed = true;
+        clear();
+    }
+
+    /**
+     * Returns a function that sends the serialized form of a payload
+     *
+     * @param payload the payload to send
+     * @return a function that sends the serialized form of the payload
+     */
+    public BiFunction<HttpClientRequest, NettyOutbound, Publisher<Void>> send(Object payload) {
+        return (request, outbound) -> {
+            ByteBuf buffer = get(payload);
+
+            request
+                .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(buffer.readableBytes()));
+
+            return outbound.send(Mono.just(buffer));
+        };
+    }
+
+    /**
+     * Returns the number of cached payloads
+     *
+     * @return the number of cached payloads
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the serialized form of a payload, which the caller must release
+     *
+     * @param payload the payload
+     * @return the serialized form of the payload
+     */
+    ByteBuf get(Object payload) {
+        ByteBuf cached = retainCached(payload);
+        if (cached != null) {
+            return cached;
+        }
+
+        ByteBuf buffer = serialize(payload);
+
+        synchronized (this) {
+            if (this.disposed) {
+                return buffer;
+            }
+
+            ByteBuf existing = this.entries.get(payload);
+            if (existing != null) {
+                buffer.release();
+                return existing.retainedDuplicate();
+            }
+
+            ByteBuf duplicate = buffer.retainedDuplicate();
+            this.entries.put(payload, buffer);
+            return duplicate;
+        }
+    }
+
+    private synchronized ByteBuf retainCached(Object payload) {
+        ByteBuf buffer = this.entries.get(payload);
+        return buffer != null ? buffer.retainedDuplicate() : null;
+    }
+
+    private ByteBuf serialize(Object payload) {
+        byte[] bytes;
+
+        try {
+            bytes = this.objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw Exceptions.propagate(e);
+        }
+
+        return PooledByteBufAllocator.DEFAULT.directBuffer(bytes.length)
+            .writeBytes(bytes)
+            .asReadOnly();
+    }
+
+}
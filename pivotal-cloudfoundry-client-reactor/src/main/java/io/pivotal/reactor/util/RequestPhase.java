@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+/**
+ * The phases of a Scheduler request reported to a {@link RequestTimingListener}.  Phases are reported in order, and each phase is timed from the end of the previous one.  Phases that a request
+ * does not go through, such as {@link #CONNECT} on a pooled connection, are not reported.
+ */
+public enum RequestPhase {
+
+    /**
+     * Resolving the root of the Scheduler API
+     */
+    ROOT,
+
+    /**
+     * Acquiring a token from the {@link org.cloudfoundry.reactor.TokenProvider}
+     */
+    TOKEN,
+
+    /**
+     * Acquiring a connection from the pool and, for a new connection, establishing it.  Only reported for requests that open a new connection on a client with a dedicated transport.
+     */
+    CONNECT,
+
+    /**
+     * The TLS handshake of a new connection.  Only reported for requests that open a new secure connection on a client with a dedicated transport.
+     */
+    TLS,
+
+    /**
+     * Sending the request and waiting for the response status and headers.  For requests that do not report {@link #CONNECT}, this includes acquiring a pooled connection and, for a new
+     * connection, connecting and the TLS handshake.
+     */
+    FIRST_BYTE,
+
+    /**
+     * Reading the response body
+     */
+    BODY,
+
+    /**
+     * Decoding the response body
+     */
+    DECODE
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+/**
+ * A listener notified of the duration of each phase of each Scheduler request.  Listeners are called on the thread that completes the phase, often a Netty event loop, so implementations must not
+ * block.  Timings are reported as primitives so that an implementation which does not allocate adds no garbage per request.
+ */
+@FunctionalInterface
+public interface RequestTimingListener {
+
+    /**
+     * Called when a phase of a request completes
+     *
+     * @param operation the name of the operation making the request, for example {@code jobs.get}
+     * @param phase     the phase that completed
+     * @param duration  the duration of the phase in nanoseconds
+     */
+    void onPhase(String operation, RequestPhase phase, long duration);
+
+}
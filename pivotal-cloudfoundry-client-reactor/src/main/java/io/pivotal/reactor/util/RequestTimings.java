@@ -0,0 +1,259 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AttributeKey;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.Connection;
+import reactor.netty.channel.BootstrapHandlers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+
+/**
+ * A utility class to report the phases of Scheduler requests to a {@link RequestTimingListener}.  {@link #instrument(Mono, String, RequestTimingListener)} places the timing state of a request in
+ * its subscriber context, and the other functions mark the end of each phase as it is observed.  Those functions do nothing for requests that are not instrumented.
+ */
+public final class RequestTimings {
+
+    private static final AttributeKey<NewConnection> NEW_CONNECTION = AttributeKey.valueOf("scheduler.newConnection");
+
+    private static final String NEW_CONNECTION_HANDLER = "scheduler.newConnectionTiming";
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Marks the end of the {@link RequestPhase#BODY} phase when a response body completes
+     *
+     * @param body the response body
+     * @return the marked response body
+     */
+    public static ByteBufFlux body(ByteBufFlux body) {
+        return ByteBufFlux.fromInbound(body
+            .doOnEach(signal -> {
+                if (signal.isOnComplete()) {
+                    mark(signal, RequestPhase.BODY);
+                }
+            }));
+    }
+
+    /**
+     * Marks the end of the {@link RequestPhase#CONNECT} and {@link RequestPhase#TLS} phases of requests that open a new connection.  The time a connection is established, and the time its TLS
+     * handshake completes, are recorded on the channel by a handler at the head of its pipeline, and reported by the first request made on it.
+     *
+     * @param httpClient the {@link HttpClient} to instrument
+     * @return the instrumented {@link HttpClient}
+     */
+    public static HttpClient connections(HttpClient httpClient) {
+        return httpClient
+            .tcpConfiguration(tcpClient -> tcpClient
+                .bootstrap(bootstrap -> BootstrapHandlers.updateConfiguration(bootstrap, NEW_CONNECTION_HANDLER,
+                    (observer, channel) -> channel.pipeline().addFirst(NEW_CONNECTION_HANDLER, new NewConnectionHandler()))))
+            .doOnRequest(RequestTimings::markConnection);
+    }
+
+    /**
+     * Marks the end of the {@link RequestPhase#DECODE} phase when a response body has been decoded
+     *
+     * @param decoded the decoded response
+     * @param <T>     the type of the response
+     * @return the marked decoded response
+     */
+    public static <T> Mono<T> decode(Mono<T> decoded) {
+        return decoded
+            .doOnEach(signal -> {
+                if (signal.isOnNext()) {
+                    mark(signal, RequestPhase.DECODE);
+                }
+            });
+    }
+
+    /**
+     * Marks the end of the {@link RequestPhase#FIRST_BYTE} phase when a response is received
+     *
+     * @param errorPayloadMapper the {@link ErrorPayloadMapper} to delegate to
+     * @return the marking error payload mapper
+     */
+    public static ErrorPayloadMapper firstByte(ErrorPayloadMapper errorPayloadMapper) {
+        return inbound -> errorPayloadMapper.apply(inbound
+            .doOnEach(signal -> {
+                if (signal.isOnNext()) {
+                    mark(signal, RequestPhase.FIRST_BYTE);
+                }
+            }));
+    }
+
+    /**
+     * Reports the phases of the requests made by an operation
+     *
+     * @param publisher the publisher of the operation
+     * @param operation the name of the operation
+     * @param listener  the listener to report to
+     * @param <T>       the type of the operation's result
+     * @return the instrumented publisher
+     */
+    public static <T> Mono<T> instrument(Mono<T> publisher, String operation, RequestTimingListener listener) {
+        return publisher
+            .subscriberContext(context -> context.put(Timing.class, new Timing(listener, operation)));
+    }
+
+    /**
+     * Marks the end of the {@link RequestPhase#ROOT} phase when the root is resolved
+     *
+     * @param root the root
+     * @return the marked root
+     */
+    public static Mono<String> root(Mono<String> root) {
+        return root
+            .doOnEach(signal -> {
+                if (signal.isOnNext()) {
+                    mark(signal, RequestPhase.ROOT);
+                }
+            });
+    }
+
+    /**
+     * Marks the end of the {@link RequestPhase#TOKEN} phase when a token is acquired
+     *
+     * @param tokenProvider the {@link TokenProvider} to delegate to
+     * @return the marking token provider
+     */
+    public static TokenProvider tokenProvider(TokenProvider tokenProvider) {
+        return new TimedTokenProvider(tokenProvider);
+    }
+
+    private static void mark(Signal<?> signal, RequestPhase phase) {
+        Timing timing = signal.getContext().getOrDefault(Timing.class, null);
+
+        if (timing != null) {
+            timing.mark(phase);
+        }
+    }
+
+    private static void markConnection(HttpClientRequest request, Connection connection) {
+        Channel channel = connection.channel().parent() != null ? connection.channel().parent() : connection.channel();
+        NewConnection newConnection = channel.attr(NEW_CONNECTION).getAndSet(null);
+
+        if (newConnection == null) {
+            return;
+        }
+
+        Timing timing = request.currentContext().getOrDefault(Timing.class, null);
+
+        if (timing != null) {
+            timing.mark(RequestPhase.CONNECT, newConnection.connected);
+
+            if (newConnection.secured != 0) {
+                timing.mark(RequestPhase.TLS, newConnection.secured);
+            }
+        }
+    }
+
+    private static final class NewConnection {
+
+        private final long connected;
+
+        private volatile long secured;
+
+        private NewConnection(long connected) {
+            this.connected = connected;
+        }
+
+    }
+
+    private static final class NewConnectionHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            NewConnection newConnection = new NewConnection(System.nanoTime());
+            ctx.channel().attr(NEW_CONNECTION).set(newConnection);
+
+            SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+            if (sslHandler != null) {
+                sslHandler.handshakeFuture().addListener(future -> {
+                    if (future.isSuccess()) {
+                        newConnection.secured = System.nanoTime();
+                    }
+                });
+            }
+
+            ctx.pipeline().remove(this);
+            super.channelActive(ctx);
+        }
+
+    }
+
+    private static final class TimedTokenProvider implements TokenProvider {
+
+        private final TokenProvider delegate;
+
+        private TimedTokenProvider(TokenProvider delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Mono<String> getToken(ConnectionContext connectionContext) {
+            return this.delegate.getToken(connectionContext)
+                .doOnEach(signal -> {
+                    if (signal.isOnNext()) {
+                        mark(signal, RequestPhase.TOKEN);
+                    }
+                });
+        }
+
+        @Override
+        public void invalidate(ConnectionContext connectionContext) {
+            this.delegate.invalidate(connectionContext);
+        }
+
+    }
+
+    private static final class Timing {
+
+        private final RequestTimingListener listener;
+
+        private final String operation;
+
+        private long mark = System.nanoTime();
+
+        private Timing(RequestTimingListener listener, String operation) {
+            this.listener = listener;
+            this.operation = operation;
+        }
+
+        private void mark(RequestPhase phase) {
+            mark(phase, System.nanoTime());
+        }
+
+        private void mark(RequestPhase phase, long at) {
+            long end = Math.max(at, this.mark);
+            this.listener.onPhase(this.operation, phase, end - this.mark);
+            this.mark = end;
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event spanning the request of a single page by {@link PaginationUtils}
+ */
+@Category({"Cloud Foundry", "Scheduler"})
+@Description("A page requested while paginating a Scheduler resource")
+@Label("Scheduler Page")
+@Name("io.pivotal.scheduler.Page")
+@StackTrace(false)
+final class SchedulerPageEvent extends Event {
+
+    @Label("Page")
+    int page;
+
+    @Label("Resources")
+    int resources;
+
+    @Label("Total Pages")
+    int totalPages;
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event spanning a Scheduler operation, from subscription to termination
+ */
+@Category({"Cloud Foundry", "Scheduler"})
+@Description("A request made by a Scheduler client operation")
+@Label("Scheduler Request")
+@Name("io.pivotal.scheduler.Request")
+@StackTrace(false)
+final class SchedulerRequestEvent extends Event {
+
+    @DataAmount
+    @Label("Bytes Received")
+    long bytes;
+
+    @Label("Decode Time")
+    @Timespan
+    long decodeTime;
+
+    @Label("Method")
+    String method;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Page")
+    int page;
+
+    @Label("Status")
+    int status;
+
+    @Description("The template of the request URI, without the identifiers of the resources requested")
+    @Label("URI Template")
+    String uriTemplate;
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A utility class to initialize the Jackson serializers and deserializers of an API ahead of its first use.  The request and response types are discovered from the methods of the API's
+ * operations interfaces, so new operations are primed without being listed here.
+ */
+public final class SerializationWarmup {
+
+    private SerializationWarmup() {
+    }
+
+    /**
+     * Returns the request and response types of operations interfaces.  Request types are the parameter types of each method and response types are the type arguments of each method's return
+     * type.  JDK types are excluded.
+     *
+     * @param operationsTypes the operations interfaces
+     * @return the request and response types
+     */
+    public static Set<Class<?>> getTypes(Class<?>... operationsTypes) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+
+        Arrays.stream(operationsTypes)
+            .flatMap(operationsType -> Arrays.stream(operationsType.getMethods()))
+            .forEach(method -> addTypes(types, method));
+
+        return types;
+    }
+
+    /**
+     * Creates the root serializer and deserializer of every request and response type of operations interfaces
+     *
+     * @param objectMapper    the {@link ObjectMapper} to prime
+     * @param operationsTypes the operations interfaces
+     */
+    public static void prime(ObjectMapper objectMapper, Class<?>... operationsTypes) {
+        getTypes(operationsTypes).forEach(type -> {
+            objectMapper.readerFor(type);
+            objectMapper.writerFor(type);
+        });
+    }
+
+    private static void addType(Set<Class<?>> types, Type type) {
+        if (type instanceof Class && !((Class<?>) type).isPrimitive() && !((Class<?>) type).getName().startsWith("java.")) {
+            types.add((Class<?>) type);
+        }
+    }
+
+    private static void addTypes(Set<Class<?>> types, Method method) {
+        Arrays.stream(method.getParameterTypes())
+            .forEach(parameterType -> addType(types, parameterType));
+
+        Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType) {
+            Arrays.stream(((ParameterizedType) returnType).getActualTypeArguments())
+                .forEach(argument -> addType(types, argument));
+        }
+    }
+
+}
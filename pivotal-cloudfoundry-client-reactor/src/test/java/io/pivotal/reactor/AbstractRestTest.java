@@ -20,6 +20,8 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import io.pivotal.test.fault.FaultInjectingDispatcher;
+import io.pivotal.test.fault.FaultInjector;
 import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -34,9 +36,10 @@ import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
@@ -79,10 +82,18 @@ public abstract class AbstractRestTest {
         this.multipleRequestDispatcher.verify();
     }
 
+    protected final void injectFaults(FaultInjector faultInjector) {
+        this.mockWebServer.setDispatcher(new FaultInjectingDispatcher(this.multipleRequestDispatcher, faultInjector));
+    }
+
     protected final void mockRequest(InteractionContext interactionContext) {
         this.multipleRequestDispatcher.add(interactionContext);
     }
 
+    protected final RecordedRequest takeRequest() throws InterruptedException {
+        return this.mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+    }
+
     private static final class FailingDeserializationProblemHandler extends DeserializationProblemHandler {
 
         @Override
@@ -95,7 +106,7 @@ public abstract class AbstractRestTest {
 
     private static final class MultipleRequestDispatcher extends Dispatcher {
 
-        private Queue<InteractionContext> responses = new LinkedList<>();
+        private Queue<InteractionContext> responses = new ConcurrentLinkedQueue<>();
 
         private List<InteractionContext> verifications = new ArrayList<>();
 
@@ -19,13 +19,18 @@ package io.pivotal.reactor;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import okhttp3.mockwebserver.MockResponse;
 import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
 import org.cloudfoundry.AllowNulls;
 import org.immutables.value.Value;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Value.Immutable
 abstract class _TestResponse {
@@ -34,6 +39,13 @@ abstract class _TestResponse {
 
     abstract Optional<String> getContentType();
 
+    abstract Optional<Duration> getDelay();
+
+    @Value.Default
+    boolean getGzip() {
+        return false;
+    }
+
     @AllowNulls
     abstract Map<String, String> getHeaders();
 
@@ -41,9 +53,15 @@ abstract class _TestResponse {
         MockResponse response = new MockResponse().setResponseCode(getStatus().code());
 
         getHeaders().forEach(response::addHeader);
+        getDelay().ifPresent(delay -> response.setHeadersDelay(delay.toMillis(), TimeUnit.MILLISECONDS));
+
+        if (getGzip()) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
 
         getPayload()
             .map(_TestResponse::getBuffer)
+            .map(this::encode)
             .ifPresent(buffer -> response
                 .setHeader("Content-Type", getContentType().orElse("application/json"))
                 .setChunkedBody(buffer, MAX_CHUNK_SIZE));
@@ -63,4 +81,20 @@ abstract class _TestResponse {
         }
     }
 
+    private Buffer encode(Buffer buffer) {
+        if (!getGzip()) {
+            return buffer;
+        }
+
+        Buffer encoded = new Buffer();
+
+        try (BufferedSink sink = Okio.buffer(new GzipSink(encoded))) {
+            sink.writeAll(buffer);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return encoded;
+    }
+
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.scheduler;
+
+import io.pivotal.reactor.InteractionContext;
+import io.pivotal.reactor.TestRequest;
+import io.pivotal.reactor.TestResponse;
+import io.pivotal.scheduler.v1.jobs.GetJobRequest;
+import io.pivotal.scheduler.v1.jobs.GetJobResponse;
+import io.pivotal.test.fault.FaultInjector;
+import io.pivotal.test.fault.FaultProfile;
+import io.pivotal.test.fault.FaultType;
+import io.pivotal.test.fault.LatencyDistribution;
+import io.pivotal.test.scheduler.FakeSchedulerServer;
+import io.pivotal.test.scheduler.SchedulerStore;
+import org.cloudfoundry.AbstractCloudFoundryException;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.channel.AbortedException;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts that every request of the client, with the timeout and retries below, succeeds under each fault profile.  Requests are made against a {@link FakeSchedulerServer} that injects the
+ * faults, except for {@link #mockWebServer()}, which checks that faults can be injected in front of the mocked interactions of a {@code MockWebServer}.  The throughput and tail latency of the
+ * client are also asserted when the {@code performanceTests} system property is {@code true}, as it is in the {@code performance-test} profile, since their bounds depend on the speed of the
+ * machine.  Without it, only the latency that the timeout and retries allow a request is asserted.
+ */
+public final class FaultInjectionTest extends AbstractSchedulerApiTest {
+
+    private static final int CONCURRENCY = 16;
+
+    private static final int MAXIMUM_RETRIES = 5;
+
+    private static final Duration MINIMUM_BACKOFF = Duration.ofMillis(10);
+
+    private static final boolean PERFORMANCE_TESTS = Boolean.getBoolean("performanceTests");
+
+    private static final int REQUESTS = 400;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+    @Test
+    public void connectionResets() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .connectionResetProbability(0.05)
+            .build(), 0);
+
+        assertBounds(measure(faultInjector), 50, Duration.ofMillis(500));
+        assertThat(faultInjector.getCount(FaultType.CONNECTION_RESET)).isGreaterThan(0);
+    }
+
+    @Test
+    public void degraded() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .connectionResetProbability(0.02)
+            .errorBurstLength(3)
+            .errorBurstProbability(0.02)
+            .latency(LatencyDistribution.exponential(Duration.ofMillis(5)))
+            .malformedErrorProbability(0.02)
+            .slowBodyChunkDelay(Duration.ofMillis(5))
+            .slowBodyProbability(0.05)
+            .build(), 0);
+
+        assertBounds(measure(faultInjector), 25, TIMEOUT.multipliedBy(2));
+    }
+
+    @Test
+    public void latency() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .latency(LatencyDistribution.logNormal(Duration.ofMillis(5), 0.5))
+            .build(), 0);
+
+        assertBounds(measure(faultInjector), 100, Duration.ofMillis(250));
+    }
+
+    @Test
+    public void malformedErrors() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .malformedErrorProbability(0.05)
+            .build(), 0);
+
+        assertBounds(measure(faultInjector), 50, Duration.ofMillis(500));
+        assertThat(faultInjector.getCount(FaultType.MALFORMED_ERROR)).isGreaterThan(0);
+    }
+
+    @Test
+    public void mockWebServer() {
+        injectFaults(new FaultInjector(FaultProfile.builder()
+            .errorBurstProbability(0.25)
+            .build(), 0));
+
+        for (int i = 0; i < 20; i++) {
+            mockRequest(InteractionContext.builder()
+                .request(TestRequest.builder()
+                    .method(GET).path("/jobs/test-job-id")
+                    .build())
+                .response(TestResponse.builder()
+                    .status(OK)
+                    .payload("fixtures/scheduler/v1/jobs/GET_{id}_response.json")
+                    .build())
+                .build());
+        }
+
+        ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+            .connectionContext(CONNECTION_CONTEXT)
+            .root(this.root)
+            .tokenProvider(TOKEN_PROVIDER)
+            .build();
+
+        Flux.range(0, 20)
+            .concatMap(i -> get(client, "test-job-id"))
+            .map(GetJobResponse::getId)
+            .as(StepVerifier::create)
+            .expectNextCount(20)
+            .expectComplete()
+            .verify(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void none() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .build(), 0);
+
+        assertBounds(measure(faultInjector), 100, Duration.ofMillis(200));
+    }
+
+    @Test
+    public void serviceUnavailableBursts() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .errorBurstLength(3)
+            .errorBurstProbability(0.05)
+            .errorBurstStatus(503)
+            .build(), 0);
+
+        assertBounds(measure(faultInjector), 50, Duration.ofMillis(500));
+        assertThat(faultInjector.getCount(FaultType.ERROR_BURST)).isGreaterThan(0);
+    }
+
+    @Test
+    public void slowBodies() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .slowBodyChunkDelay(Duration.ofMillis(5))
+            .slowBodyProbability(0.1)
+            .build(), 0);
+
+        assertBounds(measure(faultInjector), 50, Duration.ofMillis(500));
+        assertThat(faultInjector.getCount(FaultType.SLOW_BODY)).isGreaterThan(0);
+    }
+
+    @Test
+    public void tooManyRequestsBursts() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .errorBurstLength(8)
+            .errorBurstProbability(0.01)
+            .errorBurstRetryAfter(Duration.ofSeconds(1))
+            .errorBurstStatus(429)
+            .build(), 0);
+
+        assertBounds(measure(faultInjector), 50, Duration.ofMillis(500));
+        assertThat(faultInjector.getCount(FaultType.ERROR_BURST)).isGreaterThan(0);
+    }
+
+    private static void assertBounds(Measurement measurement, double minimumThroughput, Duration maximumP99) {
+        // Every attempt timing out, separated by backoffs that double from the minimum with up to 50% jitter
+        assertThat(measurement.getMaximum())
+            .as("maximum latency")
+            .isLessThanOrEqualTo(TIMEOUT.multipliedBy(MAXIMUM_RETRIES + 1).plus(MINIMUM_BACKOFF.multipliedBy(1L << (MAXIMUM_RETRIES + 1))));
+
+        if (!PERFORMANCE_TESTS) {
+            return;
+        }
+
+        assertThat(measurement.getThroughput())
+            .as("throughput in requests per second")
+            .isGreaterThanOrEqualTo(minimumThroughput);
+
+        assertThat(measurement.getP99())
+            .as("99th percentile latency")
+            .isLessThanOrEqualTo(maximumP99);
+    }
+
+    private static Mono<GetJobResponse> get(ReactorSchedulerClient client, String jobId) {
+        return client.jobs()
+            .get(GetJobRequest.builder()
+                .jobId(jobId)
+                .build())
+            .timeout(TIMEOUT)
+            .retryWhen(Retry.backoff(MAXIMUM_RETRIES, MINIMUM_BACKOFF)
+                .filter(FaultInjectionTest::isRetryable));
+    }
+
+    private static boolean isRetryable(Throwable t) {
+        if (t instanceof AbstractCloudFoundryException) {
+            int statusCode = ((AbstractCloudFoundryException) t).getStatusCode();
+            return statusCode == 429 || statusCode >= 500;
+        }
+
+        return t instanceof AbortedException || t instanceof IOException || t instanceof TimeoutException;
+    }
+
+    private static Measurement measure(FaultInjector faultInjector) {
+        SchedulerStore store = new SchedulerStore();
+        String jobId = store.createJob("test-application-id", "test-name", "test-command").getId();
+
+        FakeSchedulerServer server = FakeSchedulerServer.builder()
+            .faultInjector(faultInjector)
+            .store(store)
+            .build();
+
+        ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+            .connectionContext(CONNECTION_CONTEXT)
+            .root(Mono.just(server.getRoot()))
+            .tokenProvider(TOKEN_PROVIDER)
+            .transportConfiguration(TransportConfiguration.builder()
+                .maximumConnections(CONCURRENCY)
+                .build())
+            .build();
+
+        try {
+            Flux.range(0, CONCURRENCY)
+                .flatMap(i -> get(client, jobId))
+                .blockLast(Duration.ofSeconds(30));
+
+            long start = System.nanoTime();
+
+            long[] latencies = Flux.range(0, REQUESTS)
+                .flatMap(i -> Mono.defer(() -> {
+                    long requestStart = System.nanoTime();
+
+                    return get(client, jobId)
+                        .map(response -> System.nanoTime() - requestStart);
+                }), CONCURRENCY)
+                .collectList()
+                .map(list -> list.stream().mapToLong(Long::longValue).sorted().toArray())
+                .block(Duration.ofSeconds(60));
+
+            return new Measurement(latencies, System.nanoTime() - start);
+        } finally {
+            client.dispose();
+            server.dispose();
+        }
+    }
+
+    private static final class Measurement {
+
+        private final long elapsed;
+
+        private final long[] latencies;
+
+        private Measurement(long[] latencies, long elapsed) {
+            this.elapsed = elapsed;
+            this.latencies = latencies;
+        }
+
+        private Duration getMaximum() {
+            return Duration.ofNanos(this.latencies[this.latencies.length - 1]);
+        }
+
+        private Duration getP99() {
+            return Duration.ofNanos(this.latencies[(int) Math.ceil(this.latencies.length * 0.99) - 1]);
+        }
+
+        private double getThroughput() {
+            return this.latencies.length / (this.elapsed / 1e9);
+        }
+
+    }
+
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.scheduler;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.pivotal.reactor.InteractionContext;
+import io.pivotal.reactor.TestRequest;
+import io.pivotal.reactor.TestResponse;
+import io.pivotal.reactor.util.PaginationUtils;
+import io.pivotal.reactor.util.RequestPhase;
+import io.pivotal.scheduler.v1.jobs.GetJobRequest;
+import io.pivotal.scheduler.v1.jobs.GetJobResponse;
+import io.pivotal.scheduler.v1.jobs.ListJobHistoriesRequest;
+import io.pivotal.test.scheduler.FakeSchedulerServer;
+import io.pivotal.test.scheduler.SchedulerStore;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+public final class ReactorSchedulerClientTest extends AbstractSchedulerApiTest {
+
+    @Test
+    public void compression() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .header("Accept-Encoding", "gzip")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .gzip(true)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_response.json")
+                .build())
+            .build());
+
+        ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+            .connectionContext(CONNECTION_CONTEXT)
+            .root(this.root)
+            .tokenProvider(TOKEN_PROVIDER)
+            .transportConfiguration(TransportConfiguration.builder()
+                .compression(true)
+                .build())
+            .build();
+
+        try {
+            client.jobs()
+                .get(GetJobRequest.builder()
+                    .jobId("test-job-id")
+                    .build())
+                .map(GetJobResponse::getId)
+                .as(StepVerifier::create)
+                .expectNext("test-job-id")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        } finally {
+            client.dispose();
+        }
+    }
+
+    @Test
+    public void connectionTimings() {
+        for (int i = 0; i < 2; i++) {
+            mockRequest(InteractionContext.builder()
+                .request(TestRequest.builder()
+                    .method(GET).path("/jobs/test-job-id")
+                    .build())
+                .response(TestResponse.builder()
+                    .status(OK)
+                    .payload("fixtures/scheduler/v1/jobs/GET_{id}_response.json")
+                    .build())
+                .build());
+        }
+
+        List<RequestPhase> phases = new CopyOnWriteArrayList<>();
+
+        ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+            .connectionContext(CONNECTION_CONTEXT)
+            .requestTimingListener((operation, phase, duration) -> phases.add(phase))
+            .root(this.root)
+            .tokenProvider(TOKEN_PROVIDER)
+            .transportConfiguration(TransportConfiguration.builder()
+                .maximumConnections(1)
+                .build())
+            .build();
+
+        try {
+            GetJobRequest request = GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build();
+
+            client.jobs()
+                .get(request)
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+            assertThat(phases)
+                .containsSubsequence(RequestPhase.TOKEN, RequestPhase.CONNECT, RequestPhase.FIRST_BYTE, RequestPhase.BODY, RequestPhase.DECODE)
+                .doesNotContain(RequestPhase.TLS);
+
+            phases.clear();
+
+            client.jobs()
+                .get(request)
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+            // cf-java-client closes a connection once its response has been read, so each request opens, and reports, its own
+            assertThat(phases)
+                .containsSubsequence(RequestPhase.TOKEN, RequestPhase.CONNECT, RequestPhase.FIRST_BYTE, RequestPhase.BODY, RequestPhase.DECODE)
+                .doesNotContain(RequestPhase.TLS)
+                .containsOnlyOnce(RequestPhase.CONNECT);
+        } finally {
+            client.dispose();
+        }
+    }
+
+    @Test
+    public void dedicatedTransport() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_response.json")
+                .build())
+            .build());
+
+        ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+            .connectionContext(CONNECTION_CONTEXT)
+            .root(this.root)
+            .tokenProvider(TOKEN_PROVIDER)
+            .transportConfiguration(TransportConfiguration.builder()
+                .maximumConnections(2)
+                .maximumIdleTime(Duration.ofSeconds(30))
+                .build())
+            .build();
+
+        try {
+            client.jobs()
+                .get(GetJobRequest.builder()
+                    .jobId("test-job-id")
+                    .build())
+                .map(GetJobResponse::getId)
+                .as(StepVerifier::create)
+                .expectNext("test-job-id")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        } finally {
+            client.dispose();
+        }
+    }
+
+    @Test
+    public void dedicatedTransportRequiresDefaultConnectionContext() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> ReactorSchedulerClient.builder()
+                .connectionContext(mock(ConnectionContext.class))
+                .root(this.root)
+                .tokenProvider(TOKEN_PROVIDER)
+                .transportConfiguration(TransportConfiguration.builder()
+                    .build())
+                .build());
+    }
+
+    @Test
+    public void h2c() {
+        SchedulerStore store = new SchedulerStore();
+        String jobId = store.createJob("test-application-id", "test-name", "test-command").getId();
+        store.addJobHistories(jobId, 3 * store.getPageSize());
+
+        FakeSchedulerServer server = FakeSchedulerServer.builder()
+            .protocol(HttpProtocol.HTTP11)
+            .protocol(HttpProtocol.H2C)
+            .store(store)
+            .build();
+
+        ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+            .connectionContext(CONNECTION_CONTEXT)
+            .root(Mono.just(server.getRoot()))
+            .tokenProvider(TOKEN_PROVIDER)
+            .transportConfiguration(TransportConfiguration.builder()
+                .protocol(HttpProtocol.HTTP11)
+                .protocol(HttpProtocol.H2C)
+                .build())
+            .build();
+
+        try {
+            Flux.range(0, 8)
+                .flatMap(i -> client.jobs()
+                    .get(GetJobRequest.builder()
+                        .jobId(jobId)
+                        .build()))
+                .map(GetJobResponse::getId)
+                .as(StepVerifier::create)
+                .expectNextCount(8)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+            PaginationUtils
+                .requestResources(page -> client.jobs()
+                    .listHistories(ListJobHistoriesRequest.builder()
+                        .jobId(jobId)
+                        .page(page)
+                        .build()))
+                .as(StepVerifier::create)
+                .expectNextCount(3L * store.getPageSize())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        } finally {
+            client.dispose();
+            server.dispose();
+        }
+    }
+
+    @Test
+    public void scanTraced() {
+        SchedulerStore store = new SchedulerStore();
+        String jobId = store.createJob("test-application-id", "test-name", "test-command").getId();
+        store.addJobHistories(jobId, 2 * store.getPageSize() + 1);
+
+        FakeSchedulerServer server = FakeSchedulerServer.builder()
+            .store(store)
+            .build();
+
+        InMemorySpanExporter exporter = InMemorySpanExporter.create();
+        ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+            .connectionContext(CONNECTION_CONTEXT)
+            .openTelemetry(OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                    .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                    .build())
+                .build())
+            .root(Mono.just(server.getRoot()))
+            .tokenProvider(TOKEN_PROVIDER)
+            .build();
+
+        try {
+            PaginationUtils
+                .requestResources(page -> client.jobs()
+                    .listHistories(ListJobHistoriesRequest.builder()
+                        .jobId(jobId)
+                        .page(page)
+                        .build()))
+                .as(StepVerifier::create)
+                .expectNextCount(2L * store.getPageSize() + 1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        } finally {
+            server.dispose();
+        }
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+
+        assertThat(spans)
+            .filteredOn(span -> span.getName().equals("jobs.listHistories.scan"))
+            .hasSize(1)
+            .allSatisfy(scan -> {
+                assertThat(scan.getKind()).isEqualTo(SpanKind.INTERNAL);
+                assertThat(scan.getAttributes().get(AttributeKey.longKey("scheduler.pages"))).isEqualTo(3L);
+
+                assertThat(spans)
+                    .filteredOn(span -> span.getName().equals("jobs.listHistories"))
+                    .hasSize(3)
+                    .allSatisfy(span -> {
+                        assertThat(span.getKind()).isEqualTo(SpanKind.CLIENT);
+                        assertThat(span.getParentSpanId()).isEqualTo(scan.getSpanId());
+                        assertThat(span.getTraceId()).isEqualTo(scan.getTraceId());
+                    })
+                    .extracting(span -> span.getAttributes().get(AttributeKey.longKey("scheduler.page")))
+                    .containsExactlyInAnyOrder(1L, 2L, 3L);
+            });
+    }
+
+    @Test
+    public void warmup() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            mockRequest(InteractionContext.builder()
+                .request(TestRequest.builder()
+                    .method(GET).path("/")
+                    .build())
+                .response(TestResponse.builder()
+                    .status(OK)
+                    .delay(Duration.ofMillis(200))
+                    .build())
+                .build());
+        }
+
+        List<ConnectionContext> tokenRequests = new CopyOnWriteArrayList<>();
+
+        ReactorSchedulerClient client = ReactorSchedulerClient.builder()
+            .connectionContext(CONNECTION_CONTEXT)
+            .root(this.root)
+            .tokenProvider(connectionContext -> Mono.fromCallable(() -> {
+                tokenRequests.add(connectionContext);
+                return "test-authorization";
+            }))
+            .transportConfiguration(TransportConfiguration.builder()
+                .maximumConnections(3)
+                .build())
+            .warmupConnections(3)
+            .build();
+
+        try {
+            client.warmup()
+                .as(StepVerifier::create)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+            int connections = 0;
+            for (int i = 0; i < 3; i++) {
+                RecordedRequest request = takeRequest();
+                assertThat(request).isNotNull();
+
+                if (request.getSequenceNumber() == 0) {
+                    connections++;
+                }
+            }
+
+            assertThat(connections).isEqualTo(3);
+            assertThat(tokenRequests).containsExactly(client.getOperationsConnectionContext());
+            assertThat(client.getOperationsConnectionContext()).isNotSameAs(CONNECTION_CONTEXT);
+            assertThat(client.getOperationsConnectionContext().getObjectMapper()).isSameAs(CONNECTION_CONTEXT.getObjectMapper());
+        } finally {
+            client.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.scheduler.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.pivotal.scheduler.v1.jobs.JobHistory;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class LazyPaginatedResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void missingResources() {
+        LazyPaginatedResponse<JobHistory> response = LazyPaginatedResponse.of(this.objectMapper, payload("{\"pagination\":{\"total_pages\":1,\"total_results\":0}}"), JobHistory.class);
+
+        assertThat(response.getPagination().getTotalResults()).isEqualTo(0);
+        assertThat(response.getResources()).isEmpty();
+    }
+
+    @Test
+    public void nullResources() {
+        LazyPaginatedResponse<JobHistory> response = LazyPaginatedResponse.of(this.objectMapper, payload("{\"pagination\":{\"total_pages\":1,\"total_results\":0},\"resources\":null}"), JobHistory.class);
+
+        assertThat(response.getResources()).isEmpty();
+    }
+
+    @Test
+    public void resources() {
+        LazyPaginatedResponse<JobHistory> response = LazyPaginatedResponse.of(this.objectMapper,
+            payload("{\"pagination\":{\"total_pages\":1,\"total_results\":2},\"resources\":[{\"guid\":\"test-history-id-1\"},{\"guid\":\"test-history-id-2\"}]}"), JobHistory.class);
+
+        assertThat(response.getResources()).hasSize(2);
+        assertThat(response.getResources().get(1).getId()).isEqualTo("test-history-id-2");
+    }
+
+    private static byte[] payload(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -20,6 +20,7 @@ import io.pivotal.reactor.InteractionContext;
 import io.pivotal.reactor.TestRequest;
 import io.pivotal.reactor.TestResponse;
 import io.pivotal.reactor.scheduler.AbstractSchedulerApiTest;
+import io.pivotal.scheduler.v1.ExecutionState;
 import io.pivotal.scheduler.v1.Link;
 import io.pivotal.scheduler.v1.Pagination;
 import io.pivotal.scheduler.v1.calls.Call;
@@ -53,6 +54,7 @@ import static io.netty.handler.codec.http.HttpMethod.DELETE;
 import static io.netty.handler.codec.http.HttpMethod.GET;
 import static io.netty.handler.codec.http.HttpMethod.POST;
 import static io.netty.handler.codec.http.HttpResponseStatus.CREATED;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.pivotal.scheduler.v1.schedules.ExpressionType.CRON;
@@ -162,7 +164,7 @@ public final class ReactorCallsTest extends AbstractSchedulerApiTest {
                 .message("test-message")
                 .scheduleId("test-schedule-id")
                 .scheduledTime("test-scheduled-time")
-                .state("test-state")
+                .state(ExecutionState.SUCCEEDED)
                 .build())
             .expectComplete()
             .verify(Duration.ofSeconds(5));
@@ -199,6 +201,27 @@ public final class ReactorCallsTest extends AbstractSchedulerApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void getIfExistsNotFound() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/calls/test-call-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(NOT_FOUND)
+                .payload("fixtures/scheduler/v1/error_response.json")
+                .build())
+            .build());
+
+        this.calls
+            .getIfExists(GetCallRequest.builder()
+                .callId("test-call-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void list() {
         mockRequest(InteractionContext.builder()
@@ -290,7 +313,7 @@ public final class ReactorCallsTest extends AbstractSchedulerApiTest {
                     .message("test-message")
                     .scheduleId("test-schedule-id")
                     .scheduledTime("test-scheduled-time")
-                    .state("test-state")
+                    .state(ExecutionState.SUCCEEDED)
                     .build())
                 .build())
             .expectComplete()
@@ -340,7 +363,7 @@ public final class ReactorCallsTest extends AbstractSchedulerApiTest {
                     .message("test-message")
                     .scheduleId("test-schedule-id")
                     .scheduledTime("test-scheduled-time")
-                    .state("test-state")
+                    .state(ExecutionState.SUCCEEDED)
                     .build())
                 .build())
             .expectComplete()
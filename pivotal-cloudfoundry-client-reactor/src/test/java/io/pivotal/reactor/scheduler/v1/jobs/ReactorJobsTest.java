@@ -16,12 +16,42 @@
 
 package io.pivotal.reactor.scheduler.v1.jobs;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 import io.pivotal.reactor.InteractionContext;
 import io.pivotal.reactor.TestRequest;
 import io.pivotal.reactor.TestResponse;
 import io.pivotal.reactor.scheduler.AbstractSchedulerApiTest;
+import io.pivotal.reactor.scheduler.v1.OperationsConfiguration;
+import io.pivotal.reactor.util.OperationContext;
+import io.pivotal.reactor.util.RequestBudget;
+import io.pivotal.reactor.util.RequestBudgetExceededException;
+import io.pivotal.reactor.util.RequestCostAccounting;
+import io.pivotal.reactor.util.RequestPayloadCache;
+import io.pivotal.reactor.util.RequestPhase;
+import io.pivotal.scheduler.v1.ExecutionState;
 import io.pivotal.scheduler.v1.Link;
 import io.pivotal.scheduler.v1.Pagination;
+import io.pivotal.scheduler.v1.SchedulerException;
 import io.pivotal.scheduler.v1.jobs.CreateJobRequest;
 import io.pivotal.scheduler.v1.jobs.CreateJobResponse;
 import io.pivotal.scheduler.v1.jobs.DeleteJobRequest;
@@ -33,6 +63,7 @@ import io.pivotal.scheduler.v1.jobs.GetJobResponse;
 import io.pivotal.scheduler.v1.jobs.Job;
 import io.pivotal.scheduler.v1.jobs.JobHistory;
 import io.pivotal.scheduler.v1.jobs.JobSchedule;
+import io.pivotal.scheduler.v1.jobs.JobState;
 import io.pivotal.scheduler.v1.jobs.ListJobHistoriesRequest;
 import io.pivotal.scheduler.v1.jobs.ListJobHistoriesResponse;
 import io.pivotal.scheduler.v1.jobs.ListJobScheduleHistoriesRequest;
@@ -43,19 +74,36 @@ import io.pivotal.scheduler.v1.jobs.ListJobsRequest;
 import io.pivotal.scheduler.v1.jobs.ListJobsResponse;
 import io.pivotal.scheduler.v1.jobs.ScheduleJobRequest;
 import io.pivotal.scheduler.v1.jobs.ScheduleJobResponse;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.Test;
+import org.mockito.Mockito;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.netty.handler.codec.http.HttpMethod.DELETE;
 import static io.netty.handler.codec.http.HttpMethod.GET;
 import static io.netty.handler.codec.http.HttpMethod.POST;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.CREATED;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.pivotal.scheduler.v1.schedules.ExpressionType.CRON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 
 public final class ReactorJobsTest extends AbstractSchedulerApiTest {
 
@@ -88,13 +136,54 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
                 .id("test-job-id")
                 .name("test-name")
                 .spaceId("test-space-id")
-                .state("test-state")
+                .state(JobState.AVAILABLE)
                 .updatedAt("test-updated-at")
                 .build())
             .expectComplete()
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void createCachedPayload() throws JsonProcessingException {
+        ObjectMapper objectMapper = spy(CONNECTION_CONTEXT.getObjectMapper());
+        RequestPayloadCache requestPayloadCache = new RequestPayloadCache(objectMapper, 1);
+
+        ReactorJobs jobs = new ReactorJobs(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER, Collections.emptyMap(), OperationsConfiguration.builder()
+            .requestPayloadCache(requestPayloadCache)
+            .build());
+
+        for (int i = 0; i < 2; i++) {
+            mockRequest(InteractionContext.builder()
+                .request(TestRequest.builder()
+                    .method(POST).path("/jobs?app_guid=test-application-id")
+                    .payload("fixtures/scheduler/v1/jobs/POST_{app_id}_request.json")
+                    .build())
+                .response(TestResponse.builder()
+                    .status(CREATED)
+                    .payload("fixtures/scheduler/v1/jobs/POST_{app_id}_response.json")
+                    .build())
+                .build());
+        }
+
+        CreateJobRequest request = CreateJobRequest.builder()
+            .applicationId("test-application-id")
+            .command("test-command")
+            .name("test-name")
+            .build();
+
+        jobs
+            .create(request)
+            .then(jobs.create(request))
+            .map(CreateJobResponse::getId)
+            .as(StepVerifier::create)
+            .expectNext("test-job-id")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        Mockito.verify(objectMapper, times(1)).writeValueAsBytes(request);
+        requestPayloadCache.dispose();
+    }
+
     @Test
     public void delete() {
         mockRequest(InteractionContext.builder()
@@ -161,13 +250,57 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
                 .message("test-message")
                 .scheduleId("test-schedule-id")
                 .scheduledTime("test-scheduled-time")
-                .state("test-state")
+                .state(ExecutionState.SUCCEEDED)
                 .taskId("test-task-id")
                 .build())
             .expectComplete()
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void exists() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_response.json")
+                .build())
+            .build());
+
+        this.jobs
+            .exists(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(true)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void existsNotFound() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(NOT_FOUND)
+                .payload("fixtures/scheduler/v1/error_response.json")
+                .build())
+            .build());
+
+        this.jobs
+            .exists(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(false)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void get() {
         mockRequest(InteractionContext.builder()
@@ -192,13 +325,178 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
                 .id("test-job-id")
                 .name("test-name")
                 .spaceId("test-space-id")
-                .state("test-state")
+                .state(JobState.AVAILABLE)
                 .updatedAt("test-updated-at")
                 .build())
             .expectComplete()
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void getBudgetExceeded() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_response.json")
+                .build())
+            .build());
+
+        RequestBudget budget = RequestBudget.of("test-budget-key", 1);
+        RequestCostAccounting accounting = new RequestCostAccounting();
+        ReactorJobs jobs = new ReactorJobs(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER, Collections.emptyMap(), OperationsConfiguration.builder()
+            .requestCostAccounting(accounting)
+            .build());
+        GetJobRequest request = GetJobRequest.builder()
+            .jobId("test-job-id")
+            .build();
+
+        jobs.get(request)
+            .then(jobs.get(request))
+            .subscriberContext(Context.of(RequestBudget.class, budget))
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t)
+                .isInstanceOf(RequestBudgetExceededException.class)
+                .hasMessage("Request budget test-budget-key of 1 requests exceeded"))
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(budget.getCost().getRequests()).isEqualTo(1);
+        assertThat(budget.getCost().getBytes()).isGreaterThan(0);
+        assertThat(budget.getCost().getLatency()).isGreaterThan(Duration.ZERO);
+        assertThat(accounting.getCosts()).containsOnlyKeys("test-budget-key");
+        assertThat(accounting.getCost("test-budget-key")).hasValueSatisfying(cost -> assertThat(cost.getRequests()).isEqualTo(1));
+    }
+
+    @Test
+    public void getIfExistsNotFound() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(NOT_FOUND)
+                .payload("fixtures/scheduler/v1/error_response.json")
+                .build())
+            .build());
+
+        this.jobs
+            .getIfExists(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void getErrorWithoutCheckpoints() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(BAD_REQUEST)
+                .payload("fixtures/scheduler/v1/error_response.json")
+                .build())
+            .build());
+
+        ReactorJobs jobs = new ReactorJobs(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER, Collections.emptyMap(), OperationsConfiguration.builder()
+            .checkpoints(false)
+            .build());
+
+        jobs
+            .get(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t)
+                .isInstanceOf(SchedulerException.class)
+                .satisfies(e -> assertThat(e.getSuppressed()).isEmpty()))
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void getStacklessError() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(BAD_REQUEST)
+                .payload("fixtures/scheduler/v1/error_response.json")
+                .build())
+            .build());
+
+        ReactorJobs jobs = new ReactorJobs(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER, Collections.singletonMap("test-tag-key", "test-tag-value"), OperationsConfiguration.builder()
+            .stacklessExceptions(true)
+            .build());
+
+        jobs
+            .get(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> {
+                assertThat(t).isInstanceOf(SchedulerException.class);
+                assertThat(t.getStackTrace()).isEmpty();
+                assertThat(t.getSuppressed())
+                    .hasSize(1)
+                    .allSatisfy(suppressed -> assertThat(suppressed)
+                        .isInstanceOf(OperationContext.class)
+                        .hasMessage("jobs.get {test-tag-key=test-tag-value}"));
+            })
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void getTraced() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id")
+                .header("test-trace-id", "0af7651916cd43dd8448eb211c80319c")
+                .build())
+            .response(TestResponse.builder()
+                .status(BAD_REQUEST)
+                .payload("fixtures/scheduler/v1/error_response.json")
+                .build())
+            .build());
+
+        InMemorySpanExporter exporter = InMemorySpanExporter.create();
+        OpenTelemetry openTelemetry = OpenTelemetrySdk.builder()
+            .setPropagators(ContextPropagators.create(new TestTracePropagator()))
+            .setTracerProvider(SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build())
+            .build();
+        SpanContext parent = SpanContext.create("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331", TraceFlags.getSampled(), TraceState.getDefault());
+
+        ReactorJobs jobs = new ReactorJobs(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER, Collections.emptyMap(), OperationsConfiguration.builder()
+            .openTelemetry(openTelemetry)
+            .build());
+
+        jobs
+            .get(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .subscriberContext(context -> context.put(io.opentelemetry.context.Context.class, io.opentelemetry.context.Context.root().with(Span.wrap(parent))))
+            .as(StepVerifier::create)
+            .expectError(SchedulerException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(exporter.getFinishedSpanItems())
+            .hasSize(1)
+            .allSatisfy(span -> {
+                assertThat(span.getName()).isEqualTo("jobs.get");
+                assertThat(span.getKind()).isEqualTo(SpanKind.CLIENT);
+                assertThat(span.getParentSpanId()).isEqualTo("b7ad6b7169203331");
+                assertThat(span.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+                assertThat(span.getAttributes().get(AttributeKey.longKey("http.status_code"))).isEqualTo(400L);
+                assertThat(span.getEvents()).extracting(EventData::getName).containsExactly("exception");
+            });
+    }
+
     @Test
     public void listDetails() {
         mockRequest(InteractionContext.builder()
@@ -250,7 +548,7 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
                         .jobId("test-job-id")
                         .updatedAt("test-updated-at")
                         .build()))
-                    .state("test-state")
+                    .state(JobState.AVAILABLE)
                     .updatedAt("test-updated-at")
                     .build())
                 .build())
@@ -301,7 +599,7 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
                     .name("test-name")
                     .spaceId("test-space-id")
                     .jobSchedules(Collections.emptyList())
-                    .state("test-state")
+                    .state(JobState.AVAILABLE)
                     .updatedAt("test-updated-at")
                     .build())
                 .build())
@@ -351,7 +649,7 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
                     .message("test-message")
                     .scheduleId("test-schedule-id")
                     .scheduledTime("test-scheduled-time")
-                    .state("test-state")
+                    .state(ExecutionState.SUCCEEDED)
                     .taskId("test-task-id")
                     .build())
                 .build())
@@ -359,6 +657,263 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void listHistoriesLazily() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id/history")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_history_response.json")
+                .build())
+            .build());
+
+        this.jobs
+            .listHistoriesLazily(ListJobHistoriesRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getPagination().getTotalResults()).isEqualTo(1);
+                assertThat(response.getResources()).hasSize(1);
+                assertThat(response.getResources().get(0)).isEqualTo(JobHistory.builder()
+                    .executionEndTime("test-execution-end-time")
+                    .executionStartTime("test-execution-start-time")
+                    .id("test-history-id")
+                    .jobId("test-job-id")
+                    .message("test-message")
+                    .scheduleId("test-schedule-id")
+                    .scheduledTime("test-scheduled-time")
+                    .state(ExecutionState.SUCCEEDED)
+                    .taskId("test-task-id")
+                    .build());
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void listHistoriesFlightRecorderEvents() throws IOException {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id/history")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_history_response.json")
+                .build())
+            .build());
+
+        Path dump = Files.createTempFile("scheduler", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("io.pivotal.scheduler.Request");
+            recording.start();
+
+            this.jobs
+                .listHistories(ListJobHistoriesRequest.builder()
+                    .jobId("test-job-id")
+                    .build())
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Files.delete(dump);
+
+        assertThat(events)
+            .filteredOn(event -> "io.pivotal.scheduler.Request".equals(event.getEventType().getName()))
+            .hasSize(1)
+            .allSatisfy(event -> {
+                assertThat(event.getString("operation")).isEqualTo("jobs.listHistories");
+                assertThat(event.getString("method")).isEqualTo("GET");
+                assertThat(event.getString("uriTemplate")).isEqualTo("/jobs/{id}/history");
+                assertThat(event.getInt("status")).isEqualTo(200);
+                assertThat(event.getLong("bytes")).isGreaterThan(0);
+            });
+    }
+
+    @Test
+    public void listHistoriesMetrics() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id/history")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_history_response.json")
+                .build())
+            .build());
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReactorJobs jobs = new ReactorJobs(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER, Collections.singletonMap("test-tag-key", "test-tag-value"), OperationsConfiguration.builder()
+            .meterRegistry(meterRegistry)
+            .build());
+
+        jobs
+            .listHistories(ListJobHistoriesRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(meterRegistry.get("scheduler.client.requests")
+            .tags("exception", "None", "operation", "jobs.listHistories", "status", "200", "test-tag-key", "test-tag-value")
+            .timer()
+            .count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("scheduler.client.bytes.received").tags("operation", "jobs.listHistories").counter().count()).isGreaterThan(0);
+        assertThat(meterRegistry.get("scheduler.client.pages").tags("operation", "jobs.listHistories").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("scheduler.client.errors").counter()).isNull();
+    }
+
+    @Test
+    public void listHistoriesMetricsRepeated() {
+        for (int i = 0; i < 2; i++) {
+            mockRequest(InteractionContext.builder()
+                .request(TestRequest.builder()
+                    .method(GET).path("/jobs/test-job-id/history")
+                    .build())
+                .response(TestResponse.builder()
+                    .status(OK)
+                    .payload("fixtures/scheduler/v1/jobs/GET_{id}_history_response.json")
+                    .build())
+                .build());
+        }
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReactorJobs jobs = new ReactorJobs(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER, Collections.emptyMap(), OperationsConfiguration.builder()
+            .meterRegistry(meterRegistry)
+            .build());
+
+        ListJobHistoriesRequest request = ListJobHistoriesRequest.builder()
+            .jobId("test-job-id")
+            .build();
+
+        jobs
+            .listHistories(request)
+            .then(jobs.listHistories(request))
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(meterRegistry.get("scheduler.client.requests").timers()).hasSize(1);
+        assertThat(meterRegistry.get("scheduler.client.requests").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("scheduler.client.pages").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void listHistoriesProjection() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id/history")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_history_response.json")
+                .build())
+            .build());
+
+        this.jobs
+            .listHistories(ListJobHistoriesRequest.builder()
+                .field("guid")
+                .field("state")
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(ListJobHistoriesResponse.builder()
+                .pagination(Pagination.builder()
+                    .first(Link.builder()
+                        .href("test-first-link")
+                        .build())
+                    .last(Link.builder()
+                        .href("test-last-link")
+                        .build())
+                    .next(Link.builder()
+                        .href("test-next-link")
+                        .build())
+                    .previous(Link.builder()
+                        .href("test-previous-link")
+                        .build())
+                    .totalPages(1)
+                    .totalResults(1)
+                    .build())
+                .resource(JobHistory.builder()
+                    .id("test-history-id")
+                    .state(ExecutionState.SUCCEEDED)
+                    .build())
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void listHistoriesProjectionWithoutProjectedFields() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id/history")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_history_response.json")
+                .build())
+            .build());
+
+        this.jobs
+            .listHistories(ListJobHistoriesRequest.builder()
+                .field("test-unknown-field")
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getPagination().getTotalResults()).isEqualTo(1);
+                assertThat(response.getResources()).containsExactly(JobHistory.builder()
+                    .build());
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void listHistoriesTimings() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/jobs/test-job-id/history")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/scheduler/v1/jobs/GET_{id}_history_response.json")
+                .build())
+            .build());
+
+        Map<RequestPhase, String> phases = new ConcurrentHashMap<>();
+        ReactorJobs jobs = new ReactorJobs(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER, Collections.emptyMap(), OperationsConfiguration.builder()
+            .requestTimingListener((operation, phase, duration) -> phases.put(phase, operation))
+            .build());
+
+        jobs
+            .listHistories(ListJobHistoriesRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(phases)
+            .containsKeys(RequestPhase.ROOT, RequestPhase.TOKEN, RequestPhase.FIRST_BYTE, RequestPhase.BODY, RequestPhase.DECODE)
+            .containsValue("jobs.listHistories");
+    }
+
     @Test
     public void listNoDetails() {
         mockRequest(InteractionContext.builder()
@@ -400,7 +955,7 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
                     .id("test-job-id")
                     .name("test-name")
                     .spaceId("test-space-id")
-                    .state("test-state")
+                    .state(JobState.AVAILABLE)
                     .updatedAt("test-updated-at")
                     .build())
                 .build())
@@ -451,7 +1006,7 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
                     .message("test-message")
                     .scheduleId("test-schedule-id")
                     .scheduledTime("test-scheduled-time")
-                    .state("test-state")
+                    .state(ExecutionState.SUCCEEDED)
                     .taskId("test-task-id")
                     .build())
                 .build())
@@ -541,4 +1096,23 @@ public final class ReactorJobsTest extends AbstractSchedulerApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    private static final class TestTracePropagator implements TextMapPropagator {
+
+        @Override
+        public <C> io.opentelemetry.context.Context extract(io.opentelemetry.context.Context context, C carrier, TextMapGetter<C> getter) {
+            return context;
+        }
+
+        @Override
+        public Collection<String> fields() {
+            return Collections.singletonList("test-trace-id");
+        }
+
+        @Override
+        public <C> void inject(io.opentelemetry.context.Context context, C carrier, TextMapSetter<C> setter) {
+            setter.set(carrier, "test-trace-id", Span.fromContext(context).getSpanContext().getTraceId());
+        }
+
+    }
+
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class CachedRootTest {
+
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    @Test
+    public void cached() {
+        CachedRoot root = new CachedRoot(resolve(), Duration.ofMinutes(1));
+
+        root.get().as(StepVerifier::create).expectNext("test-root-1").expectComplete().verify(Duration.ofSeconds(1));
+        root.get().as(StepVerifier::create).expectNext("test-root-1").expectComplete().verify(Duration.ofSeconds(1));
+
+        assertThat(this.resolutions).hasValue(1);
+    }
+
+    @Test
+    public void concurrentConnectionFailures() {
+        TestPublisher<String> first = TestPublisher.create();
+        TestPublisher<String> second = TestPublisher.create();
+        CachedRoot root = new CachedRoot(resolve(), Duration.ofMinutes(1));
+
+        StepVerifier firstOperation = root.refreshOnConnectionFailure(first.mono()).as(StepVerifier::create).expectError(ConnectException.class).verifyLater();
+        StepVerifier secondOperation = root.refreshOnConnectionFailure(second.mono()).as(StepVerifier::create).expectError(ConnectException.class).verifyLater();
+
+        first.error(new ConnectException("test-connection-refused"));
+        firstOperation.verify(Duration.ofSeconds(1));
+        root.get().as(StepVerifier::create).expectNext("test-root-1").expectComplete().verify(Duration.ofSeconds(1));
+
+        second.error(new ConnectException("test-connection-refused"));
+        secondOperation.verify(Duration.ofSeconds(1));
+        root.get().as(StepVerifier::create).expectNext("test-root-1").expectComplete().verify(Duration.ofSeconds(1));
+
+        assertThat(this.resolutions).hasValue(1);
+    }
+
+    @Test
+    public void connectionFailure() {
+        assertThat(CachedRoot.isConnectionFailure(new ConnectException("test-connection-refused"))).isTrue();
+        assertThat(CachedRoot.isConnectionFailure(new UnknownHostException("test-unknown-host"))).isTrue();
+        assertThat(CachedRoot.isConnectionFailure(new IllegalStateException("test-illegal-state"))).isFalse();
+    }
+
+    @Test
+    public void connectionFailureWrapped() {
+        assertThat(CachedRoot.isConnectionFailure(Exceptions.propagate(new ConnectException("test-connection-refused")))).isTrue();
+        assertThat(CachedRoot.isConnectionFailure(new IllegalStateException("test-illegal-state", new RuntimeException(new ConnectException("test-connection-refused"))))).isTrue();
+        assertThat(CachedRoot.isConnectionFailure(new IllegalStateException("test-illegal-state", new IllegalArgumentException("test-illegal-argument")))).isFalse();
+    }
+
+    @Test
+    public void decodeFailure() {
+        CachedRoot root = new CachedRoot(resolve(), Duration.ofMinutes(1));
+
+        root.get().as(StepVerifier::create).expectNext("test-root-1").expectComplete().verify(Duration.ofSeconds(1));
+        root.refreshOnConnectionFailure(Mono.error(new JsonParseException(null, "test-unexpected-character")))
+            .as(StepVerifier::create)
+            .expectError(JsonParseException.class)
+            .verify(Duration.ofSeconds(1));
+        root.get().as(StepVerifier::create).expectNext("test-root-1").expectComplete().verify(Duration.ofSeconds(1));
+
+        assertThat(CachedRoot.isConnectionFailure(new JsonParseException(null, "test-unexpected-character"))).isFalse();
+        assertThat(this.resolutions).hasValue(1);
+    }
+
+    @Test
+    public void errorNotCached() {
+        CachedRoot root = new CachedRoot(Mono.defer(() -> this.resolutions.incrementAndGet() == 1 ? Mono.error(new IOException("test-connection-reset")) : Mono.just("test-root")),
+            Duration.ofMinutes(1));
+
+        root.get().as(StepVerifier::create).expectError(IOException.class).verify(Duration.ofSeconds(1));
+        root.get().as(StepVerifier::create).expectNext("test-root").expectComplete().verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void refresh() {
+        CachedRoot root = new CachedRoot(resolve(), Duration.ofMinutes(1));
+
+        root.get().as(StepVerifier::create).expectNext("test-root-1").expectComplete().verify(Duration.ofSeconds(1));
+        root.refreshOnConnectionFailure(Mono.error(new ConnectException("test-connection-refused")))
+            .as(StepVerifier::create)
+            .expectError(ConnectException.class)
+            .verify(Duration.ofSeconds(1));
+        root.get().as(StepVerifier::create).expectNext("test-root-2").expectComplete().verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void sharedResolution() {
+        TestPublisher<String> source = TestPublisher.create();
+        CachedRoot root = new CachedRoot(source.mono().doOnSubscribe(subscription -> this.resolutions.incrementAndGet()), Duration.ofMinutes(1));
+
+        StepVerifier first = root.get().as(StepVerifier::create).expectNext("test-root").expectComplete().verifyLater();
+        StepVerifier second = root.get().as(StepVerifier::create).expectNext("test-root").expectComplete().verifyLater();
+
+        source.emit("test-root");
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        assertThat(this.resolutions).hasValue(1);
+    }
+
+    private Mono<String> resolve() {
+        return Mono.fromCallable(() -> String.format("test-root-%d", this.resolutions.incrementAndGet()));
+    }
+
+}
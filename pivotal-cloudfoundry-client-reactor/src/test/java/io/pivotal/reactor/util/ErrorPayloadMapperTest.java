@@ -17,6 +17,7 @@
 package io.pivotal.reactor.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
 import io.pivotal.UnknownSchedulerException;
 import io.pivotal.scheduler.v1.SchedulerError;
 import io.pivotal.scheduler.v1.SchedulerException;
@@ -32,15 +33,20 @@ import reactor.netty.http.client.HttpClientResponse;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class ErrorPayloadMapperTest {
@@ -96,6 +102,38 @@ public final class ErrorPayloadMapperTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void schedulerClientErrorReleasesConnection() throws IOException {
+        when(this.connection.inbound()).thenReturn(this.inbound);
+        when(this.inbound.receive()).thenReturn(ByteBufFlux.fromPath(new ClassPathResource("fixtures/scheduler/v1/error_response.json").getFile().toPath()));
+        when(this.response.status()).thenReturn(NOT_FOUND);
+        HttpClientResponseWithConnection responseWithConnection = buildResponseWithConnection(this.connection);
+
+        Flux.just(responseWithConnection)
+            .transform(ErrorPayloadMappers.scheduler(this.objectMapper))
+            .as(StepVerifier::create)
+            .expectError(SchedulerException.class)
+            .verify(Duration.ofSeconds(1));
+
+        verify(this.connection, never()).dispose();
+    }
+
+    @Test
+    public void schedulerIgnoringNotFound() throws IOException {
+        when(this.connection.inbound()).thenReturn(this.inbound);
+        when(this.inbound.receive()).thenReturn(ByteBufFlux.fromPath(new ClassPathResource("fixtures/scheduler/v1/error_response.json").getFile().toPath()));
+        when(this.response.status()).thenReturn(NOT_FOUND);
+        HttpClientResponseWithConnection responseWithConnection = buildResponseWithConnection(this.connection);
+
+        Flux.just(responseWithConnection)
+            .transform(ErrorPayloadMappers.schedulerIgnoringNotFound(this.objectMapper, ErrorPayloadMappers.DEFAULT_MAXIMUM_PAYLOAD_SIZE))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        verify(this.connection, never()).dispose();
+    }
+
     @Test
     public void schedulerNoError() {
         when(this.response.status()).thenReturn(OK);
@@ -109,6 +147,44 @@ public final class ErrorPayloadMapperTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void schedulerOversizedPayload() {
+        byte[] payload = new byte[4096];
+        Arrays.fill(payload, (byte) 'a');
+
+        when(this.connection.inbound()).thenReturn(this.inbound);
+        when(this.inbound.receive()).thenReturn(ByteBufFlux.fromInbound(Flux.just(Unpooled.wrappedBuffer(payload))));
+        when(this.response.status()).thenReturn(BAD_REQUEST);
+        HttpClientResponseWithConnection responseWithConnection = buildResponseWithConnection(this.connection);
+
+        Flux.just(responseWithConnection)
+            .transform(ErrorPayloadMappers.scheduler(this.objectMapper, 2048))
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t)
+                .isInstanceOf(UnknownSchedulerException.class)
+                .extracting("statusCode", "payload")
+                .containsExactly(BAD_REQUEST.code(), new String(payload, 0, 1024, StandardCharsets.UTF_8)))
+            .verify(Duration.ofSeconds(1));
+
+        verify(this.connection).dispose();
+    }
+
+    @Test
+    public void schedulerProtocolErrorDisposesConnection() {
+        when(this.connection.inbound()).thenReturn(this.inbound);
+        when(this.inbound.receive()).thenReturn(ByteBufFlux.fromInbound(Flux.error(new IOException("test-connection-reset"))));
+        when(this.response.status()).thenReturn(NOT_FOUND);
+        HttpClientResponseWithConnection responseWithConnection = buildResponseWithConnection(this.connection);
+
+        Flux.just(responseWithConnection)
+            .transform(ErrorPayloadMappers.scheduler(this.objectMapper))
+            .as(StepVerifier::create)
+            .expectError(IOException.class)
+            .verify(Duration.ofSeconds(1));
+
+        verify(this.connection).dispose();
+    }
+
     @Test
     public void schedulerServerError() throws IOException {
         when(this.connection.inbound()).thenReturn(this.inbound);
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.reactor.util;
+
+import io.pivotal.scheduler.v1.jobs.GetJobRequest;
+import io.pivotal.scheduler.v1.jobs.ListJobsRequest;
+import org.junit.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class QueryParameterExtractorTest {
+
+    @Test
+    public void cached() {
+        assertThat(QueryParameterExtractor.forType(ListJobsRequest.class)).isSameAs(QueryParameterExtractor.forType(ListJobsRequest.class));
+    }
+
+    @Test
+    public void empty() {
+        assertThat(QueryParameterExtractor.forType(GetJobRequest.class).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void extract() {
+        ListJobsRequest request = ListJobsRequest.builder()
+            .detailed(true)
+            .page(2)
+            .spaceId("test-space-id")
+            .build();
+
+        UriComponentsBuilder builder = QueryParameterExtractor.forType(ListJobsRequest.class).apply(UriComponentsBuilder.fromPath("/jobs"), request);
+
+        assertThat(builder.build().toUriString()).isEqualTo("/jobs?detailed=true&page=2&space_guid=test-space-id");
+    }
+
+    @Test
+    public void extractNull() {
+        ListJobsRequest request = ListJobsRequest.builder()
+            .spaceId("test-space-id")
+            .build();
+
+        UriComponentsBuilder builder = QueryParameterExtractor.forType(ListJobsRequest.class).apply(UriComponentsBuilder.fromPath("/jobs"), request);
+
+        assertThat(builder.build().toUriString()).isEqualTo("/jobs?space_guid=test-space-id");
+    }
+
+}
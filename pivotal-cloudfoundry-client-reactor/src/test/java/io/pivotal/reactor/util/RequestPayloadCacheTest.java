@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public final class RequestPayloadCacheTest {
+
+    @Test
+    public void dispose() throws JsonProcessingException {
+        ObjectMapper objectMapper = spy(new ObjectMapper());
+        RequestPayloadCache requestPayloadCache = new RequestPayloadCache(objectMapper, 1);
+
+        ByteBuf buffer = requestPayloadCache.get("test-payload");
+        requestPayloadCache.dispose();
+
+        assertThat(requestPayloadCache.size()).isZero();
+        assertThat(buffer.refCnt()).isEqualTo(1);
+        buffer.release();
+        assertThat(buffer.refCnt()).isZero();
+
+        ByteBuf uncached = requestPayloadCache.get("test-payload");
+        assertThat(requestPayloadCache.size()).isZero();
+        assertThat(uncached.refCnt()).isEqualTo(1);
+        uncached.release();
+
+        verify(objectMapper, times(2)).writeValueAsBytes("test-payload");
+    }
+
+    @Test
+    public void eviction() {
+        RequestPayloadCache requestPayloadCache = new RequestPayloadCache(new ObjectMapper(), 1);
+
+        ByteBuf evicted = requestPayloadCache.get("test-payload-1");
+        requestPayloadCache.get("test-payload-2").release();
+
+        assertThat(requestPayloadCache.size()).isEqualTo(1);
+        assertThat(evicted.refCnt()).isEqualTo(1);
+        assertThat(evicted.toString(StandardCharsets.UTF_8)).isEqualTo("\"test-payload-1\"");
+        evicted.release();
+        assertThat(evicted.refCnt()).isZero();
+
+        requestPayloadCache.dispose();
+    }
+
+    @Test
+    public void hit() throws JsonProcessingException {
+        ObjectMapper objectMapper = spy(new ObjectMapper());
+        RequestPayloadCache requestPayloadCache = new RequestPayloadCache(objectMapper, 1);
+
+        for (int i = 0; i < 3; i++) {
+            ByteBuf buffer = requestPayloadCache.get("test-payload");
+            assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("\"test-payload\"");
+            buffer.release();
+        }
+
+        verify(objectMapper, times(1)).writeValueAsBytes("test-payload");
+        requestPayloadCache.dispose();
+    }
+
+    @Test
+    public void noLeaks() {
+        ResourceLeakDetector.Level level = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+
+        Logger logger = (Logger) LoggerFactory.getLogger(ResourceLeakDetector.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+
+        try {
+            RequestPayloadCache requestPayloadCache = new RequestPayloadCache(new ObjectMapper(), 2);
+
+            for (int i = 0; i < 100; i++) {
+                requestPayloadCache.get("test-payload-" + (i % 4)).release();
+            }
+
+            requestPayloadCache.dispose();
+
+            for (int i = 0; i < 10; i++) {
+                System.gc();
+                PooledByteBufAllocator.DEFAULT.directBuffer(1).release();
+            }
+
+            assertThat(appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .noneMatch(message -> message.contains("LEAK"));
+        } finally {
+            logger.detachAppender(appender);
+            ResourceLeakDetector.setLevel(level);
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.reactor.util;
+
+import io.pivotal.scheduler.v1.calls.Calls;
+import io.pivotal.scheduler.v1.calls.ExecuteCallResponse;
+import io.pivotal.scheduler.v1.jobs.GetJobRequest;
+import io.pivotal.scheduler.v1.jobs.GetJobResponse;
+import io.pivotal.scheduler.v1.jobs.Jobs;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class SerializationWarmupTest {
+
+    @Test
+    public void types() {
+        assertThat(SerializationWarmup.getTypes(Calls.class, Jobs.class))
+            .contains(ExecuteCallResponse.class, GetJobRequest.class, GetJobResponse.class)
+            .doesNotContain(Void.class, Boolean.class);
+    }
+
+}
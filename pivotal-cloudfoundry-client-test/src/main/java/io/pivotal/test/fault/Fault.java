@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.fault;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The fault decided on for a request by a {@link FaultInjector}
+ */
+final class Fault {
+
+    private final Duration latency;
+
+    private final String payload;
+
+    private final Duration retryAfter;
+
+    private final int status;
+
+    private final FaultType type;
+
+    Fault(FaultType type, Duration latency) {
+        this(type, latency, 0, null, null);
+    }
+
+    Fault(FaultType type, Duration latency, int status, String payload, Duration retryAfter) {
+        this.latency = latency;
+        this.payload = payload;
+        this.retryAfter = retryAfter;
+        this.status = status;
+        this.type = type;
+    }
+
+    /**
+     * The latency to add before the fault
+     */
+    Duration getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * The payload of an error response
+     */
+    String getPayload() {
+        return this.payload;
+    }
+
+    /**
+     * The value of the {@code Retry-After} header of an error response, in seconds
+     */
+    Optional<String> getRetryAfter() {
+        return Optional.ofNullable(this.retryAfter)
+            .map(retryAfter -> String.valueOf((retryAfter.toMillis() + 999) / 1000));
+    }
+
+    /**
+     * The status of an error response
+     */
+    int getStatus() {
+        return this.status;
+    }
+
+    FaultType getType() {
+        return this.type;
+    }
+
+}
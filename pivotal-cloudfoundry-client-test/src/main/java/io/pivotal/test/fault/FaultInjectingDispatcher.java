@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.fault;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code MockWebServer} {@link Dispatcher} that injects the faults decided by a {@link FaultInjector} in front of another dispatcher.  Requests that fail with a fault are not dispatched to the
+ * other dispatcher.  Latency is added by blocking the connection's thread before the response is chosen, and connection resets close the connection after the request has been read.
+ */
+public final class FaultInjectingDispatcher extends Dispatcher {
+
+    private final Dispatcher delegate;
+
+    private final FaultInjector faultInjector;
+
+    /**
+     * Creates a dispatcher
+     *
+     * @param delegate      the dispatcher of requests that are served
+     * @param faultInjector the injector that decides the fault for each request
+     */
+    public FaultInjectingDispatcher(Dispatcher delegate, FaultInjector faultInjector) {
+        this.delegate = delegate;
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        Fault fault = this.faultInjector.next();
+        TimeUnit.NANOSECONDS.sleep(fault.getLatency().toNanos());
+
+        switch (fault.getType()) {
+            case CONNECTION_RESET:
+                return new MockResponse()
+                    .setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+            case ERROR_BURST:
+            case MALFORMED_ERROR:
+                MockResponse response = new MockResponse()
+                    .setResponseCode(fault.getStatus())
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(fault.getPayload());
+
+                fault.getRetryAfter().ifPresent(retryAfter -> response.setHeader("Retry-After", retryAfter));
+                return response;
+            case SLOW_BODY:
+                FaultProfile profile = this.faultInjector.getProfile();
+
+                return this.delegate.dispatch(request)
+                    .throttleBody(profile.getSlowBodyChunkSize(), profile.getSlowBodyChunkDelay().toNanos(), TimeUnit.NANOSECONDS);
+            default:
+                return this.delegate.dispatch(request);
+        }
+    }
+
+    @Override
+    public MockResponse peek() {
+        return this.delegate.peek();
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.fault;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.util.ReferenceCountUtil;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * A Reactor Netty handler that injects the faults decided by a {@link FaultInjector} in front of another handler.  Requests that fail with a fault are not passed to the other handler.  Latency is
+ * added without blocking the server.  Connection resets close the connection with {@code SO_LINGER} set to {@code 0}, so that the client receives a TCP reset.  Slow bodies are written a chunk at a
+ * time at the level of the connection, so they are intended for HTTP/1.1, and the connection is closed once the body has been written.
+ */
+public final class FaultInjectingHandler implements BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> {
+
+    private final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends Publisher<Void>> delegate;
+
+    private final FaultInjector faultInjector;
+
+    /**
+     * Creates a handler
+     *
+     * @param delegate      the handler of requests that are served
+     * @param faultInjector the injector that decides the fault for each request
+     */
+    public FaultInjectingHandler(BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends Publisher<Void>> delegate, FaultInjector faultInjector) {
+        this.delegate = delegate;
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    public Publisher<Void> apply(HttpServerRequest request, HttpServerResponse response) {
+        Fault fault = this.faultInjector.next();
+
+        return delay(fault.getLatency())
+            .then(Mono.defer(() -> {
+                switch (fault.getType()) {
+                    case CONNECTION_RESET:
+                        request.withConnection(connection -> reset(connection.channel()));
+                        return Mono.empty();
+                    case ERROR_BURST:
+                    case MALFORMED_ERROR:
+                        response
+                            .status(fault.getStatus())
+                            .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+
+                        fault.getRetryAfter().ifPresent(retryAfter -> response.header(HttpHeaderNames.RETRY_AFTER, retryAfter));
+                        return response.sendString(Mono.just(fault.getPayload())).then();
+                    case SLOW_BODY:
+                        FaultProfile profile = this.faultInjector.getProfile();
+
+                        response.keepAlive(false);
+                        response.withConnection(connection -> throttle(connection.channel().pipeline(), profile.getSlowBodyChunkSize(), profile.getSlowBodyChunkDelay()));
+                        return Mono.from(this.delegate.apply(request, response));
+                    default:
+                        return Mono.from(this.delegate.apply(request, response));
+                }
+            }));
+    }
+
+    private static Mono<Void> delay(Duration latency) {
+        return latency.isZero() ? Mono.empty() : Mono.delay(latency).then();
+    }
+
+    private static void reset(Channel channel) {
+        channel.config().setOption(ChannelOption.SO_LINGER, 0);
+        channel.close();
+    }
+
+    private static void throttle(ChannelPipeline pipeline, int chunkSize, Duration chunkDelay) {
+        if (pipeline.get(SlowBodyHandler.NAME) == null) {
+            pipeline.addFirst(SlowBodyHandler.NAME, new SlowBodyHandler(chunkSize, chunkDelay.toNanos()));
+        }
+    }
+
+    private static final class Pending {
+
+        private final long deadline;
+
+        private final Object message;
+
+        private final ChannelPromise promise;
+
+        private Pending(long deadline, Object message, ChannelPromise promise) {
+            this.deadline = deadline;
+            this.message = message;
+            this.promise = promise;
+        }
+
+    }
+
+    /**
+     * Writes the encoded bytes of a connection a chunk at a time, and defers closing the connection until they have all been written
+     */
+    private static final class SlowBodyHandler extends ChannelOutboundHandlerAdapter {
+
+        private static final String NAME = "faultInjection.slowBody";
+
+        private final long chunkDelay;
+
+        private final int chunkSize;
+
+        private final Queue<Pending> pending = new ArrayDeque<>();
+
+        private long deadline;
+
+        private boolean draining;
+
+        private SlowBodyHandler(int chunkSize, long chunkDelay) {
+            this.chunkDelay = chunkDelay;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+            enqueue(ctx, new Pending(Math.max(this.deadline, System.nanoTime()), null, promise));
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            // Each chunk is flushed as it is written
+        }
+
+        @Override
+        public void handlerRemoved(ChannelHandlerContext ctx) {
+            for (Pending next = this.pending.poll(); next != null; next = this.pending.poll()) {
+                ReferenceCountUtil.release(next.message);
+                next.promise.tryFailure(new ClosedChannelException());
+            }
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            if (!(msg instanceof ByteBuf) || !((ByteBuf) msg).isReadable()) {
+                enqueue(ctx, new Pending(Math.max(this.deadline, System.nanoTime()), msg, promise));
+                return;
+            }
+
+            ByteBuf buffer = (ByteBuf) msg;
+
+            try {
+                while (buffer.isReadable()) {
+                    ByteBuf chunk = buffer.readRetainedSlice(Math.min(this.chunkSize, buffer.readableBytes()));
+                    this.deadline = Math.max(this.deadline, System.nanoTime()) + this.chunkDelay;
+                    enqueue(ctx, new Pending(this.deadline, chunk, buffer.isReadable() ? ctx.newPromise() : promise));
+                }
+            } finally {
+                buffer.release();
+            }
+        }
+
+        private void drain(ChannelHandlerContext ctx) {
+            long now = System.nanoTime();
+
+            for (Pending next = this.pending.peek(); next != null; next = this.pending.peek()) {
+                if (next.deadline > now) {
+                    ctx.executor().schedule(() -> drain(ctx), next.deadline - now, TimeUnit.NANOSECONDS);
+                    return;
+                }
+
+                this.pending.poll();
+
+                if (next.message == null) {
+                    ctx.close(next.promise);
+                } else {
+                    ctx.writeAndFlush(next.message, next.promise);
+                }
+            }
+
+            this.draining = false;
+        }
+
+        private void enqueue(ChannelHandlerContext ctx, Pending next) {
+            this.pending.add(next);
+
+            if (!this.draining) {
+                this.draining = true;
+                ctx.executor().execute(() -> drain(ctx));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.fault;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides the fault to inject into each request according to a {@link FaultProfile}, and counts the faults it has injected.  An injector is shared by all the connections of a server, so that a
+ * burst of errors affects every request made during it.  A {@link FaultInjectingDispatcher} applies the faults to a {@code MockWebServer} and a {@link FaultInjectingHandler} to a Reactor Netty
+ * server.
+ */
+public final class FaultInjector {
+
+    private static final int MALFORMED_ERROR_STATUS = 500;
+
+    private static final String[] MALFORMED_PAYLOADS = {
+        "",
+        "<html><head><title>502 Bad Gateway</title></head><body><h1>Bad Gateway</h1></body></html>",
+        "{\"description\":\"Internal Server Error\"}",
+        "{\"description\":\"Internal Server Error\",\"errors\":[{\"messages\":[\"An unexpected error"
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(FaultType.values().length);
+
+    private final FaultProfile profile;
+
+    private final Random random;
+
+    private int burstRemaining;
+
+    /**
+     * Creates an injector with a random seed
+     *
+     * @param profile the faults to inject
+     */
+    public FaultInjector(FaultProfile profile) {
+        this(profile, new Random());
+    }
+
+    /**
+     * Creates an injector that makes the same decisions, in the same order, each time it is created with the same seed
+     *
+     * @param profile the faults to inject
+     * @param seed    the seed of the decisions
+     */
+    public FaultInjector(FaultProfile profile, long seed) {
+        this(profile, new Random(seed));
+    }
+
+    private FaultInjector(FaultProfile profile, Random random) {
+        requireProbability("connection reset", profile.getConnectionResetProbability());
+        requireProbability("error burst", profile.getErrorBurstProbability());
+        requireProbability("malformed error", profile.getMalformedErrorProbability());
+        requireProbability("slow body", profile.getSlowBodyProbability());
+
+        if (profile.getConnectionResetProbability() + profile.getErrorBurstProbability() + profile.getMalformedErrorProbability() + profile.getSlowBodyProbability() > 1) {
+            throw new IllegalArgumentException("The sum of the fault probabilities must not be greater than 1");
+        }
+
+        if (profile.getErrorBurstLength() < 1) {
+            throw new IllegalArgumentException("The error burst length must be greater than 0");
+        }
+
+        if (profile.getErrorBurstStatus() < 400 || profile.getErrorBurstStatus() > 599) {
+            throw new IllegalArgumentException(String.format("The error burst status %d is not an error status", profile.getErrorBurstStatus()));
+        }
+
+        if (profile.getSlowBodyChunkSize() < 1) {
+            throw new IllegalArgumentException("The slow body chunk size must be greater than 0");
+        }
+
+        this.profile = profile;
+        this.random = random;
+    }
+
+    /**
+     * Returns the number of requests that a fault has been decided on for
+     *
+     * @param type the type of fault
+     * @return the number of requests
+     */
+    public long getCount(FaultType type) {
+        return this.counts.get(type.ordinal());
+    }
+
+    /**
+     * Returns the faults this injector injects
+     *
+     * @return the profile
+     */
+    public FaultProfile getProfile() {
+        return this.profile;
+    }
+
+    /**
+     * Returns the number of requests that a fault, including {@link FaultType#NONE}, has been decided on for
+     *
+     * @return the number of requests
+     */
+    public long getRequests() {
+        long requests = 0;
+
+        for (int i = 0; i < this.counts.length(); i++) {
+            requests += this.counts.get(i);
+        }
+
+        return requests;
+    }
+
+    /**
+     * Decides the fault to inject into the next request
+     *
+     * @return the fault
+     */
+    synchronized Fault next() {
+        Duration latency = this.profile.getLatency().sample(this.random);
+        FaultType type = nextType();
+        this.counts.incrementAndGet(type.ordinal());
+
+        switch (type) {
+            case ERROR_BURST:
+                return new Fault(type, latency, this.profile.getErrorBurstStatus(), errorPayload(this.profile.getErrorBurstStatus()), this.profile.getErrorBurstRetryAfter().orElse(null));
+            case MALFORMED_ERROR:
+                return new Fault(type, latency, MALFORMED_ERROR_STATUS, MALFORMED_PAYLOADS[this.random.nextInt(MALFORMED_PAYLOADS.length)], null);
+            default:
+                return new Fault(type, latency);
+        }
+    }
+
+    private static String errorPayload(int status) {
+        return String.format("{\"description\":\"%s\",\"errors\":[]}", HttpResponseStatus.valueOf(status).reasonPhrase());
+    }
+
+    private static void requireProbability(String name, double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException(String.format("The %s probability %s must be between 0 and 1", name, probability));
+        }
+    }
+
+    private FaultType nextType() {
+        if (this.burstRemaining > 0) {
+            this.burstRemaining--;
+            return FaultType.ERROR_BURST;
+        }
+
+        double value = this.random.nextDouble();
+
+        if ((value -= this.profile.getConnectionResetProbability()) < 0) {
+            return FaultType.CONNECTION_RESET;
+        }
+
+        if ((value -= this.profile.getErrorBurstProbability()) < 0) {
+            this.burstRemaining = this.profile.getErrorBurstLength() - 1;
+            return FaultType.ERROR_BURST;
+        }
+
+        if ((value -= this.profile.getMalformedErrorProbability()) < 0) {
+            return FaultType.MALFORMED_ERROR;
+        }
+
+        if ((value -= this.profile.getSlowBodyProbability()) < 0) {
+            return FaultType.SLOW_BODY;
+        }
+
+        return FaultType.NONE;
+    }
+
+}
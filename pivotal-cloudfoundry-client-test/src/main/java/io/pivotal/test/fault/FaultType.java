@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.fault;
+
+/**
+ * The faults that a {@link FaultInjector} decides on for each request
+ */
+public enum FaultType {
+
+    /**
+     * The request is served normally, after the latency of the profile
+     */
+    NONE,
+
+    /**
+     * The connection is reset before a response is written
+     */
+    CONNECTION_RESET,
+
+    /**
+     * The request is rejected with the error status of a burst, for example {@code 429 Too Many Requests} or {@code 503 Service Unavailable}
+     */
+    ERROR_BURST,
+
+    /**
+     * The request is rejected with an error payload that is not a valid Scheduler error
+     */
+    MALFORMED_ERROR,
+
+    /**
+     * The request is served normally, but the response is written a chunk at a time
+     */
+    SLOW_BODY
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.fault;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * A distribution of the latency added to each request by a {@link FaultInjector}
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * Returns a distribution that always adds the same latency
+     *
+     * @param latency the latency
+     * @return the distribution
+     */
+    static LatencyDistribution constant(Duration latency) {
+        return random -> latency;
+    }
+
+    /**
+     * Returns an exponential distribution, in which most requests are fast and a few are many times slower than the mean
+     *
+     * @param mean the mean latency
+     * @return the distribution
+     */
+    static LatencyDistribution exponential(Duration mean) {
+        long nanos = mean.toNanos();
+        return random -> Duration.ofNanos((long) (-nanos * Math.log(1 - random.nextDouble())));
+    }
+
+    /**
+     * Returns a log-normal distribution, which has the long tail typical of the latency of a service under load
+     *
+     * @param median the median latency
+     * @param sigma  the standard deviation of the logarithm of the latency.  The 99th percentile is {@code median * exp(2.33 * sigma)}.
+     * @return the distribution
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        long nanos = median.toNanos();
+        return random -> Duration.ofNanos((long) (nanos * Math.exp(sigma * random.nextGaussian())));
+    }
+
+    /**
+     * Returns a distribution that adds no latency
+     *
+     * @return the distribution
+     */
+    static LatencyDistribution none() {
+        return constant(Duration.ZERO);
+    }
+
+    /**
+     * Returns a uniform distribution
+     *
+     * @param minimum the minimum latency
+     * @param maximum the maximum latency
+     * @return the distribution
+     */
+    static LatencyDistribution uniform(Duration minimum, Duration maximum) {
+        long minimumNanos = minimum.toNanos();
+        long range = maximum.toNanos() - minimumNanos;
+        return random -> Duration.ofNanos(minimumNanos + (long) (range * random.nextDouble()));
+    }
+
+    /**
+     * Samples a latency
+     *
+     * @param random the source of randomness
+     * @return the latency
+     */
+    Duration sample(Random random);
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.fault;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The faults to inject into the responses of a test server.  Each request is served with a latency sampled from {@link #getLatency()} and then, with the configured probabilities, fails with a
+ * connection reset, begins a burst of error responses, fails with a malformed error payload, or has its response body written slowly.  The probabilities are of mutually exclusive outcomes, so
+ * their sum must not be greater than {@code 1}.  If nothing is set, no faults are injected.
+ */
+@Value.Immutable
+abstract class _FaultProfile {
+
+    /**
+     * The probability that the connection of a request is reset before a response is written
+     */
+    @Value.Default
+    public double getConnectionResetProbability() {
+        return 0;
+    }
+
+    /**
+     * The number of consecutive requests that fail in a burst of errors
+     */
+    @Value.Default
+    public int getErrorBurstLength() {
+        return 1;
+    }
+
+    /**
+     * The probability that a request begins a burst of errors
+     */
+    @Value.Default
+    public double getErrorBurstProbability() {
+        return 0;
+    }
+
+    /**
+     * The value of the {@code Retry-After} header of the responses in a burst of errors.  If not set, the header is not sent.
+     */
+    public abstract Optional<Duration> getErrorBurstRetryAfter();
+
+    /**
+     * The status of the responses in a burst of errors, typically {@code 429} or {@code 503}
+     */
+    @Value.Default
+    public int getErrorBurstStatus() {
+        return 503;
+    }
+
+    /**
+     * The distribution of the latency added to each request
+     */
+    @Value.Default
+    public LatencyDistribution getLatency() {
+        return LatencyDistribution.none();
+    }
+
+    /**
+     * The probability that a request fails with an error payload that is not a valid Scheduler error, for example one that is truncated or is HTML
+     */
+    @Value.Default
+    public double getMalformedErrorProbability() {
+        return 0;
+    }
+
+    /**
+     * The delay before each chunk of a slow response body
+     */
+    @Value.Default
+    public Duration getSlowBodyChunkDelay() {
+        return Duration.ofMillis(10);
+    }
+
+    /**
+     * The number of bytes in each chunk of a slow response body
+     */
+    @Value.Default
+    public int getSlowBodyChunkSize() {
+        return 64;
+    }
+
+    /**
+     * The probability that the response body of a request is written slowly
+     */
+    @Value.Default
+    public double getSlowBodyProbability() {
+        return 0;
+    }
+
+}
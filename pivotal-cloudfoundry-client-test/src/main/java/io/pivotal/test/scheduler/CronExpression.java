@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * A cron expression in the five-field form the Scheduler accepts: minute, hour, day of month, month and day of week.  Each field is {@code *} or {@code ?}, a value, a range {@code a-b}, or a
+ * comma-separated list of them, and each may have a step {@code /n}.  Months and days of week may be named, for example {@code JAN} and {@code MON}, and a day of week of {@code 7} is Sunday.  As in
+ * cron, if both the day of month and the day of week are restricted, a day matches when either does.  Occurrences are in UTC.
+ */
+final class CronExpression {
+
+    private static final String[] DAYS_OF_WEEK = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    private static final int SEARCH_YEARS = 8;
+
+    private final long daysOfMonth;
+
+    private final boolean daysOfMonthRestricted;
+
+    private final long daysOfWeek;
+
+    private final boolean daysOfWeekRestricted;
+
+    private final long hours;
+
+    private final long minutes;
+
+    private final long months;
+
+    private CronExpression(long minutes, long hours, long daysOfMonth, boolean daysOfMonthRestricted, long months, long daysOfWeek, boolean daysOfWeekRestricted) {
+        this.daysOfMonth = daysOfMonth;
+        this.daysOfMonthRestricted = daysOfMonthRestricted;
+        this.daysOfWeek = daysOfWeek;
+        this.daysOfWeekRestricted = daysOfWeekRestricted;
+        this.hours = hours;
+        this.minutes = minutes;
+        this.months = months;
+    }
+
+    /**
+     * Parses a cron expression
+     *
+     * @param expression the expression
+     * @return the parsed expression
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    static CronExpression parse(String expression) {
+        String[] fields = expression.trim().split("\\s+");
+
+        if (fields.length != 5) {
+            throw invalid(expression);
+        }
+
+        long daysOfWeek = parseField(expression, fields[4], 0, 7, DAYS_OF_WEEK, 0);
+        if ((daysOfWeek & (1L << 7)) != 0) {
+            daysOfWeek = (daysOfWeek | 1L) & ~(1L << 7);
+        }
+
+        return new CronExpression(
+            parseField(expression, fields[0], 0, 59, null, 0),
+            parseField(expression, fields[1], 0, 23, null, 0),
+            parseField(expression, fields[2], 1, 31, null, 0),
+            isRestricted(fields[2]),
+            parseField(expression, fields[3], 1, 12, MONTHS, 1),
+            daysOfWeek,
+            isRestricted(fields[4]));
+    }
+
+    /**
+     * Returns the first occurrence of this expression after an instant
+     *
+     * @param after the instant, in epoch milliseconds
+     * @return the first occurrence after the instant, in epoch milliseconds, or {@code -1} if there is none in the following years, for example for {@code 0 0 30 2 *}
+     */
+    long next(long after) {
+        ZonedDateTime candidate = Instant.ofEpochMilli(after).atZone(ZoneOffset.UTC).truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        int lastYear = candidate.getYear() + SEARCH_YEARS;
+
+        while (candidate.getYear() <= lastYear) {
+            if (!matches(this.months, candidate.getMonthValue())) {
+                candidate = candidate.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).plusMonths(1);
+            } else if (!matchesDay(candidate)) {
+                candidate = candidate.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            } else if (!matches(this.hours, candidate.getHour())) {
+                candidate = candidate.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!matches(this.minutes, candidate.getMinute())) {
+                candidate = candidate.plusMinutes(1);
+            } else {
+                return candidate.toInstant().toEpochMilli();
+            }
+        }
+
+        return -1;
+    }
+
+    private static IllegalArgumentException invalid(String expression) {
+        return new IllegalArgumentException(String.format("The cron expression '%s' is invalid.", expression));
+    }
+
+    private static boolean isRestricted(String field) {
+        return !field.startsWith("*") && !field.startsWith("?");
+    }
+
+    private static boolean matches(long values, int value) {
+        return (values & (1L << value)) != 0;
+    }
+
+    private static long parseField(String expression, String field, int minimum, int maximum, String[] names, int firstName) {
+        long values = 0;
+
+        for (String part : field.split(",", -1)) {
+            String range = part;
+            int step = 1;
+
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                range = part.substring(0, slash);
+                step = parseValue(expression, part.substring(slash + 1), null, 0);
+            }
+
+            int start;
+            int end;
+
+            if ("*".equals(range) || "?".equals(range)) {
+                start = minimum;
+                end = maximum;
+            } else {
+                int dash = range.indexOf('-');
+
+                if (dash >= 0) {
+                    start = parseValue(expression, range.substring(0, dash), names, firstName);
+                    end = parseValue(expression, range.substring(dash + 1), names, firstName);
+                } else {
+                    start = parseValue(expression, range, names, firstName);
+                    end = slash >= 0 ? maximum : start;
+                }
+            }
+
+            if (step < 1 || start < minimum || end > maximum || start > end) {
+                throw invalid(expression);
+            }
+
+            for (int value = start; value <= end; value += step) {
+                values |= 1L << value;
+            }
+        }
+
+        return values;
+    }
+
+    private static int parseValue(String expression, String value, String[] names, int firstName) {
+        if (names != null) {
+            String name = value.toUpperCase(Locale.ENGLISH);
+
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i + firstName;
+                }
+            }
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw invalid(expression);
+        }
+    }
+
+    private boolean matchesDay(ZonedDateTime candidate) {
+        boolean dayOfMonth = matches(this.daysOfMonth, candidate.getDayOfMonth());
+        boolean dayOfWeek = matches(this.daysOfWeek, candidate.getDayOfWeek().getValue() % 7);
+
+        if (this.daysOfMonthRestricted && this.daysOfWeekRestricted) {
+            return dayOfMonth || dayOfWeek;
+        }
+
+        return dayOfMonth && dayOfWeek;
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An append-only list of history records.  Records are held in fixed-size chunks so that appending never copies existing records, and reads do not lock: a reader sees every record appended
+ * before it read the size.
+ *
+ * @param <T> the type of the records
+ */
+final class HistoryLog<T> {
+
+    private static final int CHUNK_SHIFT = 12;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Object[][] chunks = new Object[4][];
+
+    private volatile int size;
+
+    synchronized void add(T record) {
+        int index = this.size;
+        int chunk = index >>> CHUNK_SHIFT;
+        Object[][] chunks = this.chunks;
+
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            this.chunks = chunks;
+        }
+
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new Object[CHUNK_SIZE];
+        }
+
+        chunks[chunk][index & CHUNK_MASK] = record;
+        this.size = index + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<T> get(int fromIndex, int toIndex) {
+        int end = Math.min(toIndex, this.size);
+        Object[][] chunks = this.chunks;
+
+        List<T> records = new ArrayList<>(Math.max(end - fromIndex, 0));
+        for (int i = fromIndex; i < end; i++) {
+            records.add((T) chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK]);
+        }
+
+        return records;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+}
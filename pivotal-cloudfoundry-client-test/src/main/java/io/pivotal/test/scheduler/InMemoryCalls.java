@@ -0,0 +1,200 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import io.netty.handler.codec.http.QueryStringEncoder;
+import io.pivotal.scheduler.v1.calls.Call;
+import io.pivotal.scheduler.v1.calls.CallHistory;
+import io.pivotal.scheduler.v1.calls.CallSchedule;
+import io.pivotal.scheduler.v1.calls.Calls;
+import io.pivotal.scheduler.v1.calls.CreateCallRequest;
+import io.pivotal.scheduler.v1.calls.CreateCallResponse;
+import io.pivotal.scheduler.v1.calls.DeleteCallRequest;
+import io.pivotal.scheduler.v1.calls.DeleteCallScheduleRequest;
+import io.pivotal.scheduler.v1.calls.ExecuteCallRequest;
+import io.pivotal.scheduler.v1.calls.ExecuteCallResponse;
+import io.pivotal.scheduler.v1.calls.GetCallRequest;
+import io.pivotal.scheduler.v1.calls.GetCallResponse;
+import io.pivotal.scheduler.v1.calls.ListCallHistoriesRequest;
+import io.pivotal.scheduler.v1.calls.ListCallHistoriesResponse;
+import io.pivotal.scheduler.v1.calls.ListCallScheduleHistoriesRequest;
+import io.pivotal.scheduler.v1.calls.ListCallScheduleHistoriesResponse;
+import io.pivotal.scheduler.v1.calls.ListCallSchedulesRequest;
+import io.pivotal.scheduler.v1.calls.ListCallSchedulesResponse;
+import io.pivotal.scheduler.v1.calls.ListCallsRequest;
+import io.pivotal.scheduler.v1.calls.ListCallsResponse;
+import io.pivotal.scheduler.v1.calls.ScheduleCallRequest;
+import io.pivotal.scheduler.v1.calls.ScheduleCallResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * The in-memory implementation of {@link Calls}
+ */
+final class InMemoryCalls implements Calls {
+
+    private final SchedulerStore store;
+
+    InMemoryCalls(SchedulerStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Mono<CreateCallResponse> create(CreateCallRequest request) {
+        return Mono.fromCallable(() -> {
+            Call call = this.store.createCall(request.getApplicationId(), request.getName(), request.getUrl(), request.getAuthorizationHeader());
+
+            return CreateCallResponse.builder()
+                .applicationId(call.getApplicationId())
+                .authorizationHeader(call.getAuthorizationHeader())
+                .createdAt(call.getCreatedAt())
+                .id(call.getId())
+                .name(call.getName())
+                .spaceId(call.getSpaceId())
+                .updatedAt(call.getUpdatedAt())
+                .url(call.getUrl())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(DeleteCallRequest request) {
+        return Mono.fromRunnable(() -> this.store.deleteCall(request.getCallId()));
+    }
+
+    @Override
+    public Mono<Void> deleteSchedule(DeleteCallScheduleRequest request) {
+        return Mono.fromRunnable(() -> this.store.deleteCallSchedule(request.getCallId(), request.getScheduleId()));
+    }
+
+    @Override
+    public Mono<Boolean> exists(GetCallRequest request) {
+        return getIfExists(request)
+            .map(response -> true)
+            .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<ExecuteCallResponse> execute(ExecuteCallRequest request) {
+        return Mono.fromCallable(() -> {
+            CallHistory history = this.store.executeCall(request.getCallId());
+
+            return ExecuteCallResponse.builder()
+                .callId(history.getCallId())
+                .executionEndTime(history.getExecutionEndTime())
+                .executionStartTime(history.getExecutionStartTime())
+                .id(history.getId())
+                .message(history.getMessage())
+                .scheduleId(history.getScheduleId())
+                .scheduledTime(history.getScheduledTime())
+                .state(history.getState())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<GetCallResponse> get(GetCallRequest request) {
+        return Mono.fromCallable(() -> {
+            Call call = this.store.getCall(request.getCallId());
+
+            return GetCallResponse.builder()
+                .applicationId(call.getApplicationId())
+                .authorizationHeader(call.getAuthorizationHeader())
+                .createdAt(call.getCreatedAt())
+                .id(call.getId())
+                .name(call.getName())
+                .spaceId(call.getSpaceId())
+                .updatedAt(call.getUpdatedAt())
+                .url(call.getUrl())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<GetCallResponse> getIfExists(GetCallRequest request) {
+        return get(request)
+            .onErrorResume(SchedulerStore::isNotFound, t -> Mono.empty());
+    }
+
+    @Override
+    public Mono<ListCallsResponse> list(ListCallsRequest request) {
+        return Mono.fromCallable(() -> {
+            Page<Call> page = this.store.listCalls(request.getSpaceId(), request.getPage());
+
+            QueryStringEncoder path = new QueryStringEncoder("/calls");
+            path.addParam("space_guid", request.getSpaceId());
+
+            return ListCallsResponse.builder()
+                .pagination(page.toPagination(path.toString()))
+                .resources(page.getResources())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<ListCallHistoriesResponse> listHistories(ListCallHistoriesRequest request) {
+        return Mono.fromCallable(() -> {
+            Page<CallHistory> page = this.store.listCallHistories(request.getCallId(), request.getPage());
+
+            return ListCallHistoriesResponse.builder()
+                .pagination(page.toPagination(String.format("/calls/%s/history", request.getCallId())))
+                .resources(page.getResources())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<ListCallScheduleHistoriesResponse> listScheduleHistories(ListCallScheduleHistoriesRequest request) {
+        return Mono.fromCallable(() -> {
+            Page<CallHistory> page = this.store.listCallScheduleHistories(request.getCallId(), request.getScheduleId(), request.getPage());
+
+            return ListCallScheduleHistoriesResponse.builder()
+                .pagination(page.toPagination(String.format("/calls/%s/schedules/%s/history", request.getCallId(), request.getScheduleId())))
+                .resources(page.getResources())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<ListCallSchedulesResponse> listSchedules(ListCallSchedulesRequest request) {
+        return Mono.fromCallable(() -> {
+            Page<CallSchedule> page = this.store.listCallSchedules(request.getCallId(), request.getPage());
+
+            return ListCallSchedulesResponse.builder()
+                .pagination(page.toPagination(String.format("/calls/%s/schedules", request.getCallId())))
+                .resources(page.getResources())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<ScheduleCallResponse> schedule(ScheduleCallRequest request) {
+        return Mono.fromCallable(() -> {
+            CallSchedule schedule = this.store.scheduleCall(request.getCallId(), request.getEnabled(), request.getExpression(), request.getExpressionType());
+
+            return ScheduleCallResponse.builder()
+                .callId(schedule.getCallId())
+                .createdAt(schedule.getCreatedAt())
+                .enabled(schedule.getEnabled())
+                .expression(schedule.getExpression())
+                .expressionType(schedule.getExpressionType())
+                .id(schedule.getId())
+                .updatedAt(schedule.getUpdatedAt())
+                .build();
+        });
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import io.netty.handler.codec.http.QueryStringEncoder;
+import io.pivotal.scheduler.v1.jobs.CreateJobRequest;
+import io.pivotal.scheduler.v1.jobs.CreateJobResponse;
+import io.pivotal.scheduler.v1.jobs.DeleteJobRequest;
+import io.pivotal.scheduler.v1.jobs.DeleteJobScheduleRequest;
+import io.pivotal.scheduler.v1.jobs.ExecuteJobRequest;
+import io.pivotal.scheduler.v1.jobs.ExecuteJobResponse;
+import io.pivotal.scheduler.v1.jobs.GetJobRequest;
+import io.pivotal.scheduler.v1.jobs.GetJobResponse;
+import io.pivotal.scheduler.v1.jobs.Job;
+import io.pivotal.scheduler.v1.jobs.JobHistory;
+import io.pivotal.scheduler.v1.jobs.JobSchedule;
+import io.pivotal.scheduler.v1.jobs.Jobs;
+import io.pivotal.scheduler.v1.jobs.ListJobHistoriesRequest;
+import io.pivotal.scheduler.v1.jobs.ListJobHistoriesResponse;
+import io.pivotal.scheduler.v1.jobs.ListJobScheduleHistoriesRequest;
+import io.pivotal.scheduler.v1.jobs.ListJobScheduleHistoriesResponse;
+import io.pivotal.scheduler.v1.jobs.ListJobSchedulesRequest;
+import io.pivotal.scheduler.v1.jobs.ListJobSchedulesResponse;
+import io.pivotal.scheduler.v1.jobs.ListJobsRequest;
+import io.pivotal.scheduler.v1.jobs.ListJobsResponse;
+import io.pivotal.scheduler.v1.jobs.ScheduleJobRequest;
+import io.pivotal.scheduler.v1.jobs.ScheduleJobResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * The in-memory implementation of {@link Jobs}
+ */
+final class InMemoryJobs implements Jobs {
+
+    private final SchedulerStore store;
+
+    InMemoryJobs(SchedulerStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Mono<CreateJobResponse> create(CreateJobRequest request) {
+        return Mono.fromCallable(() -> {
+            Job job = this.store.createJob(request.getApplicationId(), request.getName(), request.getCommand());
+
+            return CreateJobResponse.builder()
+                .applicationId(job.getApplicationId())
+                .command(job.getCommand())
+                .createdAt(job.getCreatedAt())
+                .id(job.getId())
+                .name(job.getName())
+                .spaceId(job.getSpaceId())
+                .state(job.getState())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(DeleteJobRequest request) {
+        return Mono.fromRunnable(() -> this.store.deleteJob(request.getJobId()));
+    }
+
+    @Override
+    public Mono<Void> deleteSchedule(DeleteJobScheduleRequest request) {
+        return Mono.fromRunnable(() -> this.store.deleteJobSchedule(request.getJobId(), request.getScheduleId()));
+    }
+
+    @Override
+    public Mono<Boolean> exists(GetJobRequest request) {
+        return getIfExists(request)
+            .map(response -> true)
+            .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<ExecuteJobResponse> execute(ExecuteJobRequest request) {
+        return Mono.fromCallable(() -> {
+            JobHistory history = this.store.executeJob(request.getJobId());
+
+            return ExecuteJobResponse.builder()
+                .executionEndTime(history.getExecutionEndTime())
+                .executionStartTime(history.getExecutionStartTime())
+                .id(history.getId())
+                .jobId(history.getJobId())
+                .message(history.getMessage())
+                .scheduleId(history.getScheduleId())
+                .scheduledTime(history.getScheduledTime())
+                .state(history.getState())
+                .taskId(history.getTaskId())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<GetJobResponse> get(GetJobRequest request) {
+        return Mono.fromCallable(() -> {
+            Job job = this.store.getJob(request.getJobId());
+
+            return GetJobResponse.builder()
+                .applicationId(job.getApplicationId())
+                .command(job.getCommand())
+                .createdAt(job.getCreatedAt())
+                .id(job.getId())
+                .name(job.getName())
+                .spaceId(job.getSpaceId())
+                .state(job.getState())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<GetJobResponse> getIfExists(GetJobRequest request) {
+        return get(request)
+            .onErrorResume(SchedulerStore::isNotFound, t -> Mono.empty());
+    }
+
+    @Override
+    public Mono<ListJobsResponse> list(ListJobsRequest request) {
+        return Mono.fromCallable(() -> {
+            Page<Job> page = this.store.listJobs(request.getSpaceId(), Boolean.TRUE.equals(request.getDetailed()), request.getPage());
+
+            QueryStringEncoder path = new QueryStringEncoder("/jobs");
+            if (request.getDetailed() != null) {
+                path.addParam("detailed", request.getDetailed().toString());
+            }
+            path.addParam("space_guid", request.getSpaceId());
+
+            return ListJobsResponse.builder()
+                .pagination(page.toPagination(path.toString()))
+                .resources(page.getResources())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<ListJobHistoriesResponse> listHistories(ListJobHistoriesRequest request) {
+        return Mono.fromCallable(() -> {
+            Page<JobHistory> page = this.store.listJobHistories(request.getJobId(), request.getPage());
+
+            return ListJobHistoriesResponse.builder()
+                .pagination(page.toPagination(String.format("/jobs/%s/history", request.getJobId())))
+                .resources(page.getResources())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<ListJobScheduleHistoriesResponse> listScheduleHistories(ListJobScheduleHistoriesRequest request) {
+        return Mono.fromCallable(() -> {
+            Page<JobHistory> page = this.store.listJobScheduleHistories(request.getJobId(), request.getScheduleId(), request.getPage());
+
+            return ListJobScheduleHistoriesResponse.builder()
+                .pagination(page.toPagination(String.format("/jobs/%s/schedules/%s/history", request.getJobId(), request.getScheduleId())))
+                .resources(page.getResources())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<ListJobSchedulesResponse> listSchedules(ListJobSchedulesRequest request) {
+        return Mono.fromCallable(() -> {
+            Page<JobSchedule> page = this.store.listJobSchedules(request.getJobId(), request.getPage());
+
+            return ListJobSchedulesResponse.builder()
+                .pagination(page.toPagination(String.format("/jobs/%s/schedules", request.getJobId())))
+                .resources(page.getResources())
+                .build();
+        });
+    }
+
+    @Override
+    public Mono<ScheduleJobResponse> schedule(ScheduleJobRequest request) {
+        return Mono.fromCallable(() -> {
+            JobSchedule schedule = this.store.scheduleJob(request.getJobId(), request.getEnabled(), request.getExpression(), request.getExpressionType());
+
+            return ScheduleJobResponse.builder()
+                .createdAt(schedule.getCreatedAt())
+                .enabled(schedule.getEnabled())
+                .expression(schedule.getExpression())
+                .expressionType(schedule.getExpressionType())
+                .id(schedule.getId())
+                .jobId(schedule.getJobId())
+                .updatedAt(schedule.getUpdatedAt())
+                .build();
+        });
+    }
+
+}
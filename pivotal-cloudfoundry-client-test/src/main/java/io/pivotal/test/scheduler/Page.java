@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import io.pivotal.scheduler.v1.Link;
+import io.pivotal.scheduler.v1.Pagination;
+import io.pivotal.scheduler.v1.SchedulerException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A page of resources, numbered from {@code 1} as the Scheduler API numbers them
+ *
+ * @param <T> the type of the resources
+ */
+final class Page<T> {
+
+    private final int page;
+
+    private final List<T> resources;
+
+    private final int totalPages;
+
+    private final int totalResults;
+
+    private Page(int page, List<T> resources, int totalPages, int totalResults) {
+        this.page = page;
+        this.resources = resources;
+        this.totalPages = totalPages;
+        this.totalResults = totalResults;
+    }
+
+    /**
+     * Creates a page of a list of resources.  A list always has at least one, possibly empty, page.
+     *
+     * @param page         the page number, or {@code null} for the first page
+     * @param pageSize     the number of resources in a page
+     * @param totalResults the number of resources in the list
+     * @param slicer       a function that returns the resources between two indexes of the list
+     * @param <T>          the type of the resources
+     * @return the page
+     */
+    static <T> Page<T> of(Integer page, int pageSize, int totalResults, Slicer<T> slicer) {
+        int number = page == null ? 1 : page;
+
+        if (number < 1) {
+            throw new SchedulerException(400, String.format("Page %d is not valid", number), Collections.emptyList());
+        }
+
+        int totalPages = Math.max(1, (totalResults + pageSize - 1) / pageSize);
+        int fromIndex = (int) Math.min((long) (number - 1) * pageSize, totalResults);
+        int toIndex = Math.min(fromIndex + pageSize, totalResults);
+
+        return new Page<>(number, slicer.slice(fromIndex, toIndex), totalPages, totalResults);
+    }
+
+    List<T> getResources() {
+        return this.resources;
+    }
+
+    <R> Page<R> map(Function<T, R> mapper) {
+        return new Page<>(this.page, this.resources.stream().map(mapper).collect(Collectors.toList()), this.totalPages, this.totalResults);
+    }
+
+    /**
+     * Returns the pagination of this page, with links relative to a path
+     *
+     * @param path the path of the list, including any query parameters other than {@code page}
+     * @return the pagination
+     */
+    Pagination toPagination(String path) {
+        Pagination.Builder builder = Pagination.builder()
+            .first(link(path, 1))
+            .last(link(path, this.totalPages))
+            .totalPages(this.totalPages)
+            .totalResults(this.totalResults);
+
+        if (this.page > 1) {
+            builder.previous(link(path, Math.min(this.page - 1, this.totalPages)));
+        }
+
+        if (this.page < this.totalPages) {
+            builder.next(link(path, this.page + 1));
+        }
+
+        return builder.build();
+    }
+
+    private static Link link(String path, int page) {
+        return Link.builder()
+            .href(String.format("%s%spage=%d", path, path.contains("?") ? "&" : "?", page))
+            .build();
+    }
+
+    @FunctionalInterface
+    interface Slicer<T> {
+
+        List<T> slice(int fromIndex, int toIndex);
+
+    }
+
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.QueryStringEncoder;
+import io.pivotal.scheduler.v1.SchedulerError;
+import io.pivotal.scheduler.v1.SchedulerException;
+import io.pivotal.scheduler.v1.schedules.ExpressionType;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static io.netty.handler.codec.http.HttpMethod.DELETE;
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpMethod.POST;
+
+/**
+ * Serves the Scheduler v1 API from a {@link SchedulerStore}.  Requests must be authorized, but any {@code Authorization} header is accepted.
+ */
+final class SchedulerHandler implements BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final SchedulerStore store;
+
+    SchedulerHandler(SchedulerStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Publisher<Void> apply(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asByteArray()
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .map(body -> respond(request, body.orElse(new byte[0])))
+            .flatMap(result -> send(response, result));
+    }
+
+    private static Boolean booleanValue(JsonNode payload, String name) {
+        JsonNode value = payload.path(name);
+        return value.isBoolean() ? value.booleanValue() : null;
+    }
+
+    private static Result created(Object payload) {
+        return new Result(HttpResponseStatus.CREATED, payload);
+    }
+
+    private static Result error(SchedulerException e) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("description", e.getDescription());
+        payload.put("errors", e.getErrors() != null ? e.getErrors() : Collections.emptyList());
+
+        return new Result(HttpResponseStatus.valueOf(e.getStatusCode()), payload);
+    }
+
+    private static ExpressionType expressionType(JsonNode payload) {
+        String value = textValue(payload, "expression_type");
+
+        try {
+            return value != null ? ExpressionType.from(value) : null;
+        } catch (IllegalArgumentException e) {
+            throw new SchedulerException(422, "Validation of resource failed.", Collections.singletonList(SchedulerError.builder()
+                .message(e.getMessage())
+                .resource("scheduleRequest")
+                .build()));
+        }
+    }
+
+    private static SchedulerException notFound(HttpMethod method, String path) {
+        return new SchedulerException(404, String.format("No resource for %s %s", method, path), Collections.emptyList());
+    }
+
+    private static Result noContent() {
+        return new Result(HttpResponseStatus.NO_CONTENT, null);
+    }
+
+    private static Result ok(Object payload) {
+        return new Result(HttpResponseStatus.OK, payload);
+    }
+
+    private static Integer page(QueryStringDecoder uri) {
+        String page = parameter(uri, "page");
+
+        try {
+            return page != null ? Integer.valueOf(page) : null;
+        } catch (NumberFormatException e) {
+            throw new SchedulerException(400, String.format("Page %s is not valid", page), Collections.emptyList());
+        }
+    }
+
+    private static Result page(Page<?> page, QueryStringDecoder uri) {
+        QueryStringEncoder path = new QueryStringEncoder(uri.path());
+        new TreeMap<>(uri.parameters()).forEach((name, values) -> {
+            if (!"page".equals(name)) {
+                values.forEach(value -> path.addParam(name, value));
+            }
+        });
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("pagination", page.toPagination(path.toString()));
+        payload.put("resources", page.getResources());
+
+        return ok(payload);
+    }
+
+    private static String parameter(QueryStringDecoder uri, String name) {
+        List<String> values = uri.parameters().get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    private static String textValue(JsonNode payload, String name) {
+        return payload.path(name).textValue();
+    }
+
+    private Result calls(HttpMethod method, QueryStringDecoder uri, List<String> segments, JsonNode payload) {
+        switch (segments.size()) {
+            case 1:
+                if (POST.equals(method)) {
+                    return created(this.store.createCall(parameter(uri, "app_guid"), textValue(payload, "name"), textValue(payload, "url"), textValue(payload, "auth_header")));
+                } else if (GET.equals(method)) {
+                    return page(this.store.listCalls(parameter(uri, "space_guid"), page(uri)), uri);
+                }
+                break;
+            case 2:
+                if (GET.equals(method)) {
+                    return ok(this.store.getCall(segments.get(1)));
+                } else if (DELETE.equals(method)) {
+                    this.store.deleteCall(segments.get(1));
+                    return noContent();
+                }
+                break;
+            case 3:
+                if (POST.equals(method) && "execute".equals(segments.get(2))) {
+                    return created(this.store.executeCall(segments.get(1)));
+                } else if (GET.equals(method) && "history".equals(segments.get(2))) {
+                    return page(this.store.listCallHistories(segments.get(1), page(uri)), uri);
+                } else if (POST.equals(method) && "schedules".equals(segments.get(2))) {
+                    return created(this.store.scheduleCall(segments.get(1), booleanValue(payload, "enabled"), textValue(payload, "expression"), expressionType(payload)));
+                } else if (GET.equals(method) && "schedules".equals(segments.get(2))) {
+                    return page(this.store.listCallSchedules(segments.get(1), page(uri)), uri);
+                }
+                break;
+            case 4:
+                if (DELETE.equals(method) && "schedules".equals(segments.get(2))) {
+                    this.store.deleteCallSchedule(segments.get(1), segments.get(3));
+                    return noContent();
+                }
+                break;
+            case 5:
+                if (GET.equals(method) && "schedules".equals(segments.get(2)) && "history".equals(segments.get(4))) {
+                    return page(this.store.listCallScheduleHistories(segments.get(1), segments.get(3), page(uri)), uri);
+                }
+                break;
+            default:
+                break;
+        }
+
+        throw notFound(method, uri.path());
+    }
+
+    private Result jobs(HttpMethod method, QueryStringDecoder uri, List<String> segments, JsonNode payload) {
+        switch (segments.size()) {
+            case 1:
+                if (POST.equals(method)) {
+                    return created(this.store.createJob(parameter(uri, "app_guid"), textValue(payload, "name"), textValue(payload, "command")));
+                } else if (GET.equals(method)) {
+                    return page(this.store.listJobs(parameter(uri, "space_guid"), Boolean.parseBoolean(parameter(uri, "detailed")), page(uri)), uri);
+                }
+                break;
+            case 2:
+                if (GET.equals(method)) {
+                    return ok(this.store.getJob(segments.get(1)));
+                } else if (DELETE.equals(method)) {
+                    this.store.deleteJob(segments.get(1));
+                    return noContent();
+                }
+                break;
+            case 3:
+                if (POST.equals(method) && "execute".equals(segments.get(2))) {
+                    return created(this.store.executeJob(segments.get(1)));
+                } else if (GET.equals(method) && "history".equals(segments.get(2))) {
+                    return page(this.store.listJobHistories(segments.get(1), page(uri)), uri);
+                } else if (POST.equals(method) && "schedules".equals(segments.get(2))) {
+                    return created(this.store.scheduleJob(segments.get(1), booleanValue(payload, "enabled"), textValue(payload, "expression"), expressionType(payload)));
+                } else if (GET.equals(method) && "schedules".equals(segments.get(2))) {
+                    return page(this.store.listJobSchedules(segments.get(1), page(uri)), uri);
+                }
+                break;
+            case 4:
+                if (DELETE.equals(method) && "schedules".equals(segments.get(2))) {
+                    this.store.deleteJobSchedule(segments.get(1), segments.get(3));
+                    return noContent();
+                }
+                break;
+            case 5:
+                if (GET.equals(method) && "schedules".equals(segments.get(2)) && "history".equals(segments.get(4))) {
+                    return page(this.store.listJobScheduleHistories(segments.get(1), segments.get(3), page(uri)), uri);
+                }
+                break;
+            default:
+                break;
+        }
+
+        throw notFound(method, uri.path());
+    }
+
+    private Result respond(HttpServerRequest request, byte[] body) {
+        QueryStringDecoder uri = new QueryStringDecoder(request.uri());
+        List<String> segments = Arrays.stream(uri.path().split("/"))
+            .filter(segment -> !segment.isEmpty())
+            .collect(Collectors.toList());
+
+        if (segments.isEmpty()) {
+            return ok(Collections.emptyMap());
+        }
+
+        try {
+            if (!request.requestHeaders().contains(HttpHeaderNames.AUTHORIZATION)) {
+                throw new SchedulerException(401, "Authorization is required", Collections.emptyList());
+            }
+
+            JsonNode payload = body.length == 0 ? this.objectMapper.createObjectNode() : this.objectMapper.readTree(body);
+
+            if ("calls".equals(segments.get(0))) {
+                return calls(request.method(), uri, segments, payload);
+            } else if ("jobs".equals(segments.get(0))) {
+                return jobs(request.method(), uri, segments, payload);
+            } else {
+                throw notFound(request.method(), uri.path());
+            }
+        } catch (SchedulerException e) {
+            return error(e);
+        } catch (IOException e) {
+            return error(new SchedulerException(400, String.format("Request body is not valid: %s", e.getMessage()), Collections.emptyList()));
+        }
+    }
+
+    private Mono<Void> send(HttpServerResponse response, Result result) {
+        if (result.payload == null) {
+            return response.status(result.status).send().then();
+        }
+
+        try {
+            return response
+                .status(result.status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendByteArray(Mono.just(this.objectMapper.writeValueAsBytes(result.payload)))
+                .then();
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static final class Result {
+
+        private final Object payload;
+
+        private final HttpResponseStatus status;
+
+        private Result(HttpResponseStatus status, Object payload) {
+            this.payload = payload;
+            this.status = status;
+        }
+
+    }
+
+}
@@ -0,0 +1,687 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import io.pivotal.scheduler.v1.ExecutionState;
+import io.pivotal.scheduler.v1.SchedulerError;
+import io.pivotal.scheduler.v1.SchedulerException;
+import io.pivotal.scheduler.v1.calls.Call;
+import io.pivotal.scheduler.v1.calls.CallHistory;
+import io.pivotal.scheduler.v1.calls.CallSchedule;
+import io.pivotal.scheduler.v1.jobs.Job;
+import io.pivotal.scheduler.v1.jobs.JobHistory;
+import io.pivotal.scheduler.v1.jobs.JobSchedule;
+import io.pivotal.scheduler.v1.jobs.JobState;
+import io.pivotal.scheduler.v1.schedules.ExpressionType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * The state of a fake Scheduler: jobs and calls, their schedules, and the histories of their executions.  All operations are safe for concurrent use.  Histories are held in compact append-only
+ * logs and are only materialized as {@link JobHistory} and {@link CallHistory} instances a page at a time, so that a store can hold millions of them.  Jobs and calls, which can be deleted, are not
+ * indexed by position: listing a page walks the space from its first job or call, so a full scan of a space of {@code n} jobs or calls takes time quadratic in {@code n}.  Spaces are meant to
+ * hold at most a few thousand of them.
+ * <p>
+ * Operations fail with the {@link SchedulerException} that the Scheduler API would respond with.  Jobs and calls are created in the space of their application, as registered with
+ * {@link #addApplication(String, String)}, or in {@link #DEFAULT_SPACE_ID} if their application is not registered.  Executions complete immediately and successfully.  Enabled cron schedules are
+ * executed by {@link #triggerSchedules()}, for example after advancing a {@link VirtualClock}.
+ */
+public final class SchedulerStore {
+
+    /**
+     * The space of applications that have not been registered
+     */
+    public static final String DEFAULT_SPACE_ID = "default-space-id";
+
+    /**
+     * The default number of resources in a page
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final ConcurrentMap<String, String> applications = new ConcurrentHashMap<>();
+
+    private final Registry calls = new Registry("Call");
+
+    private final Clock clock;
+
+    private final long historyIdPrefix = ThreadLocalRandom.current().nextLong();
+
+    private final Registry jobs = new Registry("Job");
+
+    private final int pageSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final long taskIdPrefix = ThreadLocalRandom.current().nextLong();
+
+    private final PriorityQueue<Trigger> triggers = new PriorityQueue<>(Comparator.comparingLong((Trigger trigger) -> trigger.time).thenComparingLong(trigger -> trigger.sequence));
+
+    /**
+     * Creates a store that uses the system clock and {@link #DEFAULT_PAGE_SIZE}
+     */
+    public SchedulerStore() {
+        this(Clock.systemUTC(), DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a store
+     *
+     * @param clock    the clock that timestamps resources and executions
+     * @param pageSize the number of resources in a page
+     */
+    public SchedulerStore(Clock clock, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be greater than 0");
+        }
+
+        this.clock = clock;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Registers the space of an application
+     *
+     * @param applicationId the application id
+     * @param spaceId       the space id
+     */
+    public void addApplication(String applicationId, String spaceId) {
+        this.applications.put(applicationId, spaceId);
+    }
+
+    /**
+     * Adds successful executions to the history of a call, one minute apart and ending now
+     *
+     * @param callId the call id
+     * @param count  the number of executions to add
+     */
+    public void addCallHistories(String callId, int count) {
+        addHistories(this.calls.get(callId), count);
+    }
+
+    /**
+     * Adds successful executions to the history of a job, one minute apart and ending now
+     *
+     * @param jobId the job id
+     * @param count the number of executions to add
+     */
+    public void addJobHistories(String jobId, int count) {
+        addHistories(this.jobs.get(jobId), count);
+    }
+
+    /**
+     * Creates a call in the space of its application
+     *
+     * @param applicationId       the application id
+     * @param name                the name of the call
+     * @param url                 the URL the call requests
+     * @param authorizationHeader the authorization header the call sends
+     * @return the call
+     * @throws SchedulerException if a value is not specified
+     */
+    public Call createCall(String applicationId, String name, String url, String authorizationHeader) {
+        requireValue("callRequest", "app_guid", applicationId);
+        requireValue("callRequest", "name", name);
+        requireValue("callRequest", "url", url);
+        requireValue("callRequest", "auth_header", authorizationHeader);
+
+        Entry entry = new Entry(UUID.randomUUID().toString(), this.sequence.incrementAndGet(), applicationId, getSpaceId(applicationId), name, now(), null, url, authorizationHeader);
+        this.calls.add(entry);
+        return toCall(entry);
+    }
+
+    /**
+     * Creates a job in the space of its application
+     *
+     * @param applicationId the application id
+     * @param name          the name of the job
+     * @param command       the command the job runs
+     * @return the job
+     * @throws SchedulerException if a value is not specified
+     */
+    public Job createJob(String applicationId, String name, String command) {
+        requireValue("jobRequest", "app_guid", applicationId);
+        requireValue("jobRequest", "name", name);
+        requireValue("jobRequest", "command", command);
+
+        Entry entry = new Entry(UUID.randomUUID().toString(), this.sequence.incrementAndGet(), applicationId, getSpaceId(applicationId), name, now(), command, null, null);
+        this.jobs.add(entry);
+        return toJob(entry, false);
+    }
+
+    /**
+     * Returns the clock that timestamps resources and executions
+     *
+     * @return the clock
+     */
+    public Clock getClock() {
+        return this.clock;
+    }
+
+    /**
+     * Returns the number of resources in a page
+     *
+     * @return the page size
+     */
+    public int getPageSize() {
+        return this.pageSize;
+    }
+
+    /**
+     * Executes every occurrence of the enabled cron schedules up to the current time of the clock that has not already been executed.  Occurrences are executed in time order, and each execution
+     * starts and ends at its scheduled time.
+     *
+     * @return the number of executions
+     */
+    public int triggerSchedules() {
+        long now = this.clock.millis();
+        int executions = 0;
+
+        synchronized (this.triggers) {
+            for (Trigger trigger = this.triggers.peek(); trigger != null && trigger.time <= now; trigger = this.triggers.peek()) {
+                this.triggers.poll();
+
+                if (trigger.registry.contains(trigger.entry, trigger.schedule)) {
+                    execute(trigger.entry, trigger.schedule, trigger.time, trigger.time);
+                    executions++;
+                    addTrigger(trigger.registry, trigger.entry, trigger.schedule, trigger.time);
+                }
+            }
+        }
+
+        return executions;
+    }
+
+    void deleteCall(String callId) {
+        this.calls.remove(callId);
+    }
+
+    void deleteCallSchedule(String callId, String scheduleId) {
+        this.calls.removeSchedule(this.calls.get(callId), scheduleId);
+    }
+
+    void deleteJob(String jobId) {
+        this.jobs.remove(jobId);
+    }
+
+    void deleteJobSchedule(String jobId, String scheduleId) {
+        this.jobs.removeSchedule(this.jobs.get(jobId), scheduleId);
+    }
+
+    CallHistory executeCall(String callId) {
+        Entry entry = this.calls.get(callId);
+        long now = this.clock.millis();
+        return toCallHistory(entry, execute(entry, null, now, now));
+    }
+
+    JobHistory executeJob(String jobId) {
+        Entry entry = this.jobs.get(jobId);
+        long now = this.clock.millis();
+        return toJobHistory(entry, execute(entry, null, now, now));
+    }
+
+    Call getCall(String callId) {
+        return toCall(this.calls.get(callId));
+    }
+
+    Job getJob(String jobId) {
+        return toJob(this.jobs.get(jobId), false);
+    }
+
+    static boolean isNotFound(Throwable t) {
+        return t instanceof SchedulerException && Integer.valueOf(404).equals(((SchedulerException) t).getStatusCode());
+    }
+
+    Page<CallHistory> listCallHistories(String callId, Integer page) {
+        Entry entry = this.calls.get(callId);
+        return page(page, entry.histories).map(history -> toCallHistory(entry, history));
+    }
+
+    Page<CallHistory> listCallScheduleHistories(String callId, String scheduleId, Integer page) {
+        Entry entry = this.calls.get(callId);
+        return page(page, this.calls.getSchedule(entry, scheduleId).histories).map(history -> toCallHistory(entry, history));
+    }
+
+    Page<CallSchedule> listCallSchedules(String callId, Integer page) {
+        Entry entry = this.calls.get(callId);
+        return page(page, entry.schedules).map(schedule -> toCallSchedule(entry, schedule));
+    }
+
+    Page<Call> listCalls(String spaceId, Integer page) {
+        requireValue("callRequest", "space_guid", spaceId);
+        return this.calls.list(spaceId, page, this.pageSize).map(SchedulerStore::toCall);
+    }
+
+    Page<JobHistory> listJobHistories(String jobId, Integer page) {
+        Entry entry = this.jobs.get(jobId);
+        return page(page, entry.histories).map(history -> toJobHistory(entry, history));
+    }
+
+    Page<JobHistory> listJobScheduleHistories(String jobId, String scheduleId, Integer page) {
+        Entry entry = this.jobs.get(jobId);
+        return page(page, this.jobs.getSchedule(entry, scheduleId).histories).map(history -> toJobHistory(entry, history));
+    }
+
+    Page<JobSchedule> listJobSchedules(String jobId, Integer page) {
+        Entry entry = this.jobs.get(jobId);
+        return page(page, entry.schedules).map(schedule -> toJobSchedule(entry, schedule));
+    }
+
+    Page<Job> listJobs(String spaceId, boolean detailed, Integer page) {
+        requireValue("jobRequest", "space_guid", spaceId);
+        return this.jobs.list(spaceId, page, this.pageSize).map(entry -> toJob(entry, detailed));
+    }
+
+    CallSchedule scheduleCall(String callId, Boolean enabled, String expression, ExpressionType expressionType) {
+        Entry entry = this.calls.get(callId);
+        return toCallSchedule(entry, schedule(this.calls, entry, enabled, expression, expressionType));
+    }
+
+    JobSchedule scheduleJob(String jobId, Boolean enabled, String expression, ExpressionType expressionType) {
+        Entry entry = this.jobs.get(jobId);
+        return toJobSchedule(entry, schedule(this.jobs, entry, enabled, expression, expressionType));
+    }
+
+    private static String format(long epochMilli) {
+        return Instant.ofEpochMilli(epochMilli).toString();
+    }
+
+    private static SchedulerException invalid(String resource, String message) {
+        return new SchedulerException(422, "Validation of resource failed.", Collections.singletonList(SchedulerError.builder()
+            .message(message)
+            .resource(resource)
+            .build()));
+    }
+
+    private static SchedulerException notFound(String type, String id) {
+        return new SchedulerException(404, String.format("%s %s not found", type, id), Collections.emptyList());
+    }
+
+    private static void requireValue(String resource, String name, Object value) {
+        if (value == null || value.toString().trim().isEmpty()) {
+            throw invalid(resource, String.format("%s must be specified", name));
+        }
+    }
+
+    private static Call toCall(Entry entry) {
+        return Call.builder()
+            .applicationId(entry.applicationId)
+            .authorizationHeader(entry.authorizationHeader)
+            .createdAt(entry.createdAt)
+            .id(entry.id)
+            .name(entry.name)
+            .spaceId(entry.spaceId)
+            .updatedAt(entry.createdAt)
+            .url(entry.url)
+            .build();
+    }
+
+    private static CallSchedule toCallSchedule(Entry entry, Schedule schedule) {
+        return CallSchedule.builder()
+            .callId(entry.id)
+            .createdAt(schedule.createdAt)
+            .enabled(schedule.enabled)
+            .expression(schedule.expression)
+            .expressionType(schedule.expressionType)
+            .id(schedule.id)
+            .updatedAt(schedule.createdAt)
+            .build();
+    }
+
+    private static Job toJob(Entry entry, boolean detailed) {
+        Job.Builder builder = Job.builder()
+            .applicationId(entry.applicationId)
+            .command(entry.command)
+            .createdAt(entry.createdAt)
+            .id(entry.id)
+            .name(entry.name)
+            .spaceId(entry.spaceId)
+            .state(JobState.AVAILABLE)
+            .updatedAt(entry.createdAt);
+
+        if (detailed) {
+            builder.jobSchedules(entry.schedules.stream()
+                .map(schedule -> toJobSchedule(entry, schedule))
+                .collect(Collectors.toList()));
+        }
+
+        return builder.build();
+    }
+
+    private static JobSchedule toJobSchedule(Entry entry, Schedule schedule) {
+        return JobSchedule.builder()
+            .createdAt(schedule.createdAt)
+            .enabled(schedule.enabled)
+            .expression(schedule.expression)
+            .expressionType(schedule.expressionType)
+            .id(schedule.id)
+            .jobId(entry.id)
+            .updatedAt(schedule.createdAt)
+            .build();
+    }
+
+    private void addHistories(Entry entry, int count) {
+        long end = this.clock.millis();
+
+        for (int i = count; i > 0; i--) {
+            long scheduledTime = end - Duration.ofMinutes(i).toMillis();
+            entry.histories.add(new History(this.sequence.incrementAndGet(), null, scheduledTime, scheduledTime, scheduledTime + 1_000, ExecutionState.SUCCEEDED));
+        }
+    }
+
+    private void addTrigger(Registry registry, Entry entry, Schedule schedule, long after) {
+        long time = schedule.cron.next(after);
+
+        if (time >= 0) {
+            synchronized (this.triggers) {
+                this.triggers.add(new Trigger(this.sequence.incrementAndGet(), time, registry, entry, schedule));
+            }
+        }
+    }
+
+    private History execute(Entry entry, Schedule schedule, long scheduledTime, long executionTime) {
+        History history = new History(this.sequence.incrementAndGet(), schedule, scheduledTime, executionTime, executionTime, ExecutionState.SUCCEEDED);
+
+        entry.histories.add(history);
+        if (schedule != null) {
+            schedule.histories.add(history);
+        }
+
+        return history;
+    }
+
+    private String getSpaceId(String applicationId) {
+        return this.applications.getOrDefault(applicationId, DEFAULT_SPACE_ID);
+    }
+
+    private String now() {
+        return format(this.clock.millis());
+    }
+
+    private <T> Page<T> page(Integer page, HistoryLog<T> log) {
+        return Page.of(page, this.pageSize, log.size(), log::get);
+    }
+
+    private <T> Page<T> page(Integer page, List<T> list) {
+        List<T> snapshot = new ArrayList<>(list);
+        return Page.of(page, this.pageSize, snapshot.size(), snapshot::subList);
+    }
+
+    private Schedule schedule(Registry registry, Entry entry, Boolean enabled, String expression, ExpressionType expressionType) {
+        requireValue("scheduleRequest", "enabled", enabled);
+        requireValue("scheduleRequest", "expression", expression);
+        requireValue("scheduleRequest", "expression_type", expressionType);
+
+        CronExpression cron = null;
+        if (ExpressionType.CRON == expressionType) {
+            try {
+                cron = CronExpression.parse(expression);
+            } catch (IllegalArgumentException e) {
+                throw invalid("scheduleRequest", e.getMessage());
+            }
+        }
+
+        Schedule schedule = new Schedule(UUID.randomUUID().toString(), now(), cron, enabled, expression, expressionType);
+        entry.schedules.add(schedule);
+
+        if (enabled && cron != null) {
+            addTrigger(registry, entry, schedule, this.clock.millis());
+        }
+
+        return schedule;
+    }
+
+    private CallHistory toCallHistory(Entry entry, History history) {
+        return CallHistory.builder()
+            .callId(entry.id)
+            .executionEndTime(format(history.executionEndTime))
+            .executionStartTime(format(history.executionStartTime))
+            .id(new UUID(this.historyIdPrefix, history.sequence).toString())
+            .scheduleId(history.schedule != null ? history.schedule.id : null)
+            .scheduledTime(format(history.scheduledTime))
+            .state(history.state)
+            .build();
+    }
+
+    private JobHistory toJobHistory(Entry entry, History history) {
+        return JobHistory.builder()
+            .executionEndTime(format(history.executionEndTime))
+            .executionStartTime(format(history.executionStartTime))
+            .id(new UUID(this.historyIdPrefix, history.sequence).toString())
+            .jobId(entry.id)
+            .scheduleId(history.schedule != null ? history.schedule.id : null)
+            .scheduledTime(format(history.scheduledTime))
+            .state(history.state)
+            .taskId(new UUID(this.taskIdPrefix, history.sequence).toString())
+            .build();
+    }
+
+    /**
+     * A job or call.  Jobs have a command, and calls have a URL and authorization header.
+     */
+    private static final class Entry {
+
+        private final String applicationId;
+
+        private final String authorizationHeader;
+
+        private final String command;
+
+        private final String createdAt;
+
+        private final HistoryLog<History> histories = new HistoryLog<>();
+
+        private final String id;
+
+        private final String name;
+
+        private final List<Schedule> schedules = new CopyOnWriteArrayList<>();
+
+        private final long sequence;
+
+        private final String spaceId;
+
+        private final String url;
+
+        private Entry(String id, long sequence, String applicationId, String spaceId, String name, String createdAt, String command, String url, String authorizationHeader) {
+            this.applicationId = applicationId;
+            this.authorizationHeader = authorizationHeader;
+            this.command = command;
+            this.createdAt = createdAt;
+            this.id = id;
+            this.name = name;
+            this.sequence = sequence;
+            this.spaceId = spaceId;
+            this.url = url;
+        }
+
+    }
+
+    /**
+     * An execution.  Its identifiers are derived from its sequence, and its times are held as epoch milliseconds, so that it is only formatted when it is read.
+     */
+    private static final class History {
+
+        private final long executionEndTime;
+
+        private final long executionStartTime;
+
+        private final Schedule schedule;
+
+        private final long scheduledTime;
+
+        private final long sequence;
+
+        private final ExecutionState state;
+
+        private History(long sequence, Schedule schedule, long scheduledTime, long executionStartTime, long executionEndTime, ExecutionState state) {
+            this.executionEndTime = executionEndTime;
+            this.executionStartTime = executionStartTime;
+            this.schedule = schedule;
+            this.scheduledTime = scheduledTime;
+            this.sequence = sequence;
+            this.state = state;
+        }
+
+    }
+
+    /**
+     * The jobs or calls of a store, indexed by id and, in creation order, by space.  A page of a space is found by skipping the entries before it, which costs time linear in its offset.
+     */
+    private static final class Registry {
+
+        private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<String, ConcurrentSkipListMap<Long, Entry>> spaces = new ConcurrentHashMap<>();
+
+        private final String type;
+
+        private Registry(String type) {
+            this.type = type;
+        }
+
+        private void add(Entry entry) {
+            this.entries.put(entry.id, entry);
+            this.spaces.compute(entry.spaceId, (spaceId, space) -> {
+                ConcurrentSkipListMap<Long, Entry> sequenced = space != null ? space : new ConcurrentSkipListMap<>();
+                sequenced.put(entry.sequence, entry);
+                return sequenced;
+            });
+        }
+
+        private boolean contains(Entry entry, Schedule schedule) {
+            return this.entries.get(entry.id) == entry && entry.schedules.contains(schedule);
+        }
+
+        private Entry get(String id) {
+            Entry entry = this.entries.get(id);
+
+            if (entry == null) {
+                throw notFound(this.type, id);
+            }
+
+            return entry;
+        }
+
+        private Schedule getSchedule(Entry entry, String scheduleId) {
+            return entry.schedules.stream()
+                .filter(schedule -> schedule.id.equals(scheduleId))
+                .findFirst()
+                .orElseThrow(() -> notFound("Schedule", scheduleId));
+        }
+
+        private Page<Entry> list(String spaceId, Integer page, int pageSize) {
+            Map<Long, Entry> space = this.spaces.getOrDefault(spaceId, new ConcurrentSkipListMap<>());
+
+            return Page.of(page, pageSize, space.size(), (fromIndex, toIndex) -> space.values().stream()
+                .skip(fromIndex)
+                .limit(toIndex - fromIndex)
+                .collect(Collectors.toList()));
+        }
+
+        private void remove(String id) {
+            Entry entry = this.entries.remove(id);
+
+            if (entry == null) {
+                throw notFound(this.type, id);
+            }
+
+            this.spaces.computeIfPresent(entry.spaceId, (spaceId, space) -> {
+                space.remove(entry.sequence);
+                return space.isEmpty() ? null : space;
+            });
+        }
+
+        private void removeSchedule(Entry entry, String scheduleId) {
+            if (!entry.schedules.remove(getSchedule(entry, scheduleId))) {
+                throw notFound("Schedule", scheduleId);
+            }
+        }
+
+    }
+
+    /**
+     * A schedule of a job or call, and the history of the executions it has triggered
+     */
+    private static final class Schedule {
+
+        private final String createdAt;
+
+        private final CronExpression cron;
+
+        private final boolean enabled;
+
+        private final String expression;
+
+        private final ExpressionType expressionType;
+
+        private final HistoryLog<History> histories = new HistoryLog<>();
+
+        private final String id;
+
+        private Schedule(String id, String createdAt, CronExpression cron, boolean enabled, String expression, ExpressionType expressionType) {
+            this.createdAt = createdAt;
+            this.cron = cron;
+            this.enabled = enabled;
+            this.expression = expression;
+            this.expressionType = expressionType;
+            this.id = id;
+        }
+
+    }
+
+    /**
+     * The next occurrence of a cron schedule
+     */
+    private static final class Trigger {
+
+        private final Entry entry;
+
+        private final Registry registry;
+
+        private final Schedule schedule;
+
+        private final long sequence;
+
+        private final long time;
+
+        private Trigger(long sequence, long time, Registry registry, Entry entry, Schedule schedule) {
+            this.entry = entry;
+            this.registry = registry;
+            this.schedule = schedule;
+            this.sequence = sequence;
+            this.time = time;
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Clock} that only moves when it is advanced, so that a simulation can cover days of schedules in milliseconds.  Copies made with {@link #withZone(ZoneId)} share the time of the clock
+ * they were made from.
+ */
+public final class VirtualClock extends Clock {
+
+    private final AtomicLong millis;
+
+    private final ZoneId zone;
+
+    /**
+     * Creates a clock set to the current time
+     */
+    public VirtualClock() {
+        this(Instant.now());
+    }
+
+    /**
+     * Creates a clock set to an instant
+     *
+     * @param instant the instant
+     */
+    public VirtualClock(Instant instant) {
+        this(new AtomicLong(instant.toEpochMilli()), ZoneOffset.UTC);
+    }
+
+    private VirtualClock(AtomicLong millis, ZoneId zone) {
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    /**
+     * Moves the clock forward
+     *
+     * @param duration how far to move the clock
+     */
+    public void advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("A virtual clock cannot be moved backward");
+        }
+
+        this.millis.addAndGet(duration.toMillis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return this.zone;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(this.millis.get());
+    }
+
+    @Override
+    public long millis() {
+        return this.millis.get();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new VirtualClock(this.millis, zone);
+    }
+
+}
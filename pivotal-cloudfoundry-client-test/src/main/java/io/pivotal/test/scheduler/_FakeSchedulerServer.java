@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import io.pivotal.test.fault.FaultInjectingHandler;
+import io.pivotal.test.fault.FaultInjector;
+import org.immutables.value.Value;
+import org.reactivestreams.Publisher;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * An in-process fake of the Scheduler v1 API, serving jobs, calls, schedules, executions and their histories from a {@link SchedulerStore}.  The server is bound when it is built and must be
+ * disposed of when it is no longer needed.  Copies are not generated, since each copy would bind another server.  Schedules are only executed when {@link SchedulerStore#triggerSchedules()}
+ * is called.
+ */
+@Value.Immutable(copy = false)
+abstract class _FakeSchedulerServer {
+
+    /**
+     * Disposes of the server
+     */
+    public void dispose() {
+        getServer().disposeNow();
+    }
+
+    /**
+     * The injector of faults into the responses of the server.  If not set, no faults are injected.
+     */
+    public abstract Optional<FaultInjector> getFaultInjector();
+
+    /**
+     * The host to bind to
+     */
+    @Value.Default
+    public String getHost() {
+        return "127.0.0.1";
+    }
+
+    /**
+     * The port to bind to.  If not set, an ephemeral port is used.
+     */
+    @Value.Default
+    public int getPort() {
+        return 0;
+    }
+
+    /**
+     * The HTTP protocols to serve.  If not set, HTTP/1.1 is served.
+     */
+    public abstract List<HttpProtocol> getProtocols();
+
+    /**
+     * Returns the root of the server, for example to configure a client with
+     *
+     * @return the root
+     */
+    public String getRoot() {
+        return String.format("http://%s:%d", getHost(), getServer().port());
+    }
+
+    /**
+     * The state the server serves.  If not set, an empty store is used.
+     */
+    @Value.Default
+    public SchedulerStore getStore() {
+        return new SchedulerStore();
+    }
+
+    /**
+     * The bound server
+     */
+    @Value.Derived
+    DisposableServer getServer() {
+        HttpServer server = HttpServer.create()
+            .host(getHost())
+            .port(getPort());
+
+        if (!getProtocols().isEmpty()) {
+            server = server.protocol(getProtocols().toArray(new HttpProtocol[0]));
+        }
+
+        BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handler = new SchedulerHandler(getStore());
+
+        if (getFaultInjector().isPresent()) {
+            handler = new FaultInjectingHandler(handler, getFaultInjector().get());
+        }
+
+        return server
+            .handle(handler)
+            .bindNow();
+    }
+
+}
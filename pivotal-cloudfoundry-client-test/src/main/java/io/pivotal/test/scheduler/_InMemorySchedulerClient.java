@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import io.pivotal.scheduler.SchedulerClient;
+import io.pivotal.scheduler.v1.calls.Calls;
+import io.pivotal.scheduler.v1.jobs.Jobs;
+import org.immutables.value.Value;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * An implementation of {@link SchedulerClient} that operates directly on a {@link SchedulerStore}, without HTTP.  Responses and failures, including pagination, are those of a
+ * {@link FakeSchedulerServer} serving the same store, except that the {@code fields} of paginated requests are ignored.  Time only passes when the client is {@link #advance(Duration) advanced}.
+ */
+@Value.Immutable
+abstract class _InMemorySchedulerClient implements SchedulerClient {
+
+    /**
+     * Advances the {@link VirtualClock} of the store and executes the occurrences of its cron schedules that have come due
+     *
+     * @param duration how far to advance the clock
+     * @return the number of executions
+     * @throws IllegalStateException if the clock of the store is not a {@link VirtualClock}
+     */
+    public int advance(Duration duration) {
+        Clock clock = getStore().getClock();
+
+        if (!(clock instanceof VirtualClock)) {
+            throw new IllegalStateException(String.format("The clock of the store is a %s rather than a %s", clock.getClass().getSimpleName(), VirtualClock.class.getSimpleName()));
+        }
+
+        ((VirtualClock) clock).advance(duration);
+        return getStore().triggerSchedules();
+    }
+
+    @Override
+    @Value.Derived
+    public Calls calls() {
+        return new InMemoryCalls(getStore());
+    }
+
+    /**
+     * The state the client operates on.  If not set, an empty store with a {@link VirtualClock} set to the current time is used.
+     */
+    @Value.Default
+    public SchedulerStore getStore() {
+        return new SchedulerStore(new VirtualClock(), SchedulerStore.DEFAULT_PAGE_SIZE);
+    }
+
+    @Override
+    @Value.Derived
+    public Jobs jobs() {
+        return new InMemoryJobs(getStore());
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.fault;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+public final class FaultInjectorTest {
+
+    @Test
+    public void errorBursts() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .errorBurstLength(5)
+            .errorBurstProbability(0.05)
+            .errorBurstRetryAfter(Duration.ofMillis(1_500))
+            .errorBurstStatus(429)
+            .build(), 0);
+
+        int run = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            Fault fault = faultInjector.next();
+
+            if (fault.getType() == FaultType.ERROR_BURST) {
+                assertThat(fault.getStatus()).isEqualTo(429);
+                assertThat(fault.getPayload()).isEqualTo("{\"description\":\"Too Many Requests\",\"errors\":[]}");
+                assertThat(fault.getRetryAfter()).hasValue("2");
+                run++;
+            } else {
+                assertThat(run % 5).isZero();
+                run = 0;
+            }
+        }
+
+        assertThat(faultInjector.getCount(FaultType.ERROR_BURST)).isGreaterThan(0);
+    }
+
+    @Test
+    public void invalidProbability() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new FaultInjector(FaultProfile.builder()
+                .slowBodyProbability(1.5)
+                .build()))
+            .withMessage("The slow body probability 1.5 must be between 0 and 1");
+    }
+
+    @Test
+    public void invalidProbabilitySum() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new FaultInjector(FaultProfile.builder()
+                .connectionResetProbability(0.6)
+                .malformedErrorProbability(0.6)
+                .build()))
+            .withMessage("The sum of the fault probabilities must not be greater than 1");
+    }
+
+    @Test
+    public void latency() {
+        LatencyDistribution distribution = LatencyDistribution.exponential(Duration.ofMillis(10));
+        Random random = new Random(0);
+        long total = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            total += distribution.sample(random).toNanos();
+        }
+
+        assertThat(total / 10_000 / 1e6).isCloseTo(10.0, within(1.0));
+    }
+
+    @Test
+    public void none() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .build());
+
+        for (int i = 0; i < 1_000; i++) {
+            Fault fault = faultInjector.next();
+
+            assertThat(fault.getType()).isEqualTo(FaultType.NONE);
+            assertThat(fault.getLatency()).isEqualTo(Duration.ZERO);
+        }
+
+        assertThat(faultInjector.getRequests()).isEqualTo(1_000);
+    }
+
+    @Test
+    public void probabilities() {
+        FaultInjector faultInjector = new FaultInjector(FaultProfile.builder()
+            .connectionResetProbability(0.2)
+            .malformedErrorProbability(0.1)
+            .slowBodyProbability(0.1)
+            .build(), 0);
+
+        for (int i = 0; i < 10_000; i++) {
+            Fault fault = faultInjector.next();
+
+            if (fault.getType() == FaultType.MALFORMED_ERROR) {
+                assertThat(fault.getStatus()).isEqualTo(500);
+                assertThat(fault.getPayload()).isNotNull();
+            }
+        }
+
+        assertThat(faultInjector.getCount(FaultType.CONNECTION_RESET)).isBetween(1_800L, 2_200L);
+        assertThat(faultInjector.getCount(FaultType.ERROR_BURST)).isZero();
+        assertThat(faultInjector.getCount(FaultType.MALFORMED_ERROR)).isBetween(850L, 1_150L);
+        assertThat(faultInjector.getCount(FaultType.NONE)).isBetween(5_750L, 6_250L);
+        assertThat(faultInjector.getCount(FaultType.SLOW_BODY)).isBetween(850L, 1_150L);
+    }
+
+    @Test
+    public void seed() {
+        FaultProfile profile = FaultProfile.builder()
+            .connectionResetProbability(0.25)
+            .errorBurstProbability(0.25)
+            .latency(LatencyDistribution.uniform(Duration.ofMillis(1), Duration.ofMillis(100)))
+            .build();
+
+        FaultInjector first = new FaultInjector(profile, 42);
+        FaultInjector second = new FaultInjector(profile, 42);
+
+        for (int i = 0; i < 1_000; i++) {
+            Fault expected = first.next();
+            Fault actual = second.next();
+
+            assertThat(actual.getType()).isEqualTo(expected.getType());
+            assertThat(actual.getLatency()).isEqualTo(expected.getLatency());
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public final class CronExpressionTest {
+
+    @Test
+    public void invalidFieldCount() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> CronExpression.parse("a b c d e f"))
+            .withMessage("The cron expression 'a b c d e f' is invalid.");
+    }
+
+    @Test
+    public void invalidRange() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> CronExpression.parse("0 12-1 * * *"))
+            .withMessage("The cron expression '0 12-1 * * *' is invalid.");
+    }
+
+    @Test
+    public void invalidStep() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> CronExpression.parse("*/0 * * * *"))
+            .withMessage("The cron expression '*/0 * * * *' is invalid.");
+    }
+
+    @Test
+    public void invalidValue() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> CronExpression.parse("60 * * * *"))
+            .withMessage("The cron expression '60 * * * *' is invalid.");
+    }
+
+    @Test
+    public void next() {
+        CronExpression expression = CronExpression.parse("*/15 9-17 * * *");
+
+        assertThat(expression.next(millis("2019-01-01T00:00:00Z"))).isEqualTo(millis("2019-01-01T09:00:00Z"));
+        assertThat(expression.next(millis("2019-01-01T09:00:00Z"))).isEqualTo(millis("2019-01-01T09:15:00Z"));
+        assertThat(expression.next(millis("2019-01-01T17:45:30Z"))).isEqualTo(millis("2019-01-02T09:00:00Z"));
+    }
+
+    @Test
+    public void nextDayOfMonthOrDayOfWeek() {
+        CronExpression expression = CronExpression.parse("0 12 1 * MON");
+
+        assertThat(expression.next(millis("2019-01-01T00:00:00Z"))).isEqualTo(millis("2019-01-01T12:00:00Z"));
+        assertThat(expression.next(millis("2019-01-01T12:00:00Z"))).isEqualTo(millis("2019-01-07T12:00:00Z"));
+    }
+
+    @Test
+    public void nextNone() {
+        assertThat(CronExpression.parse("0 0 30 2 *").next(millis("2019-01-01T00:00:00Z"))).isEqualTo(-1);
+    }
+
+    @Test
+    public void valid() {
+        assertThatCode(() -> CronExpression.parse("*/15 0-6,18 ? JAN-MAR,DEC mon-fri")).doesNotThrowAnyException();
+        assertThatCode(() -> CronExpression.parse("0 12 1 * 7")).doesNotThrowAnyException();
+    }
+
+    private static long millis(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+
+}
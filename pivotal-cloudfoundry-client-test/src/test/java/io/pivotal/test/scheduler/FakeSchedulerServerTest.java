@@ -0,0 +1,278 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.pivotal.scheduler.v1.schedules.ExpressionType;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static io.netty.handler.codec.http.HttpMethod.DELETE;
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpMethod.POST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class FakeSchedulerServerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SchedulerStore store = new SchedulerStore(Clock.fixed(Instant.parse("2019-01-01T00:00:00Z"), ZoneOffset.UTC), 2);
+
+    private final FakeSchedulerServer server = FakeSchedulerServer.builder()
+        .store(this.store)
+        .build();
+
+    private final HttpClient client = HttpClient.create()
+        .baseUrl(this.server.getRoot())
+        .headers(headers -> headers.add(HttpHeaderNames.AUTHORIZATION, "bearer test-token"));
+
+    @Test
+    public void createCall() {
+        request(POST, "/calls?app_guid=test-application-id", "{\"auth_header\":\"test-authorization-header\",\"name\":\"test-name\",\"url\":\"test-url\"}")
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(201);
+                assertThat(response.getT2().path("guid").textValue()).isNotEmpty();
+                assertThat(response.getT2().path("auth_header").textValue()).isEqualTo("test-authorization-header");
+                assertThat(response.getT2().path("space_guid").textValue()).isEqualTo(SchedulerStore.DEFAULT_SPACE_ID);
+                assertThat(response.getT2().path("url").textValue()).isEqualTo("test-url");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void createJob() {
+        this.store.addApplication("test-application-id", "test-space-id");
+
+        request(POST, "/jobs?app_guid=test-application-id", "{\"command\":\"test-command\",\"name\":\"test-name\"}")
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(201);
+                assertThat(response.getT2().path("guid").textValue()).isNotEmpty();
+                assertThat(response.getT2().path("app_guid").textValue()).isEqualTo("test-application-id");
+                assertThat(response.getT2().path("command").textValue()).isEqualTo("test-command");
+                assertThat(response.getT2().path("created_at").textValue()).isEqualTo("2019-01-01T00:00:00Z");
+                assertThat(response.getT2().path("space_guid").textValue()).isEqualTo("test-space-id");
+                assertThat(response.getT2().path("state").textValue()).isEqualTo("AVAILABLE");
+                assertThat(response.getT2().has("schedules")).isFalse();
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void createJobInvalid() {
+        request(POST, "/jobs?app_guid=test-application-id", "{\"name\":\"test-name\"}")
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(422);
+                assertThat(response.getT2().path("description").textValue()).isEqualTo("Validation of resource failed.");
+                assertThat(response.getT2().path("errors").path(0).path("messages").path(0).textValue()).isEqualTo("command must be specified");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void deleteJob() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+
+        request(DELETE, "/jobs/" + jobId, null)
+            .then(request(GET, "/jobs/" + jobId, null))
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> assertThat(response.getT1()).isEqualTo(404))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void dispose() {
+        this.server.dispose();
+
+        assertThat(this.server.getServer().isDisposed()).isTrue();
+    }
+
+    @Test
+    public void executeJob() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+
+        request(POST, "/jobs/" + jobId + "/execute", null)
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(201);
+                assertThat(response.getT2().path("job_guid").textValue()).isEqualTo(jobId);
+                assertThat(response.getT2().path("execution_start_time").textValue()).isEqualTo("2019-01-01T00:00:00Z");
+                assertThat(response.getT2().path("state").textValue()).isEqualTo("SUCCEEDED");
+                assertThat(response.getT2().path("task_guid").textValue()).isNotEmpty();
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void getCallNotFound() {
+        request(GET, "/calls/test-call-id", null)
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(404);
+                assertThat(response.getT2().path("description").textValue()).isEqualTo("Call test-call-id not found");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void listJobHistories() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+        this.store.addJobHistories(jobId, 5);
+
+        request(GET, "/jobs/" + jobId + "/history?page=2", null)
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(200);
+                assertThat(response.getT2().path("pagination").path("total_pages").intValue()).isEqualTo(3);
+                assertThat(response.getT2().path("pagination").path("total_results").intValue()).isEqualTo(5);
+                assertThat(response.getT2().path("pagination").path("next").path("href").textValue()).isEqualTo("/jobs/" + jobId + "/history?page=3");
+                assertThat(response.getT2().path("pagination").path("previous").path("href").textValue()).isEqualTo("/jobs/" + jobId + "/history?page=1");
+                assertThat(response.getT2().path("resources")).hasSize(2);
+                assertThat(response.getT2().path("resources").path(0).path("scheduled_time").textValue()).isEqualTo("2018-12-31T23:57:00Z");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void listJobHistoriesLarge() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+        this.store.addJobHistories(jobId, 1_000_000);
+
+        request(GET, "/jobs/" + jobId + "/history?page=500000", null)
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT2().path("pagination").path("total_results").intValue()).isEqualTo(1_000_000);
+                assertThat(response.getT2().path("pagination").has("next")).isFalse();
+                assertThat(response.getT2().path("resources")).hasSize(2);
+                assertThat(response.getT2().path("resources").path(1).path("scheduled_time").textValue()).isEqualTo("2018-12-31T23:59:00Z");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void listJobScheduleHistories() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+        request(POST, "/jobs/" + jobId + "/schedules", "{\"enabled\":true,\"expression\":\"0 12 * * *\",\"expression_type\":\"cron_expression\"}")
+            .map(response -> response.getT2().path("guid").textValue())
+            .flatMap(scheduleId -> request(GET, "/jobs/" + jobId + "/schedules/" + scheduleId + "/history", null))
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(200);
+                assertThat(response.getT2().path("pagination").path("total_results").intValue()).isEqualTo(0);
+                assertThat(response.getT2().path("resources")).isEmpty();
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void listJobsDetailed() {
+        this.store.addApplication("test-application-id", "test-space-id");
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+        this.store.scheduleJob(jobId, true, "0 12 * * *", ExpressionType.CRON);
+
+        request(GET, "/jobs?detailed=true&space_guid=test-space-id", null)
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(200);
+                assertThat(response.getT2().path("pagination").path("first").path("href").textValue()).isEqualTo("/jobs?detailed=true&space_guid=test-space-id&page=1");
+                assertThat(response.getT2().path("resources")).hasSize(1);
+                assertThat(response.getT2().path("resources").path(0).path("schedules").path(0).path("expression_type").textValue()).isEqualTo("cron_expression");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void scheduleJobInvalidExpression() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+
+        request(POST, "/jobs/" + jobId + "/schedules", "{\"enabled\":true,\"expression\":\"a b c d e f\",\"expression_type\":\"cron_expression\"}")
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getT1()).isEqualTo(422);
+                assertThat(response.getT2().path("errors").path(0).path("messages").path(0).textValue()).isEqualTo("The cron expression 'a b c d e f' is invalid.");
+                assertThat(response.getT2().path("errors").path(0).path("resource").textValue()).isEqualTo("scheduleRequest");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @After
+    public void shutdown() {
+        this.server.dispose();
+    }
+
+    @Test
+    public void unauthorized() {
+        HttpClient.create()
+            .baseUrl(this.server.getRoot())
+            .get()
+            .uri("/jobs/test-job-id")
+            .responseSingle((response, content) -> Mono.just(response.status().code()))
+            .as(StepVerifier::create)
+            .expectNext(401)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private JsonNode readTree(String payload) {
+        try {
+            return payload.isEmpty() ? this.objectMapper.createObjectNode() : this.objectMapper.readTree(payload);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private Mono<Tuple2<Integer, JsonNode>> request(HttpMethod method, String uri, String body) {
+        return this.client
+            .request(method)
+            .uri(uri)
+            .send(body != null ? ByteBufFlux.fromString(Mono.just(body)) : Mono.<ByteBuf>empty())
+            .responseSingle((response, content) -> content.asString()
+                .defaultIfEmpty("")
+                .map(payload -> Tuples.of(response.status().code(), readTree(payload))));
+    }
+
+}
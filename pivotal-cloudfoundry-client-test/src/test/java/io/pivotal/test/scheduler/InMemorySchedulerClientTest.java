@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.test.scheduler;
+
+import io.pivotal.scheduler.v1.ExecutionState;
+import io.pivotal.scheduler.v1.SchedulerException;
+import io.pivotal.scheduler.v1.calls.CreateCallRequest;
+import io.pivotal.scheduler.v1.calls.GetCallRequest;
+import io.pivotal.scheduler.v1.jobs.CreateJobRequest;
+import io.pivotal.scheduler.v1.jobs.ExecuteJobRequest;
+import io.pivotal.scheduler.v1.jobs.GetJobRequest;
+import io.pivotal.scheduler.v1.jobs.ListJobHistoriesRequest;
+import io.pivotal.scheduler.v1.jobs.ListJobScheduleHistoriesRequest;
+import io.pivotal.scheduler.v1.jobs.ScheduleJobRequest;
+import io.pivotal.scheduler.v1.schedules.ExpressionType;
+import org.junit.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public final class InMemorySchedulerClientTest {
+
+    private final SchedulerStore store = new SchedulerStore(new VirtualClock(Instant.parse("2019-01-01T00:00:00Z")), 2);
+
+    private final InMemorySchedulerClient client = InMemorySchedulerClient.builder()
+        .store(this.store)
+        .build();
+
+    @Test
+    public void advance() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+
+        String scheduleId = this.client.jobs()
+            .schedule(ScheduleJobRequest.builder()
+                .enabled(true)
+                .expression("* * * * *")
+                .expressionType(ExpressionType.CRON)
+                .jobId(jobId)
+                .build())
+            .block(Duration.ofSeconds(5))
+            .getId();
+
+        assertThat(this.client.advance(Duration.ofDays(7))).isEqualTo(10_080);
+
+        this.client.jobs()
+            .listScheduleHistories(ListJobScheduleHistoriesRequest.builder()
+                .jobId(jobId)
+                .scheduleId(scheduleId)
+                .build())
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getPagination().getTotalResults()).isEqualTo(10_080);
+                assertThat(response.getResources().get(0).getScheduledTime()).isEqualTo("2019-01-01T00:01:00Z");
+                assertThat(response.getResources().get(0).getState()).isEqualTo(ExecutionState.SUCCEEDED);
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void advanceWithoutVirtualClock() {
+        InMemorySchedulerClient client = InMemorySchedulerClient.builder()
+            .store(new SchedulerStore(Clock.systemUTC(), 2))
+            .build();
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> client.advance(Duration.ofMinutes(1)))
+            .withMessage("The clock of the store is a SystemClock rather than a VirtualClock");
+    }
+
+    @Test
+    public void createCall() {
+        this.client.calls()
+            .create(CreateCallRequest.builder()
+                .applicationId("test-application-id")
+                .authorizationHeader("test-authorization-header")
+                .name("test-name")
+                .url("test-url")
+                .build())
+            .flatMap(response -> this.client.calls()
+                .get(GetCallRequest.builder()
+                    .callId(response.getId())
+                    .build()))
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getAuthorizationHeader()).isEqualTo("test-authorization-header");
+                assertThat(response.getSpaceId()).isEqualTo(SchedulerStore.DEFAULT_SPACE_ID);
+                assertThat(response.getUrl()).isEqualTo("test-url");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void createJob() {
+        this.store.addApplication("test-application-id", "test-space-id");
+
+        this.client.jobs()
+            .create(CreateJobRequest.builder()
+                .applicationId("test-application-id")
+                .command("test-command")
+                .name("test-name")
+                .build())
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getId()).isNotEmpty();
+                assertThat(response.getCommand()).isEqualTo("test-command");
+                assertThat(response.getCreatedAt()).isEqualTo("2019-01-01T00:00:00Z");
+                assertThat(response.getSpaceId()).isEqualTo("test-space-id");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void createJobInvalid() {
+        this.client.jobs()
+            .create(CreateJobRequest.builder()
+                .applicationId("test-application-id")
+                .command(" ")
+                .name("test-name")
+                .build())
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> {
+                assertThat(t).isInstanceOf(SchedulerException.class);
+                assertThat(((SchedulerException) t).getStatusCode()).isEqualTo(422);
+                assertThat(((SchedulerException) t).getErrors().get(0).getMessages()).containsExactly("command must be specified");
+            })
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void executeJob() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+
+        this.client.jobs()
+            .execute(ExecuteJobRequest.builder()
+                .jobId(jobId)
+                .build())
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getJobId()).isEqualTo(jobId);
+                assertThat(response.getState()).isEqualTo(ExecutionState.SUCCEEDED);
+                assertThat(response.getTaskId()).isNotEmpty();
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void exists() {
+        this.client.jobs()
+            .exists(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(false)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void getNotFound() {
+        this.client.jobs()
+            .get(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build())
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> {
+                assertThat(t).isInstanceOf(SchedulerException.class);
+                assertThat(((SchedulerException) t).getStatusCode()).isEqualTo(404);
+            })
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void listHistories() {
+        String jobId = this.store.createJob("test-application-id", "test-name", "test-command").getId();
+        this.store.addJobHistories(jobId, 5);
+
+        this.client.jobs()
+            .listHistories(ListJobHistoriesRequest.builder()
+                .jobId(jobId)
+                .page(2)
+                .build())
+            .as(StepVerifier::create)
+            .consumeNextWith(response -> {
+                assertThat(response.getPagination().getNext().getHref()).isEqualTo(String.format("/jobs/%s/history?page=3", jobId));
+                assertThat(response.getPagination().getTotalPages()).isEqualTo(3);
+                assertThat(response.getPagination().getTotalResults()).isEqualTo(5);
+                assertThat(response.getResources()).hasSize(2);
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+}
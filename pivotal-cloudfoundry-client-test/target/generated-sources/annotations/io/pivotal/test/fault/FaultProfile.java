@@ -0,0 +1,688 @@
+package io.pivotal.test.fault;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.immutables.value.Generated;
+
+/**
+ * The faults to inject into the responses of a test server.  Each request is served with a latency sampled from {@link #getLatency()} and then, with the configured probabilities, fails with a
+ * connection reset, begins a burst of error responses, fails with a malformed error payload, or has its response body written slowly.  The probabilities are of mutually exclusive outcomes, so
+ * their sum must not be greater than {@code 1}.  If nothing is set, no faults are injected.
+ */
+@Generated(from = "_FaultProfile", generator = "Immutables")
+@SuppressWarnings({"all"})
+@javax.annotation.processing.Generated("org.immutables.processor.ProxyProcessor")
+public final class FaultProfile extends io.pivotal.test.fault._FaultProfile {
+  private final double connectionResetProbability;
+  private final int errorBurstLength;
+  private final double errorBurstProbability;
+  private final Duration errorBurstRetryAfter;
+  private final int errorBurstStatus;
+  private final LatencyDistribution latency;
+  private final double malformedErrorProbability;
+  private final Duration slowBodyChunkDelay;
+  private final int slowBodyChunkSize;
+  private final double slowBodyProbability;
+
+  private FaultProfile(FaultProfile.Builder builder) {
+    this.errorBurstRetryAfter = builder.errorBurstRetryAfter;
+    if (builder.connectionResetProbabilityIsSet()) {
+      initShim.connectionResetProbability(builder.connectionResetProbability);
+    }
+    if (builder.errorBurstLengthIsSet()) {
+      initShim.errorBurstLength(builder.errorBurstLength);
+    }
+    if (builder.errorBurstProbabilityIsSet()) {
+      initShim.errorBurstProbability(builder.errorBurstProbability);
+    }
+    if (builder.errorBurstStatusIsSet()) {
+      initShim.errorBurstStatus(builder.errorBurstStatus);
+    }
+    if (builder.latency != null) {
+      initShim.latency(builder.latency);
+    }
+    if (builder.malformedErrorProbabilityIsSet()) {
+      initShim.malformedErrorProbability(builder.malformedErrorProbability);
+    }
+    if (builder.slowBodyChunkDelay != null) {
+      initShim.slowBodyChunkDelay(builder.slowBodyChunkDelay);
+    }
+    if (builder.slowBodyChunkSizeIsSet()) {
+      initShim.slowBodyChunkSize(builder.slowBodyChunkSize);
+    }
+    if (builder.slowBodyProbabilityIsSet()) {
+      initShim.slowBodyProbability(builder.slowBodyProbability);
+    }
+    this.connectionResetProbability = initShim.getConnectionResetProbability();
+    this.errorBurstLength = initShim.getErrorBurstLength();
+    this.errorBurstProbability = initShim.getErrorBurstProbability();
+    this.errorBurstStatus = initShim.getErrorBurstStatus();
+    this.latency = initShim.getLatency();
+    this.malformedErrorProbability = initShim.getMalformedErrorProbability();
+    this.slowBodyChunkDelay = initShim.getSlowBodyChunkDelay();
+    this.slowBodyChunkSize = initShim.getSlowBodyChunkSize();
+    this.slowBodyProbability = initShim.getSlowBodyProbability();
+    this.initShim = null;
+  }
+
+  private static final byte STAGE_INITIALIZING = -1;
+  private static final byte STAGE_UNINITIALIZED = 0;
+  private static final byte STAGE_INITIALIZED = 1;
+  private transient volatile InitShim initShim = new InitShim();
+
+  @Generated(from = "_FaultProfile", generator = "Immutables")
+  private final class InitShim {
+    private byte connectionResetProbabilityBuildStage = STAGE_UNINITIALIZED;
+    private double connectionResetProbability;
+
+    double getConnectionResetProbability() {
+      if (connectionResetProbabilityBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (connectionResetProbabilityBuildStage == STAGE_UNINITIALIZED) {
+        connectionResetProbabilityBuildStage = STAGE_INITIALIZING;
+        this.connectionResetProbability = FaultProfile.super.getConnectionResetProbability();
+        connectionResetProbabilityBuildStage = STAGE_INITIALIZED;
+      }
+      return this.connectionResetProbability;
+    }
+
+    void connectionResetProbability(double connectionResetProbability) {
+      this.connectionResetProbability = connectionResetProbability;
+      connectionResetProbabilityBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte errorBurstLengthBuildStage = STAGE_UNINITIALIZED;
+    private int errorBurstLength;
+
+    int getErrorBurstLength() {
+      if (errorBurstLengthBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (errorBurstLengthBuildStage == STAGE_UNINITIALIZED) {
+        errorBurstLengthBuildStage = STAGE_INITIALIZING;
+        this.errorBurstLength = FaultProfile.super.getErrorBurstLength();
+        errorBurstLengthBuildStage = STAGE_INITIALIZED;
+      }
+      return this.errorBurstLength;
+    }
+
+    void errorBurstLength(int errorBurstLength) {
+      this.errorBurstLength = errorBurstLength;
+      errorBurstLengthBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte errorBurstProbabilityBuildStage = STAGE_UNINITIALIZED;
+    private double errorBurstProbability;
+
+    double getErrorBurstProbability() {
+      if (errorBurstProbabilityBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (errorBurstProbabilityBuildStage == STAGE_UNINITIALIZED) {
+        errorBurstProbabilityBuildStage = STAGE_INITIALIZING;
+        this.errorBurstProbability = FaultProfile.super.getErrorBurstProbability();
+        errorBurstProbabilityBuildStage = STAGE_INITIALIZED;
+      }
+      return this.errorBurstProbability;
+    }
+
+    void errorBurstProbability(double errorBurstProbability) {
+      this.errorBurstProbability = errorBurstProbability;
+      errorBurstProbabilityBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte errorBurstStatusBuildStage = STAGE_UNINITIALIZED;
+    private int errorBurstStatus;
+
+    int getErrorBurstStatus() {
+      if (errorBurstStatusBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (errorBurstStatusBuildStage == STAGE_UNINITIALIZED) {
+        errorBurstStatusBuildStage = STAGE_INITIALIZING;
+        this.errorBurstStatus = FaultProfile.super.getErrorBurstStatus();
+        errorBurstStatusBuildStage = STAGE_INITIALIZED;
+      }
+      return this.errorBurstStatus;
+    }
+
+    void errorBurstStatus(int errorBurstStatus) {
+      this.errorBurstStatus = errorBurstStatus;
+      errorBurstStatusBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte latencyBuildStage = STAGE_UNINITIALIZED;
+    private LatencyDistribution latency;
+
+    LatencyDistribution getLatency() {
+      if (latencyBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (latencyBuildStage == STAGE_UNINITIALIZED) {
+        latencyBuildStage = STAGE_INITIALIZING;
+        this.latency = Objects.requireNonNull(FaultProfile.super.getLatency(), "latency");
+        latencyBuildStage = STAGE_INITIALIZED;
+      }
+      return this.latency;
+    }
+
+    void latency(LatencyDistribution latency) {
+      this.latency = latency;
+      latencyBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte malformedErrorProbabilityBuildStage = STAGE_UNINITIALIZED;
+    private double malformedErrorProbability;
+
+    double getMalformedErrorProbability() {
+      if (malformedErrorProbabilityBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (malformedErrorProbabilityBuildStage == STAGE_UNINITIALIZED) {
+        malformedErrorProbabilityBuildStage = STAGE_INITIALIZING;
+        this.malformedErrorProbability = FaultProfile.super.getMalformedErrorProbability();
+        malformedErrorProbabilityBuildStage = STAGE_INITIALIZED;
+      }
+      return this.malformedErrorProbability;
+    }
+
+    void malformedErrorProbability(double malformedErrorProbability) {
+      this.malformedErrorProbability = malformedErrorProbability;
+      malformedErrorProbabilityBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte slowBodyChunkDelayBuildStage = STAGE_UNINITIALIZED;
+    private Duration slowBodyChunkDelay;
+
+    Duration getSlowBodyChunkDelay() {
+      if (slowBodyChunkDelayBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (slowBodyChunkDelayBuildStage == STAGE_UNINITIALIZED) {
+        slowBodyChunkDelayBuildStage = STAGE_INITIALIZING;
+        this.slowBodyChunkDelay = Objects.requireNonNull(FaultProfile.super.getSlowBodyChunkDelay(), "slowBodyChunkDelay");
+        slowBodyChunkDelayBuildStage = STAGE_INITIALIZED;
+      }
+      return this.slowBodyChunkDelay;
+    }
+
+    void slowBodyChunkDelay(Duration slowBodyChunkDelay) {
+      this.slowBodyChunkDelay = slowBodyChunkDelay;
+      slowBodyChunkDelayBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte slowBodyChunkSizeBuildStage = STAGE_UNINITIALIZED;
+    private int slowBodyChunkSize;
+
+    int getSlowBodyChunkSize() {
+      if (slowBodyChunkSizeBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (slowBodyChunkSizeBuildStage == STAGE_UNINITIALIZED) {
+        slowBodyChunkSizeBuildStage = STAGE_INITIALIZING;
+        this.slowBodyChunkSize = FaultProfile.super.getSlowBodyChunkSize();
+        slowBodyChunkSizeBuildStage = STAGE_INITIALIZED;
+      }
+      return this.slowBodyChunkSize;
+    }
+
+    void slowBodyChunkSize(int slowBodyChunkSize) {
+      this.slowBodyChunkSize = slowBodyChunkSize;
+      slowBodyChunkSizeBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte slowBodyProbabilityBuildStage = STAGE_UNINITIALIZED;
+    private double slowBodyProbability;
+
+    double getSlowBodyProbability() {
+      if (slowBodyProbabilityBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (slowBodyProbabilityBuildStage == STAGE_UNINITIALIZED) {
+        slowBodyProbabilityBuildStage = STAGE_INITIALIZING;
+        this.slowBodyProbability = FaultProfile.super.getSlowBodyProbability();
+        slowBodyProbabilityBuildStage = STAGE_INITIALIZED;
+      }
+      return this.slowBodyProbability;
+    }
+
+    void slowBodyProbability(double slowBodyProbability) {
+      this.slowBodyProbability = slowBodyProbability;
+      slowBodyProbabilityBuildStage = STAGE_INITIALIZED;
+    }
+
+    private String formatInitCycleMessage() {
+      List<String> attributes = new ArrayList<>();
+      if (connectionResetProbabilityBuildStage == STAGE_INITIALIZING) attributes.add("connectionResetProbability");
+      if (errorBurstLengthBuildStage == STAGE_INITIALIZING) attributes.add("errorBurstLength");
+      if (errorBurstProbabilityBuildStage == STAGE_INITIALIZING) attributes.add("errorBurstProbability");
+      if (errorBurstStatusBuildStage == STAGE_INITIALIZING) attributes.add("errorBurstStatus");
+      if (latencyBuildStage == STAGE_INITIALIZING) attributes.add("latency");
+      if (malformedErrorProbabilityBuildStage == STAGE_INITIALIZING) attributes.add("malformedErrorProbability");
+      if (slowBodyChunkDelayBuildStage == STAGE_INITIALIZING) attributes.add("slowBodyChunkDelay");
+      if (slowBodyChunkSizeBuildStage == STAGE_INITIALIZING) attributes.add("slowBodyChunkSize");
+      if (slowBodyProbabilityBuildStage == STAGE_INITIALIZING) attributes.add("slowBodyProbability");
+      return "Cannot build FaultProfile, attribute initializers form cycle " + attributes;
+    }
+  }
+
+  /**
+   * The probability that the connection of a request is reset before a response is written
+   */
+  @Override
+  public double getConnectionResetProbability() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getConnectionResetProbability()
+        : this.connectionResetProbability;
+  }
+
+  /**
+   * The number of consecutive requests that fail in a burst of errors
+   */
+  @Override
+  public int getErrorBurstLength() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getErrorBurstLength()
+        : this.errorBurstLength;
+  }
+
+  /**
+   * The probability that a request begins a burst of errors
+   */
+  @Override
+  public double getErrorBurstProbability() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getErrorBurstProbability()
+        : this.errorBurstProbability;
+  }
+
+  /**
+   * The value of the {@code Retry-After} header of the responses in a burst of errors.  If not set, the header is not sent.
+   */
+  @Override
+  public Optional<Duration> getErrorBurstRetryAfter() {
+    return Optional.ofNullable(errorBurstRetryAfter);
+  }
+
+  /**
+   * The status of the responses in a burst of errors, typically {@code 429} or {@code 503}
+   */
+  @Override
+  public int getErrorBurstStatus() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getErrorBurstStatus()
+        : this.errorBurstStatus;
+  }
+
+  /**
+   * The distribution of the latency added to each request
+   */
+  @Override
+  public LatencyDistribution getLatency() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getLatency()
+        : this.latency;
+  }
+
+  /**
+   * The probability that a request fails with an error payload that is not a valid Scheduler error, for example one that is truncated or is HTML
+   */
+  @Override
+  public double getMalformedErrorProbability() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getMalformedErrorProbability()
+        : this.malformedErrorProbability;
+  }
+
+  /**
+   * The delay before each chunk of a slow response body
+   */
+  @Override
+  public Duration getSlowBodyChunkDelay() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getSlowBodyChunkDelay()
+        : this.slowBodyChunkDelay;
+  }
+
+  /**
+   * The number of bytes in each chunk of a slow response body
+   */
+  @Override
+  public int getSlowBodyChunkSize() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getSlowBodyChunkSize()
+        : this.slowBodyChunkSize;
+  }
+
+  /**
+   * The probability that the response body of a request is written slowly
+   */
+  @Override
+  public double getSlowBodyProbability() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getSlowBodyProbability()
+        : this.slowBodyProbability;
+  }
+
+  /**
+   * This instance is equal to all instances of {@code FaultProfile} that have equal attribute values.
+   * @return {@code true} if {@code this} is equal to {@code another} instance
+   */
+  @Override
+  public boolean equals(Object another) {
+    if (this == another) return true;
+    return another instanceof FaultProfile
+        && equalTo((FaultProfile) another);
+  }
+
+  private boolean equalTo(FaultProfile another) {
+    return Double.doubleToLongBits(connectionResetProbability) == Double.doubleToLongBits(another.connectionResetProbability)
+        && errorBurstLength == another.errorBurstLength
+        && Double.doubleToLongBits(errorBurstProbability) == Double.doubleToLongBits(another.errorBurstProbability)
+        && Objects.equals(errorBurstRetryAfter, another.errorBurstRetryAfter)
+        && errorBurstStatus == another.errorBurstStatus
+        && latency.equals(another.latency)
+        && Double.doubleToLongBits(malformedErrorProbability) == Double.doubleToLongBits(another.malformedErrorProbability)
+        && slowBodyChunkDelay.equals(another.slowBodyChunkDelay)
+        && slowBodyChunkSize == another.slowBodyChunkSize
+        && Double.doubleToLongBits(slowBodyProbability) == Double.doubleToLongBits(another.slowBodyProbability);
+  }
+
+  /**
+   * Computes a hash code from attributes: {@code connectionResetProbability}, {@code errorBurstLength}, {@code errorBurstProbability}, {@code errorBurstRetryAfter}, {@code errorBurstStatus}, {@code latency}, {@code malformedErrorProbability}, {@code slowBodyChunkDelay}, {@code slowBodyChunkSize}, {@code slowBodyProbability}.
+   * @return hashCode value
+   */
+  @Override
+  public int hashCode() {
+    int h = 5381;
+    h += (h << 5) + Double.hashCode(connectionResetProbability);
+    h += (h << 5) + errorBurstLength;
+    h += (h << 5) + Double.hashCode(errorBurstProbability);
+    h += (h << 5) + Objects.hashCode(errorBurstRetryAfter);
+    h += (h << 5) + errorBurstStatus;
+    h += (h << 5) + latency.hashCode();
+    h += (h << 5) + Double.hashCode(malformedErrorProbability);
+    h += (h << 5) + slowBodyChunkDelay.hashCode();
+    h += (h << 5) + slowBodyChunkSize;
+    h += (h << 5) + Double.hashCode(slowBodyProbability);
+    return h;
+  }
+
+  /**
+   * Prints the immutable value {@code FaultProfile} with attribute values.
+   * @return A string representation of the value
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("FaultProfile{");
+    builder.append("connectionResetProbability=").append(connectionResetProbability);
+    builder.append(", ");
+    builder.append("errorBurstLength=").append(errorBurstLength);
+    builder.append(", ");
+    builder.append("errorBurstProbability=").append(errorBurstProbability);
+    if (errorBurstRetryAfter != null) {
+      builder.append(", ");
+      builder.append("errorBurstRetryAfter=").append(errorBurstRetryAfter);
+    }
+    builder.append(", ");
+    builder.append("errorBurstStatus=").append(errorBurstStatus);
+    builder.append(", ");
+    builder.append("latency=").append(latency);
+    builder.append(", ");
+    builder.append("malformedErrorProbability=").append(malformedErrorProbability);
+    builder.append(", ");
+    builder.append("slowBodyChunkDelay=").append(slowBodyChunkDelay);
+    builder.append(", ");
+    builder.append("slowBodyChunkSize=").append(slowBodyChunkSize);
+    builder.append(", ");
+    builder.append("slowBodyProbability=").append(slowBodyProbability);
+    return builder.append("}").toString();
+  }
+
+  /**
+   * Creates a builder for {@link FaultProfile FaultProfile}.
+   * <pre>
+   * FaultProfile.builder()
+   *    .connectionResetProbability(double) // optional {@link FaultProfile#getConnectionResetProbability() connectionResetProbability}
+   *    .errorBurstLength(int) // optional {@link FaultProfile#getErrorBurstLength() errorBurstLength}
+   *    .errorBurstProbability(double) // optional {@link FaultProfile#getErrorBurstProbability() errorBurstProbability}
+   *    .errorBurstRetryAfter(java.time.Duration) // optional {@link FaultProfile#getErrorBurstRetryAfter() errorBurstRetryAfter}
+   *    .errorBurstStatus(int) // optional {@link FaultProfile#getErrorBurstStatus() errorBurstStatus}
+   *    .latency(io.pivotal.test.fault.LatencyDistribution) // optional {@link FaultProfile#getLatency() latency}
+   *    .malformedErrorProbability(double) // optional {@link FaultProfile#getMalformedErrorProbability() malformedErrorProbability}
+   *    .slowBodyChunkDelay(java.time.Duration) // optional {@link FaultProfile#getSlowBodyChunkDelay() slowBodyChunkDelay}
+   *    .slowBodyChunkSize(int) // optional {@link FaultProfile#getSlowBodyChunkSize() slowBodyChunkSize}
+   *    .slowBodyProbability(double) // optional {@link FaultProfile#getSlowBodyProbability() slowBodyProbability}
+   *    .build();
+   * </pre>
+   * @return A new FaultProfile builder
+   */
+  public static FaultProfile.Builder builder() {
+    return new FaultProfile.Builder();
+  }
+
+  /**
+   * Builds instances of type {@link FaultProfile FaultProfile}.
+   * Initialize attributes and then invoke the {@link #build()} method to create an
+   * immutable instance.
+   * <p><em>{@code Builder} is not thread-safe and generally should not be stored in a field or collection,
+   * but instead used immediately to create instances.</em>
+   */
+  @Generated(from = "_FaultProfile", generator = "Immutables")
+  public static final class Builder {
+    private static final long OPT_BIT_CONNECTION_RESET_PROBABILITY = 0x1L;
+    private static final long OPT_BIT_ERROR_BURST_LENGTH = 0x2L;
+    private static final long OPT_BIT_ERROR_BURST_PROBABILITY = 0x4L;
+    private static final long OPT_BIT_ERROR_BURST_STATUS = 0x8L;
+    private static final long OPT_BIT_MALFORMED_ERROR_PROBABILITY = 0x10L;
+    private static final long OPT_BIT_SLOW_BODY_CHUNK_SIZE = 0x20L;
+    private static final long OPT_BIT_SLOW_BODY_PROBABILITY = 0x40L;
+    private long optBits;
+
+    private double connectionResetProbability;
+    private int errorBurstLength;
+    private double errorBurstProbability;
+    private Duration errorBurstRetryAfter;
+    private int errorBurstStatus;
+    private LatencyDistribution latency;
+    private double malformedErrorProbability;
+    private Duration slowBodyChunkDelay;
+    private int slowBodyChunkSize;
+    private double slowBodyProbability;
+
+    private Builder() {
+    }
+
+    /**
+     * Fill a builder with attribute values from the provided {@code FaultProfile} instance.
+     * Regular attribute values will be replaced with those from the given instance.
+     * Absent optional values will not replace present values.
+     * @param instance The instance from which to copy values
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder from(FaultProfile instance) {
+      return from((_FaultProfile) instance);
+    }
+
+    /**
+     * Copy abstract value type {@code _FaultProfile} instance into builder.
+     * @param instance The instance from which to copy values
+     * @return {@code this} builder for use in a chained invocation
+     */
+    final Builder from(_FaultProfile instance) {
+      Objects.requireNonNull(instance, "instance");
+      connectionResetProbability(instance.getConnectionResetProbability());
+      errorBurstLength(instance.getErrorBurstLength());
+      errorBurstProbability(instance.getErrorBurstProbability());
+      Optional<Duration> errorBurstRetryAfterOptional = instance.getErrorBurstRetryAfter();
+      if (errorBurstRetryAfterOptional.isPresent()) {
+        errorBurstRetryAfter(errorBurstRetryAfterOptional);
+      }
+      errorBurstStatus(instance.getErrorBurstStatus());
+      latency(instance.getLatency());
+      malformedErrorProbability(instance.getMalformedErrorProbability());
+      slowBodyChunkDelay(instance.getSlowBodyChunkDelay());
+      slowBodyChunkSize(instance.getSlowBodyChunkSize());
+      slowBodyProbability(instance.getSlowBodyProbability());
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getConnectionResetProbability() connectionResetProbability} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getConnectionResetProbability() connectionResetProbability}.</em>
+     * @param connectionResetProbability The value for connectionResetProbability 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder connectionResetProbability(double connectionResetProbability) {
+      this.connectionResetProbability = connectionResetProbability;
+      optBits |= OPT_BIT_CONNECTION_RESET_PROBABILITY;
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getErrorBurstLength() errorBurstLength} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getErrorBurstLength() errorBurstLength}.</em>
+     * @param errorBurstLength The value for errorBurstLength 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder errorBurstLength(int errorBurstLength) {
+      this.errorBurstLength = errorBurstLength;
+      optBits |= OPT_BIT_ERROR_BURST_LENGTH;
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getErrorBurstProbability() errorBurstProbability} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getErrorBurstProbability() errorBurstProbability}.</em>
+     * @param errorBurstProbability The value for errorBurstProbability 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder errorBurstProbability(double errorBurstProbability) {
+      this.errorBurstProbability = errorBurstProbability;
+      optBits |= OPT_BIT_ERROR_BURST_PROBABILITY;
+      return this;
+    }
+
+    /**
+     * Initializes the optional value {@link FaultProfile#getErrorBurstRetryAfter() errorBurstRetryAfter} to errorBurstRetryAfter.
+     * @param errorBurstRetryAfter The value for errorBurstRetryAfter
+     * @return {@code this} builder for chained invocation
+     */
+    public final Builder errorBurstRetryAfter(Duration errorBurstRetryAfter) {
+      this.errorBurstRetryAfter = Objects.requireNonNull(errorBurstRetryAfter, "errorBurstRetryAfter");
+      return this;
+    }
+
+    /**
+     * Initializes the optional value {@link FaultProfile#getErrorBurstRetryAfter() errorBurstRetryAfter} to errorBurstRetryAfter.
+     * @param errorBurstRetryAfter The value for errorBurstRetryAfter
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder errorBurstRetryAfter(Optional<? extends Duration> errorBurstRetryAfter) {
+      this.errorBurstRetryAfter = errorBurstRetryAfter.orElse(null);
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getErrorBurstStatus() errorBurstStatus} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getErrorBurstStatus() errorBurstStatus}.</em>
+     * @param errorBurstStatus The value for errorBurstStatus 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder errorBurstStatus(int errorBurstStatus) {
+      this.errorBurstStatus = errorBurstStatus;
+      optBits |= OPT_BIT_ERROR_BURST_STATUS;
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getLatency() latency} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getLatency() latency}.</em>
+     * @param latency The value for latency 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder latency(LatencyDistribution latency) {
+      this.latency = Objects.requireNonNull(latency, "latency");
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getMalformedErrorProbability() malformedErrorProbability} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getMalformedErrorProbability() malformedErrorProbability}.</em>
+     * @param malformedErrorProbability The value for malformedErrorProbability 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder malformedErrorProbability(double malformedErrorProbability) {
+      this.malformedErrorProbability = malformedErrorProbability;
+      optBits |= OPT_BIT_MALFORMED_ERROR_PROBABILITY;
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getSlowBodyChunkDelay() slowBodyChunkDelay} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getSlowBodyChunkDelay() slowBodyChunkDelay}.</em>
+     * @param slowBodyChunkDelay The value for slowBodyChunkDelay 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder slowBodyChunkDelay(Duration slowBodyChunkDelay) {
+      this.slowBodyChunkDelay = Objects.requireNonNull(slowBodyChunkDelay, "slowBodyChunkDelay");
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getSlowBodyChunkSize() slowBodyChunkSize} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getSlowBodyChunkSize() slowBodyChunkSize}.</em>
+     * @param slowBodyChunkSize The value for slowBodyChunkSize 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder slowBodyChunkSize(int slowBodyChunkSize) {
+      this.slowBodyChunkSize = slowBodyChunkSize;
+      optBits |= OPT_BIT_SLOW_BODY_CHUNK_SIZE;
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FaultProfile#getSlowBodyProbability() slowBodyProbability} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FaultProfile#getSlowBodyProbability() slowBodyProbability}.</em>
+     * @param slowBodyProbability The value for slowBodyProbability 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder slowBodyProbability(double slowBodyProbability) {
+      this.slowBodyProbability = slowBodyProbability;
+      optBits |= OPT_BIT_SLOW_BODY_PROBABILITY;
+      return this;
+    }
+
+    /**
+     * Builds a new {@link FaultProfile FaultProfile}.
+     * @return An immutable instance of FaultProfile
+     * @throws java.lang.IllegalStateException if any required attributes are missing
+     */
+    public FaultProfile build() {
+      return new FaultProfile(this);
+    }
+
+    private boolean connectionResetProbabilityIsSet() {
+      return (optBits & OPT_BIT_CONNECTION_RESET_PROBABILITY) != 0;
+    }
+
+    private boolean errorBurstLengthIsSet() {
+      return (optBits & OPT_BIT_ERROR_BURST_LENGTH) != 0;
+    }
+
+    private boolean errorBurstProbabilityIsSet() {
+      return (optBits & OPT_BIT_ERROR_BURST_PROBABILITY) != 0;
+    }
+
+    private boolean errorBurstStatusIsSet() {
+      return (optBits & OPT_BIT_ERROR_BURST_STATUS) != 0;
+    }
+
+    private boolean malformedErrorProbabilityIsSet() {
+      return (optBits & OPT_BIT_MALFORMED_ERROR_PROBABILITY) != 0;
+    }
+
+    private boolean slowBodyChunkSizeIsSet() {
+      return (optBits & OPT_BIT_SLOW_BODY_CHUNK_SIZE) != 0;
+    }
+
+    private boolean slowBodyProbabilityIsSet() {
+      return (optBits & OPT_BIT_SLOW_BODY_PROBABILITY) != 0;
+    }
+  }
+}
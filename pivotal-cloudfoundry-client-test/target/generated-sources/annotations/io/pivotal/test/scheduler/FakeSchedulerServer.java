@@ -0,0 +1,465 @@
+package io.pivotal.test.scheduler;
+
+import io.pivotal.test.fault.FaultInjector;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.immutables.value.Generated;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * An in-process fake of the Scheduler v1 API, serving jobs, calls, schedules, executions and their histories from a {@link SchedulerStore}.  The server is bound when it is built and must be
+ * disposed of when it is no longer needed.  Copies are not generated, since each copy would bind another server.  Schedules are only executed when {@link SchedulerStore#triggerSchedules()}
+ * is called.
+ */
+@Generated(from = "_FakeSchedulerServer", generator = "Immutables")
+@SuppressWarnings({"all"})
+@javax.annotation.processing.Generated("org.immutables.processor.ProxyProcessor")
+public final class FakeSchedulerServer extends io.pivotal.test.scheduler._FakeSchedulerServer {
+  private final FaultInjector faultInjector;
+  private final String host;
+  private final int port;
+  private final List<HttpProtocol> protocols;
+  private final SchedulerStore store;
+  private transient final DisposableServer server;
+
+  private FakeSchedulerServer(FakeSchedulerServer.Builder builder) {
+    this.faultInjector = builder.faultInjector;
+    this.protocols = createUnmodifiableList(true, builder.protocols);
+    if (builder.host != null) {
+      initShim.host(builder.host);
+    }
+    if (builder.portIsSet()) {
+      initShim.port(builder.port);
+    }
+    if (builder.store != null) {
+      initShim.store(builder.store);
+    }
+    this.host = initShim.getHost();
+    this.port = initShim.getPort();
+    this.store = initShim.getStore();
+    this.server = initShim.getServer();
+    this.initShim = null;
+  }
+
+  private static final byte STAGE_INITIALIZING = -1;
+  private static final byte STAGE_UNINITIALIZED = 0;
+  private static final byte STAGE_INITIALIZED = 1;
+  private transient volatile InitShim initShim = new InitShim();
+
+  @Generated(from = "_FakeSchedulerServer", generator = "Immutables")
+  private final class InitShim {
+    private byte hostBuildStage = STAGE_UNINITIALIZED;
+    private String host;
+
+    String getHost() {
+      if (hostBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (hostBuildStage == STAGE_UNINITIALIZED) {
+        hostBuildStage = STAGE_INITIALIZING;
+        this.host = Objects.requireNonNull(FakeSchedulerServer.super.getHost(), "host");
+        hostBuildStage = STAGE_INITIALIZED;
+      }
+      return this.host;
+    }
+
+    void host(String host) {
+      this.host = host;
+      hostBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte portBuildStage = STAGE_UNINITIALIZED;
+    private int port;
+
+    int getPort() {
+      if (portBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (portBuildStage == STAGE_UNINITIALIZED) {
+        portBuildStage = STAGE_INITIALIZING;
+        this.port = FakeSchedulerServer.super.getPort();
+        portBuildStage = STAGE_INITIALIZED;
+      }
+      return this.port;
+    }
+
+    void port(int port) {
+      this.port = port;
+      portBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte storeBuildStage = STAGE_UNINITIALIZED;
+    private SchedulerStore store;
+
+    SchedulerStore getStore() {
+      if (storeBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (storeBuildStage == STAGE_UNINITIALIZED) {
+        storeBuildStage = STAGE_INITIALIZING;
+        this.store = Objects.requireNonNull(FakeSchedulerServer.super.getStore(), "store");
+        storeBuildStage = STAGE_INITIALIZED;
+      }
+      return this.store;
+    }
+
+    void store(SchedulerStore store) {
+      this.store = store;
+      storeBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte serverBuildStage = STAGE_UNINITIALIZED;
+    private DisposableServer server;
+
+    DisposableServer getServer() {
+      if (serverBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (serverBuildStage == STAGE_UNINITIALIZED) {
+        serverBuildStage = STAGE_INITIALIZING;
+        this.server = Objects.requireNonNull(FakeSchedulerServer.super.getServer(), "server");
+        serverBuildStage = STAGE_INITIALIZED;
+      }
+      return this.server;
+    }
+
+    private String formatInitCycleMessage() {
+      List<String> attributes = new ArrayList<>();
+      if (hostBuildStage == STAGE_INITIALIZING) attributes.add("host");
+      if (portBuildStage == STAGE_INITIALIZING) attributes.add("port");
+      if (storeBuildStage == STAGE_INITIALIZING) attributes.add("store");
+      if (serverBuildStage == STAGE_INITIALIZING) attributes.add("server");
+      return "Cannot build FakeSchedulerServer, attribute initializers form cycle " + attributes;
+    }
+  }
+
+  /**
+   * The injector of faults into the responses of the server.  If not set, no faults are injected.
+   */
+  @Override
+  public Optional<FaultInjector> getFaultInjector() {
+    return Optional.ofNullable(faultInjector);
+  }
+
+  /**
+   * The host to bind to
+   */
+  @Override
+  public String getHost() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getHost()
+        : this.host;
+  }
+
+  /**
+   * The port to bind to.  If not set, an ephemeral port is used.
+   */
+  @Override
+  public int getPort() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getPort()
+        : this.port;
+  }
+
+  /**
+   * The HTTP protocols to serve.  If not set, HTTP/1.1 is served.
+   */
+  @Override
+  public List<HttpProtocol> getProtocols() {
+    return protocols;
+  }
+
+  /**
+   * The state the server serves.  If not set, an empty store is used.
+   */
+  @Override
+  public SchedulerStore getStore() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getStore()
+        : this.store;
+  }
+
+  /**
+   * The bound server
+   */
+  @Override
+  public DisposableServer getServer() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getServer()
+        : this.server;
+  }
+
+  /**
+   * This instance is equal to all instances of {@code FakeSchedulerServer} that have equal attribute values.
+   * @return {@code true} if {@code this} is equal to {@code another} instance
+   */
+  @Override
+  public boolean equals(Object another) {
+    if (this == another) return true;
+    return another instanceof FakeSchedulerServer
+        && equalTo((FakeSchedulerServer) another);
+  }
+
+  private boolean equalTo(FakeSchedulerServer another) {
+    return Objects.equals(faultInjector, another.faultInjector)
+        && host.equals(another.host)
+        && port == another.port
+        && protocols.equals(another.protocols)
+        && store.equals(another.store)
+        && server.equals(another.server);
+  }
+
+  /**
+   * Computes a hash code from attributes: {@code faultInjector}, {@code host}, {@code port}, {@code protocols}, {@code store}, {@code server}.
+   * @return hashCode value
+   */
+  @Override
+  public int hashCode() {
+    int h = 5381;
+    h += (h << 5) + Objects.hashCode(faultInjector);
+    h += (h << 5) + host.hashCode();
+    h += (h << 5) + port;
+    h += (h << 5) + protocols.hashCode();
+    h += (h << 5) + store.hashCode();
+    h += (h << 5) + server.hashCode();
+    return h;
+  }
+
+  /**
+   * Prints the immutable value {@code FakeSchedulerServer} with attribute values.
+   * @return A string representation of the value
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("FakeSchedulerServer{");
+    if (faultInjector != null) {
+      builder.append("faultInjector=").append(faultInjector);
+    }
+    if (builder.length() > 20) builder.append(", ");
+    builder.append("host=").append(host);
+    builder.append(", ");
+    builder.append("port=").append(port);
+    builder.append(", ");
+    builder.append("protocols=").append(protocols);
+    builder.append(", ");
+    builder.append("store=").append(store);
+    builder.append(", ");
+    builder.append("server=").append(server);
+    return builder.append("}").toString();
+  }
+
+  /**
+   * Creates a builder for {@link FakeSchedulerServer FakeSchedulerServer}.
+   * <pre>
+   * FakeSchedulerServer.builder()
+   *    .faultInjector(io.pivotal.test.fault.FaultInjector) // optional {@link FakeSchedulerServer#getFaultInjector() faultInjector}
+   *    .host(String) // optional {@link FakeSchedulerServer#getHost() host}
+   *    .port(int) // optional {@link FakeSchedulerServer#getPort() port}
+   *    .protocol|addAllProtocols(reactor.netty.http.HttpProtocol) // {@link FakeSchedulerServer#getProtocols() protocols} elements
+   *    .store(io.pivotal.test.scheduler.SchedulerStore) // optional {@link FakeSchedulerServer#getStore() store}
+   *    .build();
+   * </pre>
+   * @return A new FakeSchedulerServer builder
+   */
+  public static FakeSchedulerServer.Builder builder() {
+    return new FakeSchedulerServer.Builder();
+  }
+
+  /**
+   * Builds instances of type {@link FakeSchedulerServer FakeSchedulerServer}.
+   * Initialize attributes and then invoke the {@link #build()} method to create an
+   * immutable instance.
+   * <p><em>{@code Builder} is not thread-safe and generally should not be stored in a field or collection,
+   * but instead used immediately to create instances.</em>
+   */
+  @Generated(from = "_FakeSchedulerServer", generator = "Immutables")
+  public static final class Builder {
+    private static final long OPT_BIT_PORT = 0x1L;
+    private long optBits;
+
+    private FaultInjector faultInjector;
+    private String host;
+    private int port;
+    private List<HttpProtocol> protocols = new ArrayList<HttpProtocol>();
+    private SchedulerStore store;
+
+    private Builder() {
+    }
+
+    /**
+     * Fill a builder with attribute values from the provided {@code FakeSchedulerServer} instance.
+     * Regular attribute values will be replaced with those from the given instance.
+     * Absent optional values will not replace present values.
+     * Collection elements and entries will be added, not replaced.
+     * @param instance The instance from which to copy values
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder from(FakeSchedulerServer instance) {
+      return from((_FakeSchedulerServer) instance);
+    }
+
+    /**
+     * Copy abstract value type {@code _FakeSchedulerServer} instance into builder.
+     * @param instance The instance from which to copy values
+     * @return {@code this} builder for use in a chained invocation
+     */
+    final Builder from(_FakeSchedulerServer instance) {
+      Objects.requireNonNull(instance, "instance");
+      Optional<FaultInjector> faultInjectorOptional = instance.getFaultInjector();
+      if (faultInjectorOptional.isPresent()) {
+        faultInjector(faultInjectorOptional);
+      }
+      host(instance.getHost());
+      port(instance.getPort());
+      addAllProtocols(instance.getProtocols());
+      store(instance.getStore());
+      return this;
+    }
+
+    /**
+     * Initializes the optional value {@link FakeSchedulerServer#getFaultInjector() faultInjector} to faultInjector.
+     * @param faultInjector The value for faultInjector
+     * @return {@code this} builder for chained invocation
+     */
+    public final Builder faultInjector(FaultInjector faultInjector) {
+      this.faultInjector = Objects.requireNonNull(faultInjector, "faultInjector");
+      return this;
+    }
+
+    /**
+     * Initializes the optional value {@link FakeSchedulerServer#getFaultInjector() faultInjector} to faultInjector.
+     * @param faultInjector The value for faultInjector
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder faultInjector(Optional<? extends FaultInjector> faultInjector) {
+      this.faultInjector = faultInjector.orElse(null);
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FakeSchedulerServer#getHost() host} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FakeSchedulerServer#getHost() host}.</em>
+     * @param host The value for host 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder host(String host) {
+      this.host = Objects.requireNonNull(host, "host");
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FakeSchedulerServer#getPort() port} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FakeSchedulerServer#getPort() port}.</em>
+     * @param port The value for port 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder port(int port) {
+      this.port = port;
+      optBits |= OPT_BIT_PORT;
+      return this;
+    }
+
+    /**
+     * Adds one element to {@link FakeSchedulerServer#getProtocols() protocols} list.
+     * @param element A protocols element
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder protocol(HttpProtocol element) {
+      this.protocols.add(Objects.requireNonNull(element, "protocols element"));
+      return this;
+    }
+
+    /**
+     * Adds elements to {@link FakeSchedulerServer#getProtocols() protocols} list.
+     * @param elements An array of protocols elements
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder protocols(HttpProtocol... elements) {
+      for (HttpProtocol element : elements) {
+        this.protocols.add(Objects.requireNonNull(element, "protocols element"));
+      }
+      return this;
+    }
+
+
+    /**
+     * Sets or replaces all elements for {@link FakeSchedulerServer#getProtocols() protocols} list.
+     * @param elements An iterable of protocols elements
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder protocols(Iterable<? extends HttpProtocol> elements) {
+      this.protocols.clear();
+      return addAllProtocols(elements);
+    }
+
+    /**
+     * Adds elements to {@link FakeSchedulerServer#getProtocols() protocols} list.
+     * @param elements An iterable of protocols elements
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder addAllProtocols(Iterable<? extends HttpProtocol> elements) {
+      for (HttpProtocol element : elements) {
+        this.protocols.add(Objects.requireNonNull(element, "protocols element"));
+      }
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link FakeSchedulerServer#getStore() store} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link FakeSchedulerServer#getStore() store}.</em>
+     * @param store The value for store 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder store(SchedulerStore store) {
+      this.store = Objects.requireNonNull(store, "store");
+      return this;
+    }
+
+    /**
+     * Builds a new {@link FakeSchedulerServer FakeSchedulerServer}.
+     * @return An immutable instance of FakeSchedulerServer
+     * @throws java.lang.IllegalStateException if any required attributes are missing
+     */
+    public FakeSchedulerServer build() {
+      return new FakeSchedulerServer(this);
+    }
+
+    private boolean portIsSet() {
+      return (optBits & OPT_BIT_PORT) != 0;
+    }
+  }
+
+  private static <T> List<T> createSafeList(Iterable<? extends T> iterable, boolean checkNulls, boolean skipNulls) {
+    ArrayList<T> list;
+    if (iterable instanceof Collection<?>) {
+      int size = ((Collection<?>) iterable).size();
+      if (size == 0) return Collections.emptyList();
+      list = new ArrayList<>();
+    } else {
+      list = new ArrayList<>();
+    }
+    for (T element : iterable) {
+      if (skipNulls && element == null) continue;
+      if (checkNulls) Objects.requireNonNull(element, "element");
+      list.add(element);
+    }
+    return list;
+  }
+
+  private static <T> List<T> createUnmodifiableList(boolean clone, List<T> list) {
+    switch(list.size()) {
+    case 0: return Collections.emptyList();
+    case 1: return Collections.singletonList(list.get(0));
+    default:
+      if (clone) {
+        return Collections.unmodifiableList(new ArrayList<>(list));
+      } else {
+        if (list instanceof ArrayList<?>) {
+          ((ArrayList<?>) list).trimToSize();
+        }
+        return Collections.unmodifiableList(list);
+      }
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package io.pivotal.test.scheduler;
+
+import io.pivotal.scheduler.v1.calls.Calls;
+import io.pivotal.scheduler.v1.jobs.Jobs;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.immutables.value.Generated;
+
+/**
+ * An implementation of {@link SchedulerClient} that operates directly on a {@link SchedulerStore}, without HTTP.  Responses and failures, including pagination, are those of a
+ * {@link FakeSchedulerServer} serving the same store, except that the {@code fields} of paginated requests are ignored.  Time only passes when the client is {@link #advance(Duration) advanced}.
+ */
+@Generated(from = "_InMemorySchedulerClient", generator = "Immutables")
+@SuppressWarnings({"all"})
+@javax.annotation.processing.Generated("org.immutables.processor.ProxyProcessor")
+public final class InMemorySchedulerClient extends io.pivotal.test.scheduler._InMemorySchedulerClient {
+  private transient final Calls calls;
+  private final SchedulerStore store;
+  private transient final Jobs jobs;
+
+  private InMemorySchedulerClient(InMemorySchedulerClient.Builder builder) {
+    if (builder.store != null) {
+      initShim.store(builder.store);
+    }
+    this.calls = initShim.calls();
+    this.store = initShim.getStore();
+    this.jobs = initShim.jobs();
+    this.initShim = null;
+  }
+
+  private static final byte STAGE_INITIALIZING = -1;
+  private static final byte STAGE_UNINITIALIZED = 0;
+  private static final byte STAGE_INITIALIZED = 1;
+  private transient volatile InitShim initShim = new InitShim();
+
+  @Generated(from = "_InMemorySchedulerClient", generator = "Immutables")
+  private final class InitShim {
+    private byte callsBuildStage = STAGE_UNINITIALIZED;
+    private Calls calls;
+
+    Calls calls() {
+      if (callsBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (callsBuildStage == STAGE_UNINITIALIZED) {
+        callsBuildStage = STAGE_INITIALIZING;
+        this.calls = Objects.requireNonNull(InMemorySchedulerClient.super.calls(), "calls");
+        callsBuildStage = STAGE_INITIALIZED;
+      }
+      return this.calls;
+    }
+
+    private byte storeBuildStage = STAGE_UNINITIALIZED;
+    private SchedulerStore store;
+
+    SchedulerStore getStore() {
+      if (storeBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (storeBuildStage == STAGE_UNINITIALIZED) {
+        storeBuildStage = STAGE_INITIALIZING;
+        this.store = Objects.requireNonNull(InMemorySchedulerClient.super.getStore(), "store");
+        storeBuildStage = STAGE_INITIALIZED;
+      }
+      return this.store;
+    }
+
+    void store(SchedulerStore store) {
+      this.store = store;
+      storeBuildStage = STAGE_INITIALIZED;
+    }
+
+    private byte jobsBuildStage = STAGE_UNINITIALIZED;
+    private Jobs jobs;
+
+    Jobs jobs() {
+      if (jobsBuildStage == STAGE_INITIALIZING) throw new IllegalStateException(formatInitCycleMessage());
+      if (jobsBuildStage == STAGE_UNINITIALIZED) {
+        jobsBuildStage = STAGE_INITIALIZING;
+        this.jobs = Objects.requireNonNull(InMemorySchedulerClient.super.jobs(), "jobs");
+        jobsBuildStage = STAGE_INITIALIZED;
+      }
+      return this.jobs;
+    }
+
+    private String formatInitCycleMessage() {
+      List<String> attributes = new ArrayList<>();
+      if (callsBuildStage == STAGE_INITIALIZING) attributes.add("calls");
+      if (storeBuildStage == STAGE_INITIALIZING) attributes.add("store");
+      if (jobsBuildStage == STAGE_INITIALIZING) attributes.add("jobs");
+      return "Cannot build InMemorySchedulerClient, attribute initializers form cycle " + attributes;
+    }
+  }
+
+  /**
+   * @return The computed-at-construction value of the {@code calls} attribute
+   */
+  @Override
+  public Calls calls() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.calls()
+        : this.calls;
+  }
+
+  /**
+   * The state the client operates on.  If not set, an empty store with a {@link VirtualClock} set to the current time is used.
+   */
+  @Override
+  public SchedulerStore getStore() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.getStore()
+        : this.store;
+  }
+
+  /**
+   * @return The computed-at-construction value of the {@code jobs} attribute
+   */
+  @Override
+  public Jobs jobs() {
+    InitShim shim = this.initShim;
+    return shim != null
+        ? shim.jobs()
+        : this.jobs;
+  }
+
+  /**
+   * This instance is equal to all instances of {@code InMemorySchedulerClient} that have equal attribute values.
+   * @return {@code true} if {@code this} is equal to {@code another} instance
+   */
+  @Override
+  public boolean equals(Object another) {
+    if (this == another) return true;
+    return another instanceof InMemorySchedulerClient
+        && equalTo((InMemorySchedulerClient) another);
+  }
+
+  private boolean equalTo(InMemorySchedulerClient another) {
+    return calls.equals(another.calls)
+        && store.equals(another.store)
+        && jobs.equals(another.jobs);
+  }
+
+  /**
+   * Computes a hash code from attributes: {@code calls}, {@code store}, {@code jobs}.
+   * @return hashCode value
+   */
+  @Override
+  public int hashCode() {
+    int h = 5381;
+    h += (h << 5) + calls.hashCode();
+    h += (h << 5) + store.hashCode();
+    h += (h << 5) + jobs.hashCode();
+    return h;
+  }
+
+  /**
+   * Prints the immutable value {@code InMemorySchedulerClient} with attribute values.
+   * @return A string representation of the value
+   */
+  @Override
+  public String toString() {
+    return "InMemorySchedulerClient{"
+        + "calls=" + calls
+        + ", store=" + store
+        + ", jobs=" + jobs
+        + "}";
+  }
+
+  /**
+   * Creates a builder for {@link InMemorySchedulerClient InMemorySchedulerClient}.
+   * <pre>
+   * InMemorySchedulerClient.builder()
+   *    .store(io.pivotal.test.scheduler.SchedulerStore) // optional {@link InMemorySchedulerClient#getStore() store}
+   *    .build();
+   * </pre>
+   * @return A new InMemorySchedulerClient builder
+   */
+  public static InMemorySchedulerClient.Builder builder() {
+    return new InMemorySchedulerClient.Builder();
+  }
+
+  /**
+   * Builds instances of type {@link InMemorySchedulerClient InMemorySchedulerClient}.
+   * Initialize attributes and then invoke the {@link #build()} method to create an
+   * immutable instance.
+   * <p><em>{@code Builder} is not thread-safe and generally should not be stored in a field or collection,
+   * but instead used immediately to create instances.</em>
+   */
+  @Generated(from = "_InMemorySchedulerClient", generator = "Immutables")
+  public static final class Builder {
+    private SchedulerStore store;
+
+    private Builder() {
+    }
+
+    /**
+     * Fill a builder with attribute values from the provided {@code InMemorySchedulerClient} instance.
+     * Regular attribute values will be replaced with those from the given instance.
+     * Absent optional values will not replace present values.
+     * @param instance The instance from which to copy values
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder from(InMemorySchedulerClient instance) {
+      return from((_InMemorySchedulerClient) instance);
+    }
+
+    /**
+     * Copy abstract value type {@code _InMemorySchedulerClient} instance into builder.
+     * @param instance The instance from which to copy values
+     * @return {@code this} builder for use in a chained invocation
+     */
+    final Builder from(_InMemorySchedulerClient instance) {
+      Objects.requireNonNull(instance, "instance");
+      store(instance.getStore());
+      return this;
+    }
+
+    /**
+     * Initializes the value for the {@link InMemorySchedulerClient#getStore() store} attribute.
+     * <p><em>If not set, this attribute will have a default value as returned by the initializer of {@link InMemorySchedulerClient#getStore() store}.</em>
+     * @param store The value for store 
+     * @return {@code this} builder for use in a chained invocation
+     */
+    public final Builder store(SchedulerStore store) {
+      this.store = Objects.requireNonNull(store, "store");
+      return this;
+    }
+
+    /**
+     * Builds a new {@link InMemorySchedulerClient InMemorySchedulerClient}.
+     * @return An immutable instance of InMemorySchedulerClient
+     * @throws java.lang.IllegalStateException if any required attributes are missing
+     */
+    public InMemorySchedulerClient build() {
+      return new InMemorySchedulerClient(this);
+    }
+  }
+}
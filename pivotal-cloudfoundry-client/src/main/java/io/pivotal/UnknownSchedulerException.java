@@ -27,6 +27,8 @@ public final class UnknownSchedulerException extends AbstractCloudFoundryExcepti
 
     private final String payload;
 
+    private final boolean writableStackTrace;
+
     /**
      * Creates a new instance
      *
@@ -34,8 +36,21 @@ public final class UnknownSchedulerException extends AbstractCloudFoundryExcepti
      * @param payload    the payload of the error
      */
     public UnknownSchedulerException(Integer statusCode, String payload) {
+        this(statusCode, payload, true);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode         the status code
+     * @param payload            the payload of the error
+     * @param writableStackTrace whether the stack trace should be captured
+     */
+    public UnknownSchedulerException(Integer statusCode, String payload, boolean writableStackTrace) {
         super(statusCode, "Unknown Scheduler Exception");
         this.payload = payload;
+        this.writableStackTrace = writableStackTrace;
+        fillInStackTrace();
     }
 
     /**
@@ -47,6 +62,11 @@ public final class UnknownSchedulerException extends AbstractCloudFoundryExcepti
         this(statusCode, null);
     }
 
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this.writableStackTrace ? super.fillInStackTrace() : this;
+    }
+
     /**
      * Returns the payload of the error
      */
@@ -18,6 +18,7 @@ package io.pivotal.scheduler;
 
 import io.pivotal.scheduler.v1.calls.Calls;
 import io.pivotal.scheduler.v1.jobs.Jobs;
+import reactor.core.publisher.Mono;
 
 /**
  * Main entry point to the Scheduler Client API
@@ -34,4 +35,14 @@ public interface SchedulerClient {
      */
     Jobs jobs();
 
+    /**
+     * Prepares the client for its first request, so that the cost of discovery, authentication, connection establishment, and serialization setup is not paid by that request.  By default, there
+     * is nothing to prepare.
+     *
+     * @return completes when the client is prepared
+     */
+    default Mono<Void> warmup() {
+        return Mono.empty();
+    }
+
 }
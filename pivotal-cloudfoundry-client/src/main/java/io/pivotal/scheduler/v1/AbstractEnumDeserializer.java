@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.pivotal.scheduler.v1;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Base class for deserializers of enums that are represented as strings on the wire.  Values are matched, ignoring case, directly against the parser's character buffer so that no intermediate
+ * {@link String} is created for a known value.
+ *
+ * @param <T> the enum type
+ */
+public abstract class AbstractEnumDeserializer<T extends Enum<T>> extends StdScalarDeserializer<T> {
+
+    private static final long serialVersionUID = -2816640384937123167L;
+
+    private final T[] candidates;
+
+    private final T fallback;
+
+    private final Class<T> type;
+
+    private final char[][] values;
+
+    /**
+     * Creates a new instance
+     *
+     * @param type        the enum type
+     * @param valueMapper a function returning the wire value of a constant
+     * @param fallback    the constant to return for unrecognized values or {@code null} if unrecognized values are an error
+     */
+    protected AbstractEnumDeserializer(Class<T> type, Function<T, String> valueMapper, T fallback) {
+        super(type);
+        this.candidates = type.getEnumConstants();
+        this.fallback = fallback;
+        this.type = type;
+        this.values = new char[this.candidates.length][];
+
+        for (int i = 0; i < this.candidates.length; i++) {
+            this.values[i] = valueMapper.apply(this.candidates[i]).toCharArray();
+        }
+    }
+
+    @Override
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.hasToken(JsonToken.VALUE_STRING)) {
+            return this.type.cast(ctxt.handleUnexpectedToken(this.type, p));
+        }
+
+        T candidate = find(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        if (candidate != null) {
+            return candidate;
+        }
+
+        if (this.fallback != null) {
+            return this.fallback;
+        }
+
+        return this.type.cast(ctxt.handleWeirdStringValue(this.type, p.getText(), "Unknown %s", this.type.getSimpleName()));
+    }
+
+    private static boolean matches(char[] value, char[] buffer, int offset, int length) {
+        if (value.length != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            char expected = value[i];
+            char actual = buffer[offset + i];
+
+            if (expected != actual && Character.toUpperCase(expected) != Character.toUpperCase(actual)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private T find(char[] buffer, int offset, int length) {
+        for (int i = 0; i < this.values.length; i++) {
+            if (matches(this.values[i], buffer, offset, length)) {
+                return this.candidates[i];
+            }
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.scheduler.v1;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * The state of a job or call execution
+ */
+@JsonDeserialize(using = ExecutionState.Deserializer.class)
+public enum ExecutionState {
+
+    /**
+     * The failed state
+     */
+    FAILED("FAILED"),
+
+    /**
+     * The pending state
+     */
+    PENDING("PENDING"),
+
+    /**
+     * The running state
+     */
+    RUNNING("RUNNING"),
+
+    /**
+     * The succeeded state
+     */
+    SUCCEEDED("SUCCEEDED"),
+
+    /**
+     * A state not known to this version of the client
+     */
+    UNKNOWN("UNKNOWN");
+
+    private final String value;
+
+    ExecutionState(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    static final class Deserializer extends AbstractEnumDeserializer<ExecutionState> {
+
+        private static final long serialVersionUID = 3379455387542364158L;
+
+        Deserializer() {
+            super(ExecutionState.class, ExecutionState::getValue, UNKNOWN);
+        }
+
+    }
+
+}
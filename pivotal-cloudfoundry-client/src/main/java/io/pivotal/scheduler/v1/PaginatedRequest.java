@@ -16,14 +16,23 @@
 
 package io.pivotal.scheduler.v1;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.cloudfoundry.Nullable;
 import org.cloudfoundry.QueryParameter;
 
+import java.util.List;
+
 /**
  * Base class for requests that are paginated
  */
 public abstract class PaginatedRequest {
 
+    /**
+     * The names of the resource fields to decode.  Fields that are not named are skipped without being materialized and are {@code null} in the response.  When empty, all fields are decoded.
+     */
+    @JsonIgnore
+    public abstract List<String> getFields();
+
     /**
      * The page
      */
@@ -32,6 +32,8 @@ public final class SchedulerException extends AbstractCloudFoundryException {
 
     private final List<SchedulerError> errors;
 
+    private final boolean writableStackTrace;
+
     /**
      * Creates a new instance
      *
@@ -39,9 +41,28 @@ public final class SchedulerException extends AbstractCloudFoundryException {
      * @param description the description
      */
     public SchedulerException(Integer statusCode, String description, List<SchedulerError> errors) {
+        this(statusCode, description, errors, true);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode         the status code
+     * @param description        the description
+     * @param errors             the errors
+     * @param writableStackTrace whether the stack trace should be captured
+     */
+    public SchedulerException(Integer statusCode, String description, List<SchedulerError> errors, boolean writableStackTrace) {
         super(statusCode, description);
         this.description = description;
         this.errors = errors;
+        this.writableStackTrace = writableStackTrace;
+        fillInStackTrace();
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this.writableStackTrace ? super.fillInStackTrace() : this;
     }
 
     /**
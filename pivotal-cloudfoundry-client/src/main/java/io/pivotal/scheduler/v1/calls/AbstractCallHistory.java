@@ -17,6 +17,7 @@
 package io.pivotal.scheduler.v1.calls;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.pivotal.scheduler.v1.ExecutionState;
 import io.pivotal.scheduler.v1.Resource;
 import org.cloudfoundry.Nullable;
 
@@ -72,6 +73,6 @@ public abstract class AbstractCallHistory extends Resource {
      */
     @JsonProperty("state")
     @Nullable
-    abstract String getState();
+    abstract ExecutionState getState();
 
 }
@@ -47,6 +47,14 @@ public interface Calls {
      */
     Mono<Void> deleteSchedule(DeleteCallScheduleRequest request);
 
+    /**
+     * Makes the <a href="https://docs.pivotal.io/pcf-scheduler/1-1/api/#get-a-call">Get a Call</a> request, discarding the response
+     *
+     * @param request the Get a Call request
+     * @return whether the call exists
+     */
+    Mono<Boolean> exists(GetCallRequest request);
+
     /**
      * Makes the <a href="https://docs.pivotal.io/pcf-scheduler/1-1/api/#execute-a-call-as-soon-as-possible">Execute a Call</a> request
      *
@@ -63,6 +71,14 @@ public interface Calls {
      */
     Mono<GetCallResponse> get(GetCallRequest request);
 
+    /**
+     * Makes the <a href="https://docs.pivotal.io/pcf-scheduler/1-1/api/#get-a-call">Get a Call</a> request, completing empty if the call does not exist
+     *
+     * @param request the Get a Call request
+     * @return the response to the Get a Call request or empty if the call does not exist
+     */
+    Mono<GetCallResponse> getIfExists(GetCallRequest request);
+
     /**
      * Makes the <a href="https://docs.pivotal.io/pcf-scheduler/1-1/api/#get-all-calls-within-space">List Calls</a> request
      *
@@ -65,7 +65,7 @@ public abstract class AbstractJob extends Resource {
      */
     @JsonProperty("state")
     @Nullable
-    abstract String getState();
+    abstract JobState getState();
 
     /**
      * Time when the job was last updated
@@ -17,6 +17,7 @@
 package io.pivotal.scheduler.v1.jobs;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.pivotal.scheduler.v1.ExecutionState;
 import io.pivotal.scheduler.v1.Resource;
 import org.cloudfoundry.Nullable;
 
@@ -72,7 +73,7 @@ public abstract class AbstractJobHistory extends Resource {
      */
     @JsonProperty("state")
     @Nullable
-    abstract String getState();
+    abstract ExecutionState getState();
 
     /**
      * ID of the Cloud Controller task associated with the job’s execution
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.scheduler.v1.jobs;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.pivotal.scheduler.v1.AbstractEnumDeserializer;
+
+/**
+ * The state of a job
+ */
+@JsonDeserialize(using = JobState.Deserializer.class)
+public enum JobState {
+
+    /**
+     * The available state
+     */
+    AVAILABLE("AVAILABLE"),
+
+    /**
+     * A state not known to this version of the client
+     */
+    UNKNOWN("UNKNOWN");
+
+    private final String value;
+
+    JobState(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    static final class Deserializer extends AbstractEnumDeserializer<JobState> {
+
+        private static final long serialVersionUID = -4398205874312893452L;
+
+        Deserializer() {
+            super(JobState.class, JobState::getValue, UNKNOWN);
+        }
+
+    }
+
+}
@@ -47,6 +47,14 @@ public interface Jobs {
      */
     Mono<Void> deleteSchedule(DeleteJobScheduleRequest request);
 
+    /**
+     * Makes the <a href="https://docs.pivotal.io/pcf-scheduler/1-1/api/#get-a-job">Get a Job</a> request, discarding the response
+     *
+     * @param request the Get a Job request
+     * @return whether the job exists
+     */
+    Mono<Boolean> exists(GetJobRequest request);
+
     /**
      * Makes the <a href="https://docs.pivotal.io/pcf-scheduler/1-1/api/#execute-a-job-as-soon-as-possible">Execute a Job as soon as possible</a> request
      *
@@ -63,6 +71,14 @@ public interface Jobs {
      */
     Mono<GetJobResponse> get(GetJobRequest request);
 
+    /**
+     * Makes the <a href="https://docs.pivotal.io/pcf-scheduler/1-1/api/#get-a-job">Get a Job</a> request, completing empty if the job does not exist
+     *
+     * @param request the Get a Job request
+     * @return the response to the Get a Job request or empty if the job does not exist
+     */
+    Mono<GetJobResponse> getIfExists(GetJobRequest request);
+
     /**
      * Makes the <a href="https://docs.pivotal.io/pcf-scheduler/1-1/api/#get-all-jobs-within-space">List Jobs</a> request
      *
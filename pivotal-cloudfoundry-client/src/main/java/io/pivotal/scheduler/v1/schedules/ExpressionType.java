@@ -16,12 +16,14 @@
 
 package io.pivotal.scheduler.v1.schedules;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.pivotal.scheduler.v1.AbstractEnumDeserializer;
 
 /**
  * The expression type of a schedule
  */
+@JsonDeserialize(using = ExpressionType.Deserializer.class)
 public enum ExpressionType {
 
     /**
@@ -40,15 +42,13 @@ public enum ExpressionType {
         this.value = value;
     }
 
-    @JsonCreator
     public static ExpressionType from(String s) {
-        switch (s.toLowerCase()) {
-            case "cron_expression":
-                return CRON;
-            case "execute":
-                return EXECUTE;
-            default:
-                throw new IllegalArgumentException(String.format("Unknown expression type: %s", s));
+        if (CRON.value.equalsIgnoreCase(s)) {
+            return CRON;
+        } else if (EXECUTE.value.equalsIgnoreCase(s)) {
+            return EXECUTE;
+        } else {
+            throw new IllegalArgumentException(String.format("Unknown expression type: %s", s));
         }
     }
 
@@ -62,4 +62,14 @@ public enum ExpressionType {
         return getValue();
     }
 
+    static final class Deserializer extends AbstractEnumDeserializer<ExpressionType> {
+
+        private static final long serialVersionUID = 6612046270370834511L;
+
+        Deserializer() {
+            super(ExpressionType.class, ExpressionType::getValue, null);
+        }
+
+    }
+
 }
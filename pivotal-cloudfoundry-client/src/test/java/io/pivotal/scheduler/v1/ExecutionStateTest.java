@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.scheduler.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class ExecutionStateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void caseInsensitive() throws IOException {
+        assertThat(this.objectMapper.readValue("\"succeeded\"", ExecutionState.class)).isSameAs(ExecutionState.SUCCEEDED);
+    }
+
+    @Test
+    public void known() throws IOException {
+        assertThat(this.objectMapper.readValue("\"FAILED\"", ExecutionState.class)).isSameAs(ExecutionState.FAILED);
+    }
+
+    @Test
+    public void unknown() throws IOException {
+        assertThat(this.objectMapper.readValue("\"RESCHEDULED\"", ExecutionState.class)).isSameAs(ExecutionState.UNKNOWN);
+    }
+
+}